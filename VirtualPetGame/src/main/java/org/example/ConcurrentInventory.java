@@ -0,0 +1,155 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The {@code ConcurrentInventory} class is an {@link Inventory} that can be added to and used from many threads
+ * at once without locks, such as a server session whose inventory is replenished on a scheduler thread while
+ * requests feed and gift its pet.
+ *
+ * <p>Quantities are kept in segments of 64 catalog ids, each an {@link AtomicIntegerArray} updated with
+ * compare-and-set, next to a 64-bit record of which of its items changed. Segments are created as the catalog
+ * grows and never copied, so an update is never lost to a resize. {@link #tryUseItem(String)} checks and
+ * decreases a quantity as one atomic step, so two threads can never both use the last item.</p>
+ *
+ * <p>Each quantity is exact at all times. The category totals are updated right after the quantities they sum,
+ * so while other threads are adding and using items a total may briefly lag behind them.</p>
+ */
+public final class ConcurrentInventory extends Inventory {
+    private static final int SEGMENT_SHIFT = 6;
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT; // One dirty word per segment
+
+    private static final ItemCatalog catalog = ItemCatalog.getInstance();
+
+    private volatile Segment[] segments = new Segment[0];
+    private final AtomicIntegerArray categoryTotals = new AtomicIntegerArray(ItemCatalog.CATEGORIES.size());
+
+    /**
+     * The quantities of 64 consecutive ids, and which of them changed since the last save.
+     */
+    private static class Segment {
+        final AtomicIntegerArray quantities = new AtomicIntegerArray(SEGMENT_SIZE);
+        final AtomicLong dirty = new AtomicLong();
+    }
+
+    /**
+     * Constructs a concurrent inventory and prepopulates it with the default items.
+     */
+    public ConcurrentInventory() {
+        super("SavedGame");
+        initializeInventory(); // Into the segments; Inventory() would only fill the superclass's storage
+    }
+
+    /**
+     * Constructs an empty concurrent inventory, typically for saved games.
+     *
+     * @param SavedGame a marker to indicate the inventory is being initialized for a saved game.
+     */
+    public ConcurrentInventory(String SavedGame) {
+        super(SavedGame);
+    }
+
+    /**
+     * Creates a concurrent inventory from a serialized map.
+     *
+     * @param serializedMap the serialized inventory map.
+     * @return a concurrent inventory initialized with the deserialized items.
+     */
+    public static ConcurrentInventory fromSerializableMap(Map<String, List<SavedGame.PlayerInfo.Item>> serializedMap) {
+        ConcurrentInventory inventory = new ConcurrentInventory("SavedGame");
+        inventory.addSerializedItems(serializedMap);
+        return inventory;
+    }
+
+    @Override
+    protected void add(int id, int quantity) {
+        Segment segment = segmentOf(id);
+        int index = id & (SEGMENT_SIZE - 1);
+        segment.quantities.getAndAdd(index, quantity);
+        categoryTotals.getAndAdd(catalog.get(id).getCategoryIndex(), quantity);
+        markDirty(segment, index);
+    }
+
+    @Override
+    protected boolean take(int id) {
+        Segment[] current = segments;
+        int s = id >>> SEGMENT_SHIFT;
+        if (s >= current.length) {
+            return false;
+        }
+        Segment segment = current[s];
+        int index = id & (SEGMENT_SIZE - 1);
+        int quantity;
+        do {
+            quantity = segment.quantities.get(index);
+            if (quantity <= 0) {
+                return false;
+            }
+        } while (!segment.quantities.compareAndSet(index, quantity, quantity - 1));
+        categoryTotals.getAndDecrement(catalog.get(id).getCategoryIndex());
+        markDirty(segment, index);
+        return true;
+    }
+
+    @Override
+    protected int quantityOf(int id) {
+        Segment[] current = segments;
+        int s = id >>> SEGMENT_SHIFT;
+        if (id < 0 || s >= current.length) {
+            return 0;
+        }
+        return current[s].quantities.get(id & (SEGMENT_SIZE - 1));
+    }
+
+    @Override
+    protected int categoryTotal(int categoryIndex) {
+        return categoryTotals.get(categoryIndex);
+    }
+
+    @Override
+    protected long takeDirtyBits(int word) {
+        Segment[] current = segments;
+        if (word >= current.length) {
+            return 0;
+        }
+        return current[word].dirty.getAndSet(0);
+    }
+
+    /**
+     * Gets the segment holding an id, creating it, and any segments before it, the first time.
+     */
+    private Segment segmentOf(int id) {
+        Segment[] current = segments;
+        int s = id >>> SEGMENT_SHIFT;
+        if (s < current.length) {
+            return current[s];
+        }
+        synchronized (this) {
+            current = segments;
+            if (s >= current.length) {
+                Segment[] grown = Arrays.copyOf(current, s + 1);
+                for (int i = current.length; i < grown.length; i++) {
+                    grown[i] = new Segment();
+                }
+                segments = grown;
+                current = grown;
+            }
+        }
+        return current[s];
+    }
+
+    private static void markDirty(Segment segment, int index) {
+        long bit = 1L << index;
+        long bits;
+        do {
+            bits = segment.dirty.get();
+            if ((bits & bit) != 0) {
+                return; // Already recorded
+            }
+        } while (!segment.dirty.compareAndSet(bits, bits | bit));
+    }
+}
@@ -0,0 +1,54 @@
+package org.example;
+
+/**
+ * The {@code Cooldown} class limits how often a pet action can be used. Using the action schedules a
+ * one-shot timer on a {@link TimerWheel}, and the action becomes available again when that timer fires,
+ * so nothing has to poll the clock while the cooldown runs.
+ */
+public class Cooldown {
+    private final TimerWheel timers;
+    private final long durationNanos;
+    private TimerWheel.Timer timer;
+
+    /**
+     * Creates a cooldown that is ready to use.
+     *
+     * @param timers the timer wheel that measures the cooldown.
+     * @param durationNanos how long the action stays unavailable after use, in nanoseconds.
+     */
+    public Cooldown(TimerWheel timers, long durationNanos) {
+        this.timers = timers;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Uses the action if it is ready and starts the cooldown.
+     *
+     * @return {@code true} if the action may be performed, {@code false} if it is still cooling down.
+     */
+    public boolean tryUse() {
+        if (!isReady()) {
+            return false;
+        }
+        timer = timers.schedule(durationNanos, () -> timer = null);
+        return true;
+    }
+
+    /**
+     * Checks if the action can be used.
+     *
+     * @return {@code true} if the cooldown has elapsed, otherwise {@code false}.
+     */
+    public boolean isReady() {
+        return timer == null;
+    }
+
+    /**
+     * Gets the number of whole seconds left before the action can be used again, rounded up.
+     *
+     * @return the remaining seconds, or 0 if the action is ready.
+     */
+    public long getRemainingSeconds() {
+        return timer == null ? 0 : (timer.remainingNanos() + 999_999_999L) / 1_000_000_000L;
+    }
+}
@@ -14,9 +14,7 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * The GamePlayButtons class is responsible for creating and managing the buttons
@@ -52,11 +50,11 @@ public class GamePlayButtons {
      * @param player the player instance associated with the current gameplay.
      */
     public void createGamePlayButton(Scene currentScene, Stage stage, Player player) {
-        // Cooldown tracking variables for play and vet
-        final long PLAY_COOLDOWN = 15_000; // 15 seconds in milliseconds
-        final long VET_COOLDOWN = 30_000; // 30 seconds in milliseconds
-        final long[] lastPlayTime = {0}; // Array to allow modification inside lambda
-        final long[] lastVetTime = {0};
+        GamePlayLoop gamePlayLoop = new GamePlayLoop(player);
+        // Cooldowns for play and vet, timed by the game loop's timer wheel
+        TimerWheel timers = gamePlayLoop.getEngine().getTimers();
+        Cooldown playCooldown = new Cooldown(timers, 15_000_000_000L); // 15 seconds in nanoseconds
+        Cooldown vetCooldown = new Cooldown(timers, 30_000_000_000L); // 30 seconds in nanoseconds
         // Get the root node of the current scene
         VBox buttonContainer = (VBox) currentScene.getRoot().lookup("#vbox_buttons");
         // Get the Pet's AnchorPane
@@ -163,22 +161,18 @@ public class GamePlayButtons {
 
 
         play.setOnAction(e -> {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastPlayTime[0] >= PLAY_COOLDOWN) {
+            if (playCooldown.tryUse()) {
                 player.playWithPet(); // Perform play action
-                lastPlayTime[0] = currentTime; // Update last play time
             } else {
-                long remainingTime = (PLAY_COOLDOWN - (currentTime - lastPlayTime[0])) / 1000;
+                long remainingTime = playCooldown.getRemainingSeconds();
             }
         });
 
         vet.setOnAction(e -> {
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastVetTime[0] >= VET_COOLDOWN) {
+            if (vetCooldown.tryUse()) {
                 player.takePetToVet(); // Perform vet action
-                lastVetTime[0] = currentTime; // Update last vet time
             } else {
-                long remainingTime = (VET_COOLDOWN - (currentTime - lastVetTime[0])) / 1000;
+                long remainingTime = vetCooldown.getRemainingSeconds();
             }
         });
 
@@ -232,7 +226,7 @@ public class GamePlayButtons {
         buttonContainer.getChildren().addAll(mainGamePlaySettings, inventory, feed, gift, play, exercise, vet, sleep);
 
 
-        startGamePlay(currentScene ,player, anchor_pet, anchor_score, bar_health, bar_fullness, bar_happiness, bar_sleep);
+        startGamePlay(currentScene, gamePlayLoop, player, anchor_pet, anchor_score, bar_health, bar_fullness, bar_happiness, bar_sleep);
     }
 
     /**
@@ -315,17 +309,8 @@ public class GamePlayButtons {
         ListView<String> listView = new ListView<>();
         listView.getStyleClass().add("inventoryListView"); // Apply custom styling to the list
 
-        // Map to store aggregated item counts
-        Map<String, Integer> itemCounts = new HashMap<>();
-
-        // Retrieve categorized items and calculate quantities
-        List<Item> categorizedItems = inventory.getItemsByCategory(category);
-        for (Item item : categorizedItems) {
-            itemCounts.put(item.getName(), itemCounts.getOrDefault(item.getName(), 0) + item.getQuantity());
-        }
-
-        // Populate the ListView with item names and their quantities
-        itemCounts.forEach((itemName, count) -> listView.getItems().add(itemName + " (x" + count + ")"));
+        // Populate the ListView with the category's item names and their quantities
+        inventory.forEachInCategory(category, (itemName, count) -> listView.getItems().add(itemName + " (x" + count + ")"));
 
         // Add the ListView to the center of the BorderPane
         container.setCenter(listView);
@@ -373,6 +358,7 @@ public class GamePlayButtons {
      * Starts the gameplay loop, including updating the UI and managing game logic.
      *
      * @param currentScene the current scene for gameplay.
+     * @param gamePlayLoop the game loop that simulates the player's pet.
      * @param player the player instance associated with the game.
      * @param anchor_pet the AnchorPane for displaying the pet.
      * @param anchor_score the AnchorPane for displaying the score.
@@ -381,10 +367,9 @@ public class GamePlayButtons {
      * @param bar_happiness the ProgressBar for the pet's happiness.
      * @param bar_sleep the ProgressBar for the pet's sleep.
      */
-    private void startGamePlay(Scene currentScene, Player player, AnchorPane anchor_pet, AnchorPane anchor_score,
-                               ProgressBar bar_health, ProgressBar bar_fullness,
+    private void startGamePlay(Scene currentScene, GamePlayLoop gamePlayLoop, Player player, AnchorPane anchor_pet,
+                               AnchorPane anchor_score, ProgressBar bar_health, ProgressBar bar_fullness,
                                ProgressBar bar_happiness, ProgressBar bar_sleep) {
-        GamePlayLoop gamePlayLoop = new GamePlayLoop(player);
 
         // Create a score label and add it to the anchor_score
         Label scoreLabel = new Label("Score: " + player.getScore());
@@ -398,26 +383,17 @@ public class GamePlayButtons {
         ImageView stateAngry = (ImageView) currentScene.lookup("#state_angry");
         ImageView stateDead = (ImageView) currentScene.lookup("#state_dead");
 
+        // Only pushes the score, stat bars, status icon and sprite to the screen when they change
+        GamePlayRenderer renderer = new GamePlayRenderer(scoreLabel, anchor_pet, bar_health, bar_fullness,
+                bar_happiness, bar_sleep, stateNormal, stateHungry, stateSleep, stateAngry, stateDead);
+
         // Use AnimationTimer to periodically call updateGameLogic()
         new javafx.animation.AnimationTimer() {
             @Override
             public void handle(long now) {
                 if (gamePlayLoop.isGameStarted() && !gamePlayLoop.isGameOver()) {
                     gamePlayLoop.updateGameLogic(); // Update game logic
-
-                    // Update progress bars and sprite state based on pet stats
-                    Pet pet = player.getPet();
-                    if (pet != null) {
-                        updateProgressBars(pet, bar_health, bar_fullness, bar_happiness, bar_sleep);
-                        // Helper method to update state visibility
-                        updatePetState(player.getPet(), stateNormal, stateHungry, stateSleep, stateAngry, stateDead);
-                        // Clear and update the pet's sprite in the anchor pane
-                        anchor_pet.getChildren().clear();
-                        anchor_pet.getChildren().add(pet.getSprite().getCurrentState());
-                    }
-
-                    // Update score display
-                    scoreLabel.setText("Score: " + player.getScore());
+                    renderer.render(player);
                 } else {
                     stop(); // Stop the timer when the game ends
                     if (gamePlayLoop.isGameOver()) {
@@ -428,86 +404,6 @@ public class GamePlayButtons {
         }.start();
     }
 
-    /**
-     * Updates the progress bars for the pet's stats based on its current values.
-     *
-     * @param pet the pet whose stats will be displayed.
-     * @param bar_health the ProgressBar for the pet's health.
-     * @param bar_fullness the ProgressBar for the pet's fullness.
-     * @param bar_happiness the ProgressBar for the pet's happiness.
-     * @param bar_sleep the ProgressBar for the pet's sleep.
-     */
-    private void updateProgressBars(Pet pet, ProgressBar bar_health, ProgressBar bar_fullness,
-                                    ProgressBar bar_happiness, ProgressBar bar_sleep) {
-        bar_health.setProgress(Math.max(0, pet.getHealth() / 100.0)); // Normalize to 0.0 - 1.0
-        bar_fullness.setProgress(Math.max(0, pet.getFullness() / 100.0));
-        bar_happiness.setProgress(Math.max(0, pet.getHappiness() / 100.0));
-        bar_sleep.setProgress(Math.max(0, pet.getSleep() / 100.0));
-
-        // Update styles based on thresholds
-        updateBarStyle(bar_health, pet.getHealth());
-        updateBarStyle(bar_fullness, pet.getFullness());
-        updateBarStyle(bar_happiness, pet.getHappiness());
-        updateBarStyle(bar_sleep, pet.getSleep());
-    }
-
-    /**
-     * Updates the style of a progress bar based on the value thresholds.
-     *
-     * @param bar the ProgressBar to update.
-     * @param value the value of the stat to determine the style.
-     */
-    private void updateBarStyle(ProgressBar bar, double value) {
-        if (value <= 25) {
-            bar.setStyle("-fx-accent: red;"); // Critical (red)
-        } else if (value <= 50) {
-            bar.setStyle("-fx-accent: orange;"); // Warning (orange)
-        } else {
-            bar.setStyle("-fx-accent: green;"); // Normal (green)
-        }
-    }
-
-    /**
-     * Updates the pet's state display (e.g., normal, hungry, sleeping, angry, dead) based on its current condition.
-     *
-     * @param pet the pet whose state will be updated.
-     * @param stateNormal the ImageView for the "normal" state.
-     * @param stateHungry the ImageView for the "hungry" state.
-     * @param stateSleep the ImageView for the "sleep" state.
-     * @param stateAngry the ImageView for the "angry" state.
-     * @param stateDead the ImageView for the "dead" state.
-     */
-    private void updatePetState(Pet pet, ImageView stateNormal, ImageView stateHungry, ImageView stateSleep, ImageView stateAngry, ImageView stateDead) {
-        // Hide all states by default
-        stateNormal.setVisible(false);
-        stateHungry.setVisible(false);
-        stateSleep.setVisible(false);
-        stateAngry.setVisible(false);
-        stateDead.setVisible(false);
-
-        // Show the correct state based on the pet's condition
-        if (pet.isDead()) {
-            stateDead.setVisible(true);
-            stateNormal.setVisible(false);
-            stateHungry.setVisible(false);
-            stateSleep.setVisible(false);
-            stateAngry.setVisible(false);
-        } else if (pet.isAngry()) {
-            stateAngry.setVisible(true);
-            stateNormal.setVisible(false);
-        } else if (pet.isSleeping()) {
-            stateSleep.setVisible(true);
-            stateNormal.setVisible(false);
-            stateHungry.setVisible(false);
-            stateAngry.setVisible(false);
-        } else if (pet.isHungry()) { // Assuming "hungry" is when fullness <= 25
-            stateHungry.setVisible(true);
-            stateNormal.setVisible(false);
-        } else {
-            stateNormal.setVisible(true);
-        }
-    }
-
     private void navigateToGameOverScreen() {
         // Placeholder for game over navigation logic
         System.out.println("Navigating to Game Over screen...");
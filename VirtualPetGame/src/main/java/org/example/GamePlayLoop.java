@@ -3,20 +3,14 @@ package org.example;
 /**
  * The {@code GamePlayLoop} class handles the core game logic and state updates.
  * It periodically updates the pet's stats, replenishes inventory items, and checks the pet's state to
- * determine if the game is over.
+ * determine if the game is over. The simulation itself is delegated to a {@link SimulationEngine}.
  * @author Bashar Hamo
  * @author Alan Cruz
  */
 public class GamePlayLoop {
     private Player player;
     private Pet pet;
-    private Inventory inventory;
-
-    private long lastUpdateTime; // Last update for depleting stats
-    private long lastReplenishTime; // Last inventory replenishment time
-
-    private static final long UPDATE_INTERVAL = 5_000_000_000L; // 5 seconds in nanoseconds
-    private static final long REPLENISH_INTERVAL = 300_000L; // 5 minutes in milliseconds
+    private SimulationEngine engine;
 
     private boolean gameOver;
     private boolean gameStarted;
@@ -27,11 +21,20 @@ public class GamePlayLoop {
      * @param player the player whose game state will be managed.
      */
     public GamePlayLoop(Player player) {
+        this(player, SimulationClock.SYSTEM);
+    }
+
+    /**
+     * Creates a new {@code GamePlayLoop} for the specified player, driven by the given clock.
+     *
+     * @param player the player whose game state will be managed.
+     * @param clock the clock used to decide when stats and inventory are updated.
+     */
+    public GamePlayLoop(Player player, SimulationClock clock) {
         this.player = player;
         this.pet = player.getPet();
-        this.inventory = player.getInventory();
-        this.lastUpdateTime = System.nanoTime();
-        this.lastReplenishTime = System.currentTimeMillis();
+        this.engine = new SimulationEngine(clock);
+        this.engine.addPlayer(player);
         this.gameOver = false;
         this.gameStarted = true;
     }
@@ -43,20 +46,8 @@ public class GamePlayLoop {
     public void updateGameLogic() {
         if (gameOver) return;
 
-        long currentTimeNano = System.nanoTime();
-        long currentTimeMillis = System.currentTimeMillis();
-
-        // Update pet stats periodically
-        if (currentTimeNano - lastUpdateTime >= UPDATE_INTERVAL) {
-            pet.updateStats(); // Deplete stats or regenerate sleep
+        if (engine.update()) {
             checkPetState();
-            lastUpdateTime = currentTimeNano;
-        }
-
-        // Replenish inventory periodically
-        if (currentTimeMillis - lastReplenishTime >= REPLENISH_INTERVAL) {
-            replenishInventory();
-            lastReplenishTime = currentTimeMillis;
         }
     }
 
@@ -72,20 +63,12 @@ public class GamePlayLoop {
     }
 
     /**
-     * Replenishes the player's inventory with random food and gift items.
-     * Adds two food items and two gift items to the inventory.
+     * Gets the engine that simulates this game. Its timer wheel can be used to schedule other game events.
+     *
+     * @return the simulation engine.
      */
-    private void replenishInventory() {
-        String[] foods = {"Apple", "Bread", "Cheese", "Banana", "Carrot"};
-        String[] gifts = {"Toy", "Collar", "Ball", "Blanket"};
-        for (int i = 0; i < 2; i++) {
-            String foodName = foods[(int)(Math.random() * foods.length)];
-            inventory.addItem(new Food(foodName, 20 + (int)(Math.random() * 10), 5));
-        }
-        for (int i = 0; i < 2; i++) {
-            String giftName = gifts[(int)(Math.random() * gifts.length)];
-            inventory.addItem(new Gift(giftName, 25 + (int)(Math.random() * 10), 5));
-        }
+    public SimulationEngine getEngine() {
+        return engine;
     }
 
     /**
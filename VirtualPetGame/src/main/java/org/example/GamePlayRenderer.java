@@ -0,0 +1,252 @@
+package org.example;
+
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.AnchorPane;
+
+/**
+ * The {@code GamePlayRenderer} class pushes the player's state to the gameplay screen. It remembers what the
+ * screen shows and only touches a node when the value behind it changed, so a frame in which nothing
+ * happened costs a few comparisons instead of new styles, text and children that trigger CSS and layout passes.
+ *
+ * <p>The gameplay timer calls {@link #render(Player)} on every frame; stats only change on simulation ticks
+ * or when the player acts, so most frames push nothing.</p>
+ */
+public class GamePlayRenderer {
+    /** Set in the result of {@link #render(Player)} when the score label was updated. */
+    public static final int SCORE = 1;
+    /** Set in the result of {@link #render(Player)} when a stat bar's progress or colour was updated. */
+    public static final int BARS = 2;
+    /** Set in the result of {@link #render(Player)} when a different status icon was shown. */
+    public static final int STATUS = 4;
+    /** Set in the result of {@link #render(Player)} when a different sprite view was shown. */
+    public static final int SPRITE = 8;
+
+    static final int STATUS_NORMAL = 0;
+    static final int STATUS_HUNGRY = 1;
+    static final int STATUS_SLEEP = 2;
+    static final int STATUS_ANGRY = 3;
+    static final int STATUS_DEAD = 4;
+
+    private static final String[] BAR_STYLES = {
+            "-fx-accent: red;", // Critical (red)
+            "-fx-accent: orange;", // Warning (orange)
+            "-fx-accent: green;" // Normal (green)
+    };
+
+    private final Screen screen;
+
+    // What the screen shows now
+    private int shownScore;
+    private final double[] shownProgress = {Double.NaN, Double.NaN, Double.NaN, Double.NaN};
+    private final int[] shownBarStyles = {-1, -1, -1, -1};
+    private int shownStatus = -1;
+    private Node shownSprite;
+    private boolean scoreShown;
+
+    /**
+     * Creates a renderer for the nodes of the gameplay screen. Nothing is pushed until the first render.
+     *
+     * @param scoreLabel the label showing the score.
+     * @param petPane the AnchorPane showing the pet's sprite.
+     * @param bar_health the ProgressBar for the pet's health.
+     * @param bar_fullness the ProgressBar for the pet's fullness.
+     * @param bar_happiness the ProgressBar for the pet's happiness.
+     * @param bar_sleep the ProgressBar for the pet's sleep.
+     * @param stateNormal the ImageView for the "normal" state.
+     * @param stateHungry the ImageView for the "hungry" state.
+     * @param stateSleep the ImageView for the "sleep" state.
+     * @param stateAngry the ImageView for the "angry" state.
+     * @param stateDead the ImageView for the "dead" state.
+     */
+    public GamePlayRenderer(Label scoreLabel, AnchorPane petPane,
+                            ProgressBar bar_health, ProgressBar bar_fullness, ProgressBar bar_happiness, ProgressBar bar_sleep,
+                            ImageView stateNormal, ImageView stateHungry, ImageView stateSleep, ImageView stateAngry, ImageView stateDead) {
+        this(new NodeScreen(scoreLabel, petPane,
+                new ProgressBar[] {bar_health, bar_fullness, bar_happiness, bar_sleep},
+                new ImageView[] {stateNormal, stateHungry, stateSleep, stateAngry, stateDead}));
+    }
+
+    /**
+     * Creates a renderer that pushes to the given screen. Nothing is pushed until the first render.
+     *
+     * @param screen the screen to push to.
+     */
+    GamePlayRenderer(Screen screen) {
+        this.screen = screen;
+    }
+
+    /**
+     * The updates the renderer pushes. The game pushes them to the nodes of the gameplay screen; tests can
+     * record them instead, as controls cannot be created without a display.
+     */
+    interface Screen {
+        /** Shows the score text. */
+        void showScore(String text);
+
+        /** Sets the progress of a stat bar: 0 health, 1 fullness, 2 happiness, 3 sleep. */
+        void showProgress(int bar, double progress);
+
+        /** Sets the style of a stat bar, which gives it its colour. */
+        void showBarStyle(int bar, String style);
+
+        /** Shows the icon of a status, such as {@link #STATUS_HUNGRY}, and hides the others. */
+        void showStatus(int status);
+
+        /** Shows a sprite view in the pet's pane, or clears the pane if it is {@code null}. */
+        void showSprite(Node sprite);
+    }
+
+    /**
+     * Pushes the updates to the nodes of the gameplay screen.
+     */
+    private static class NodeScreen implements Screen {
+        private final Label scoreLabel;
+        private final AnchorPane petPane;
+        private final ProgressBar[] bars; // Health, fullness, happiness, sleep
+        private final ImageView[] statusIcons; // Indexed by status
+
+        NodeScreen(Label scoreLabel, AnchorPane petPane, ProgressBar[] bars, ImageView[] statusIcons) {
+            this.scoreLabel = scoreLabel;
+            this.petPane = petPane;
+            this.bars = bars;
+            this.statusIcons = statusIcons;
+        }
+
+        @Override
+        public void showScore(String text) {
+            scoreLabel.setText(text);
+        }
+
+        @Override
+        public void showProgress(int bar, double progress) {
+            bars[bar].setProgress(progress);
+        }
+
+        @Override
+        public void showBarStyle(int bar, String style) {
+            bars[bar].setStyle(style);
+        }
+
+        @Override
+        public void showStatus(int status) {
+            for (int i = 0; i < statusIcons.length; i++) {
+                statusIcons[i].setVisible(i == status);
+            }
+        }
+
+        @Override
+        public void showSprite(Node sprite) {
+            if (sprite == null) {
+                petPane.getChildren().clear();
+            } else {
+                petPane.getChildren().setAll(sprite);
+            }
+        }
+    }
+
+    /**
+     * Pushes whatever changed since the last render to the screen.
+     *
+     * @param player the player whose score and pet are shown.
+     * @return the parts of the screen that were updated, as {@link #SCORE}, {@link #BARS}, {@link #STATUS} and
+     *         {@link #SPRITE} flags; {@code 0} if nothing changed.
+     */
+    public int render(Player player) {
+        int pushed = 0;
+        int score = player.getScore();
+        if (!scoreShown || score != shownScore) {
+            screen.showScore("Score: " + score);
+            shownScore = score;
+            scoreShown = true;
+            pushed |= SCORE;
+        }
+
+        Pet pet = player.getPet();
+        if (pet == null) {
+            return pushed;
+        }
+
+        // Bar by bar, so no array of the stats is allocated every frame
+        pushed |= renderBar(0, pet.getHealth());
+        pushed |= renderBar(1, pet.getFullness());
+        pushed |= renderBar(2, pet.getHappiness());
+        pushed |= renderBar(3, pet.getSleep());
+
+        int status = statusOf(pet);
+        if (status != shownStatus) {
+            screen.showStatus(status);
+            shownStatus = status;
+            pushed |= STATUS;
+        }
+
+        Node sprite = pet.getSprite() == null ? null : pet.getSprite().getCurrentState();
+        if (sprite != shownSprite) {
+            screen.showSprite(sprite);
+            shownSprite = sprite;
+            pushed |= SPRITE;
+        }
+        return pushed;
+    }
+
+    /**
+     * Pushes one stat bar's progress and colour to the screen if they changed.
+     *
+     * @param bar the index of the bar: health, fullness, happiness or sleep.
+     * @param value the value of the stat.
+     * @return {@link #BARS} if anything was pushed, otherwise 0.
+     */
+    private int renderBar(int bar, double value) {
+        int pushed = 0;
+        double progress = Math.max(0, value / 100.0); // Normalize to 0.0 - 1.0
+        if (progress != shownProgress[bar]) {
+            screen.showProgress(bar, progress);
+            shownProgress[bar] = progress;
+            pushed = BARS;
+        }
+        int style = barStyleOf(value);
+        if (style != shownBarStyles[bar]) {
+            screen.showBarStyle(bar, BAR_STYLES[style]);
+            shownBarStyles[bar] = style;
+            pushed = BARS;
+        }
+        return pushed;
+    }
+
+    /**
+     * Picks the colour of a stat bar based on the value thresholds.
+     *
+     * @param value the value of the stat.
+     * @return the index of the bar style: critical, warning or normal.
+     */
+    static int barStyleOf(double value) {
+        if (value <= 25) {
+            return 0;
+        } else if (value <= 50) {
+            return 1;
+        }
+        return 2;
+    }
+
+    /**
+     * Picks the status icon to show for the pet's condition; being dead wins over being angry, which wins over
+     * sleeping, which wins over being hungry.
+     *
+     * @param pet the pet.
+     * @return the status, such as {@link #STATUS_NORMAL} or {@link #STATUS_DEAD}.
+     */
+    static int statusOf(Pet pet) {
+        if (pet.isDead()) {
+            return STATUS_DEAD;
+        } else if (pet.isAngry()) {
+            return STATUS_ANGRY;
+        } else if (pet.isSleeping()) {
+            return STATUS_SLEEP;
+        } else if (pet.isHungry()) {
+            return STATUS_HUNGRY;
+        }
+        return STATUS_NORMAL;
+    }
+}
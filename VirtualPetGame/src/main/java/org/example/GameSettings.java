@@ -1,5 +1,11 @@
 package org.example;
 
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -211,5 +217,171 @@ public class GameSettings {
             this.sessionDurations.clear(); // Clear the session durations
         }
     }
+
+    /**
+     * Reads and writes {@code GameSettings} as JSON without reflection, in the same shape Gson's default
+     * binding uses. Members missing from the JSON keep their defaults, and unknown members are skipped.
+     */
+    public static class JsonAdapter extends TypeAdapter<GameSettings> {
+        @Override
+        public void write(JsonWriter out, GameSettings gameSettings) throws IOException {
+            if (gameSettings == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            Settings settings = gameSettings.settings;
+            if (settings != null) {
+                out.name("settings").beginObject();
+                out.name("sound").value(settings.sound);
+                ParentalControls parentalControls = settings.parentalControls;
+                if (parentalControls != null) {
+                    out.name("parentalControls").beginObject();
+                    out.name("enabled").value(parentalControls.enabled);
+                    AllowedPlayHours hours = parentalControls.allowedPlayHours;
+                    if (hours != null) {
+                        out.name("allowedPlayHours").beginObject();
+                        if (hours.start != null) out.name("start").value(hours.start);
+                        if (hours.end != null) out.name("end").value(hours.end);
+                        out.endObject();
+                    }
+                    out.endObject();
+                }
+                PlayStatistics statistics = settings.playStatistics;
+                if (statistics != null) {
+                    out.name("playStatistics").beginObject();
+                    out.name("totalPlayTime").value(statistics.totalPlayTime);
+                    out.name("averageSessionTime").value(statistics.averageSessionTime);
+                    if (statistics.sessionStartTime != null) out.name("sessionStartTime").value(statistics.sessionStartTime);
+                    if (statistics.sessionDurations != null) {
+                        out.name("sessionDurations").beginArray();
+                        for (Float duration : statistics.sessionDurations) {
+                            if (duration == null) {
+                                out.nullValue();
+                            } else {
+                                out.value(duration.floatValue());
+                            }
+                        }
+                        out.endArray();
+                    }
+                    out.endObject();
+                }
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public GameSettings read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            GameSettings gameSettings = new GameSettings();
+            in.beginObject();
+            while (in.hasNext()) {
+                if (in.nextName().equals("settings")) {
+                    gameSettings.settings = readSettings(in);
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return gameSettings;
+        }
+
+        private static Settings readSettings(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Settings settings = new Settings();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "sound" -> settings.sound = in.nextBoolean();
+                    case "parentalControls" -> settings.parentalControls = readParentalControls(in);
+                    case "playStatistics" -> settings.playStatistics = readPlayStatistics(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return settings;
+        }
+
+        private static ParentalControls readParentalControls(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            ParentalControls parentalControls = new ParentalControls();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "enabled" -> parentalControls.enabled = in.nextBoolean();
+                    case "allowedPlayHours" -> parentalControls.allowedPlayHours = readAllowedPlayHours(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return parentalControls;
+        }
+
+        private static AllowedPlayHours readAllowedPlayHours(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            AllowedPlayHours hours = new AllowedPlayHours();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "start" -> hours.start = SavedGame.JsonAdapter.nextString(in);
+                    case "end" -> hours.end = SavedGame.JsonAdapter.nextString(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return hours;
+        }
+
+        private static PlayStatistics readPlayStatistics(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            PlayStatistics statistics = new PlayStatistics();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "totalPlayTime" -> statistics.totalPlayTime = (float) SavedGame.JsonAdapter.nextDouble(in);
+                    case "averageSessionTime" -> statistics.averageSessionTime = (float) SavedGame.JsonAdapter.nextDouble(in);
+                    case "sessionStartTime" -> statistics.sessionStartTime = SavedGame.JsonAdapter.nextString(in);
+                    case "sessionDurations" -> {
+                        if (in.peek() == JsonToken.NULL) {
+                            in.nextNull();
+                            statistics.sessionDurations = null;
+                        } else {
+                            List<Float> durations = new ArrayList<>();
+                            in.beginArray();
+                            while (in.hasNext()) {
+                                if (in.peek() == JsonToken.NULL) {
+                                    in.nextNull();
+                                    durations.add(null);
+                                } else {
+                                    durations.add((float) SavedGame.JsonAdapter.nextDouble(in));
+                                }
+                            }
+                            in.endArray();
+                            statistics.sessionDurations = durations;
+                        }
+                    }
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return statistics;
+        }
+    }
 }
 
@@ -5,19 +5,37 @@
  * valid navigation paths between them. It provides methods to add scenes, define
  * navigation paths, and retrieve information about scenes and their connections.</p>
  *
+ * <p>A scene can also be added as a builder, so it is only built when it is first needed. Deferred scenes can be
+ * built ahead of time with {@link #preloadScenes(String, Executor)}, in the order the player is likely to reach
+ * them; navigating to a scene that is not built yet builds it on the spot. Like the scenes themselves, the graph
+ * must only be used from the JavaFX Application Thread.</p>
+ *
  * @author Alan Cruz
  */
 package org.example;
 
 import javafx.scene.Scene;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 
 public class Graph {
 
     private final Map<String, Scene> sceneGraph = new HashMap<>(); // Maps scene names to Scene objects
     private final Map<String, List<String>> navigationGraph = new HashMap<>(); // Maps scene names to their navigable scenes
+    private final Map<String, FutureTask<Scene>> deferredScenes = new LinkedHashMap<>(); // Scenes not built yet, in the order they were added
 
     /**
      * Adds a scene to the graph with the specified name.
@@ -26,9 +44,21 @@ public class Graph {
      * @param scene the {@code Scene} object to be added
      */
     public void addScene(String name, Scene scene) {
+        deferredScenes.remove(name);
         sceneGraph.put(name, scene);
     }
 
+    /**
+     * Adds a scene that is built the first time it is needed, by navigation or by {@link #preloadScenes}.
+     *
+     * @param name    the unique name of the scene
+     * @param builder builds the {@code Scene} object; it runs at most once, on the JavaFX Application Thread
+     */
+    public void addScene(String name, Callable<Scene> builder) {
+        sceneGraph.remove(name);
+        deferredScenes.put(name, new FutureTask<>(builder));
+    }
+
     /**
      * Defines valid navigation paths from one scene to others.
      *
@@ -46,7 +76,79 @@ public class Graph {
      * @return the {@code Scene} object associated with the given name, or {@code null} if no such scene exists
      */
     public Scene getScene(String name) {
-        return sceneGraph.get(name);
+        Scene scene = sceneGraph.get(name);
+        if (scene == null && deferredScenes.containsKey(name)) {
+            scene = buildScene(name);
+        }
+        return scene;
+    }
+
+    /**
+     * Checks if a scene has been built, so getting it will not have to wait for it.
+     *
+     * @param name the name of the scene
+     * @return {@code true} if the scene exists and is built, {@code false} otherwise
+     */
+    public boolean isSceneReady(String name) {
+        return sceneGraph.containsKey(name);
+    }
+
+    /**
+     * Lists the scenes that are not built yet in the order they are likely to be needed: breadth-first along the
+     * navigation paths from the given scene, then any scene no path leads to, in the order they were added.
+     *
+     * @param start the name of the scene the player is on
+     * @return the names of the scenes to build, nearest first
+     */
+    public List<String> getPreloadOrder(String start) {
+        Set<String> order = new LinkedHashSet<>();
+        Set<String> visited = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(start);
+        visited.add(start);
+        while (!queue.isEmpty()) {
+            String name = queue.poll();
+            if (deferredScenes.containsKey(name)) {
+                order.add(name);
+            }
+            for (String next : navigationGraph.getOrDefault(name, List.of())) {
+                if (visited.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        order.addAll(deferredScenes.keySet());
+        return new ArrayList<>(order);
+    }
+
+    /**
+     * Builds every deferred scene ahead of time, one at a time on the given executor, so the application stays
+     * responsive between them. Scenes are built in {@link #getPreloadOrder(String) preload order}.
+     *
+     * @param start    the name of the scene the player is on
+     * @param executor runs each build; {@code Platform::runLater} to build on the JavaFX Application Thread
+     * @return a future completed once every scene has been built, or has failed to build
+     */
+    public CompletableFuture<Void> preloadScenes(String start, Executor executor) {
+        CompletableFuture<Void> preloaded = new CompletableFuture<>();
+        Iterator<String> order = getPreloadOrder(start).iterator();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (!order.hasNext()) {
+                    preloaded.complete(null);
+                    return;
+                }
+                String name = order.next();
+                try {
+                    getScene(name); // Does nothing if navigation already built it
+                } catch (RuntimeException e) {
+                    System.err.println("Error building scene " + name + ": " + e.getMessage());
+                }
+                executor.execute(this); // Let other events run before the next scene
+            }
+        });
+        return preloaded;
     }
 
     /**
@@ -66,7 +168,29 @@ public class Graph {
      * @return {@code true} if the scene exists, {@code false} otherwise
      */
     public boolean hasScene(String name) {
-        return sceneGraph.containsKey(name);
+        return sceneGraph.containsKey(name) || deferredScenes.containsKey(name);
+    }
+
+    /**
+     * Builds a deferred scene, or waits for it if it is being built, and keeps it in the graph.
+     *
+     * @throws IllegalStateException if the scene could not be built
+     */
+    private Scene buildScene(String name) {
+        FutureTask<Scene> builder = deferredScenes.get(name);
+        builder.run(); // Does nothing if it already ran
+        try {
+            Scene scene = builder.get();
+            deferredScenes.remove(name);
+            sceneGraph.put(name, scene);
+            return scene;
+        } catch (ExecutionException e) {
+            deferredScenes.remove(name);
+            throw new IllegalStateException("Could not build scene " + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building scene " + name, e);
+        }
     }
 }
 
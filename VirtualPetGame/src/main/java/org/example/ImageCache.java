@@ -0,0 +1,157 @@
+package org.example;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The {@code ImageCache} class keeps decoded images for the whole game, keyed by resource path, so every
+ * {@link Sprite} that shows the same PNG shares one decoded {@link Image} instead of decoding it again.
+ *
+ * <p>Each image is reference counted: {@link #acquire(String)} takes a reference and {@link #release(String)}
+ * gives it back. An image nobody references stays cached so the next pet of that type is created without
+ * decoding, but it may be evicted, least recently used first, once the cache holds more than its memory cap.
+ * Images that are still referenced are never evicted, so the cap can be exceeded while they are in use.</p>
+ */
+public class ImageCache {
+    /** Default memory cap, enough for every pet's sprites several times over. */
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    private static ImageCache instance;
+
+    private final long maxBytes;
+    private final Function<String, Image> decoder;
+    private final LinkedHashMap<String, CachedImage> images = new LinkedHashMap<>(16, 0.75f, true); // Access order
+    private long usedBytes;
+    private int decodeCount;
+
+    private static class CachedImage {
+        final Image image;
+        final long bytes;
+        int references;
+
+        CachedImage(Image image) {
+            this.image = image;
+            this.bytes = (long) image.getWidth() * (long) image.getHeight() * 4; // Decoded as 32-bit pixels
+        }
+    }
+
+    /**
+     * Creates a cache with the given memory cap that decodes images with the given decoder.
+     *
+     * @param maxBytes the memory the unreferenced images may use before they are evicted.
+     * @param decoder decodes the image at a resource path, or returns {@code null} if there is none.
+     */
+    ImageCache(long maxBytes, Function<String, Image> decoder) {
+        this.maxBytes = maxBytes;
+        this.decoder = decoder;
+    }
+
+    /**
+     * Gets the cache shared by the whole game. Its memory cap can be set with the {@code vpg.imageCacheBytes}
+     * system property.
+     *
+     * @return the shared cache.
+     */
+    public static synchronized ImageCache getInstance() {
+        if (instance == null) {
+            instance = new ImageCache(Long.getLong("vpg.imageCacheBytes", DEFAULT_MAX_BYTES), ImageCache::decodeResource);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the image at a resource path, decoding it only if it is not cached, and takes a reference to it.
+     * Every successful call must be matched by a call to {@link #release(String)}.
+     *
+     * @param resourcePath the resource path of the image (e.g., "/Sprites/Mimitchi/happy.png").
+     * @return the image, or {@code null} if the resource does not exist or cannot be decoded.
+     */
+    public synchronized Image acquire(String resourcePath) {
+        CachedImage cached = images.get(resourcePath);
+        if (cached == null) {
+            Image image = decoder.apply(resourcePath);
+            decodeCount++;
+            if (image == null) {
+                return null;
+            }
+            cached = new CachedImage(image);
+            images.put(resourcePath, cached);
+            usedBytes += cached.bytes;
+        }
+        cached.references++;
+        evict();
+        return cached.image;
+    }
+
+    /**
+     * Gives back a reference taken by {@link #acquire(String)}. The image stays cached until it is evicted.
+     *
+     * @param resourcePath the resource path of the image.
+     * @throws IllegalStateException if the image has no references left to release.
+     */
+    public synchronized void release(String resourcePath) {
+        CachedImage cached = images.get(resourcePath);
+        if (cached == null || cached.references == 0) {
+            throw new IllegalStateException("Image '" + resourcePath + "' is not acquired.");
+        }
+        cached.references--;
+        if (cached.references == 0) {
+            evict();
+        }
+    }
+
+    /**
+     * Gets the number of images in the cache.
+     *
+     * @return the number of cached images, referenced or not.
+     */
+    public synchronized int size() {
+        return images.size();
+    }
+
+    /**
+     * Gets the estimated memory used by the cached images.
+     *
+     * @return the size of the decoded pixels of every cached image, in bytes.
+     */
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Gets the number of times an image was decoded, including failed attempts.
+     *
+     * @return the number of decodes.
+     */
+    public synchronized int getDecodeCount() {
+        return decodeCount;
+    }
+
+    /**
+     * Evicts unreferenced images, least recently used first, until the cache is within its memory cap.
+     */
+    private void evict() {
+        Iterator<CachedImage> iterator = images.values().iterator();
+        while (usedBytes > maxBytes && iterator.hasNext()) {
+            CachedImage cached = iterator.next();
+            if (cached.references == 0) {
+                iterator.remove();
+                usedBytes -= cached.bytes;
+            }
+        }
+    }
+
+    private static Image decodeResource(String resourcePath) {
+        URL imageUrl = ImageCache.class.getResource(resourcePath);
+        if (imageUrl == null) {
+            return null;
+        }
+        Image image = new Image(imageUrl.toExternalForm());
+        return image.isError() ? null : image;
+    }
+}
@@ -1,39 +1,70 @@
 package org.example;
 
-import java.util.HashMap;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ObjIntConsumer;
 
 /**
  * The Inventory class manages a collection of items, organized by their names and categories.
  * It supports adding, retrieving, and using items, and can serialize and deserialize its contents
  * for saved game functionality.
  *
+ * <p>Items are not kept as objects: every item has one shared {@link ItemDefinition} with a dense id in the
+ * {@link ItemCatalog}, and the inventory only stores how many of each id it holds, plus a bit per id for the
+ * items that changed since the last save. An inventory is a couple of small arrays, so millions of them fit
+ * in memory. The {@link Item}s returned by the getters are snapshots made from the shared definitions;
+ * changing them does not change the inventory.</p>
+ *
+ * <p>The total held in each category is kept up to date as items are added and used, and the items of a
+ * category are found through the catalog's per-category ids, so listing the food or gifts for a popup only
+ * looks at the items of that category and allocates nothing.</p>
+ *
+ * <p>Adding and using items that the inventory has held before allocate nothing either: names are looked up in
+ * the catalog without boxing, and the arrays only grow the first time a new id is added.</p>
+ *
+ * <p>An Inventory is not thread-safe. {@link ConcurrentInventory} keeps the same contents with atomic
+ * counters, for inventories that are replenished and used from different threads.</p>
+ *
  *
  * @author Alan Cruz
  * @author Bashar Hamo
  *
  */
 public class Inventory {
-    // Map to store lists of items, with the item name as the key and a list of Item objects as the value
-    private Map<String, List<Item>> items;
+    private static final int[] NO_QUANTITIES = {};
+    private static final long[] NO_BITS = {};
+    private static final String[] STARTING_ITEMS = {
+            "Apple", "Banana", "Bread", "Cheese", "Coffee", "Collar", "Bowl", "Key Chain", "Portrait"};
+    private static final int STARTING_QUANTITY = 5;
+
+    private static final ItemCatalog catalog = ItemCatalog.getInstance();
+    // Quantity of each item, indexed by catalog id; grown when an item with a higher id is added
+    private int[] quantities = NO_QUANTITIES;
+    // Ids of the items added or used since the last takeDirtyItems(), as a bit set
+    private long[] dirtyItems = NO_BITS;
+    // Total quantity held in each category, by category index
+    private final int[] categoryTotals = new int[ItemCatalog.CATEGORIES.size()];
 
     /**
-     * Constructs an Inventory instance with an empty items map and prepopulates it with default items.
+     * Constructs an Inventory instance with no items and prepopulates it with default items.
      */
     public Inventory() {
-        items = new HashMap<>(); // Initialize the items map as a HashMap
-        initializeInventory(); // Prepopulate the inventory
+        // Prepopulate the inventory without add(), which a subclass that is not initialized yet may override
+        for (String itemName : STARTING_ITEMS) {
+            store(idOf(itemName), STARTING_QUANTITY);
+        }
     }
 
     /**
-     * Constructs an Inventory instance with an empty items map, typically for saved games.
+     * Constructs an Inventory instance with no items, typically for saved games.
      *
      * @param SavedGame a marker to indicate the inventory is being initialized for a saved game.
      */
     public Inventory(String SavedGame){
-        items = new HashMap<>();
     }
 
     /**
@@ -42,34 +73,59 @@ public class Inventory {
      * @param item the item to be added.
      */
     public void addItem(Item item) {
+        add(catalog.intern(item), item.getQuantity());
+    }
 
-        //items.forEach((key, value) -> System.out.println(key + ": " + value.size() + " stacks"));
-
-        items.computeIfAbsent(item.getName(), k -> new ArrayList<>())
-                .stream()
-                .findFirst()
-                .ifPresentOrElse(
-                        existingItem -> {
-
-                            existingItem.setQuantity(existingItem.getQuantity() + item.getQuantity());
-
-                        },
-                        () -> {
-                            items.get(item.getName()).add(item);
-                        }
-                );
+    /**
+     * Adds a quantity of an item that is already in the {@link ItemCatalog}. Unlike {@link #addItem(Item)} it
+     * needs no item object, so once the inventory has held the item, adding more of it allocates nothing.
+     *
+     * @param itemName the name of the item to add.
+     * @param quantity the quantity to add.
+     * @throws IllegalArgumentException if no item of that name is in the catalog.
+     */
+    public void addItem(String itemName, int quantity) {
+        add(idOf(itemName), quantity);
     }
 
+    /**
+     * Adds a quantity of the item with the given catalog id, growing the quantities only the first time an id
+     * beyond them is added. The category total and the record of changes are updated too.
+     *
+     * @param id the catalog id of the item.
+     * @param quantity the quantity to add.
+     */
+    protected void add(int id, int quantity) {
+        store(id, quantity);
+    }
 
+    /**
+     * Adds a quantity to the quantities of this class, which is all {@link #add(int, int)} does unless a subclass
+     * keeps its items elsewhere.
+     */
+    private void store(int id, int quantity) {
+        if (id >= quantities.length) {
+            quantities = Arrays.copyOf(quantities, Math.max(id + 1, catalog.size()));
+        }
+        quantities[id] += quantity;
+        categoryTotals[catalog.get(id).getCategoryIndex()] += quantity;
+        markDirty(id);
+    }
 
     /**
      * Retrieves a list of items with the specified name.
      *
      * @param name the name of the items to retrieve.
-     * @return a list of items matching the specified name.
+     * @return a list holding one item with the quantity held, or an empty list if there is none.
      */
     public List<Item> getItemsByName(String name) {
-        return items.getOrDefault(name, new ArrayList<>());
+        int id = catalog.idOf(name);
+        List<Item> itemList = new ArrayList<>();
+        int quantity = quantityOf(id);
+        if (quantity > 0) {
+            itemList.add(catalog.get(id).createItem(quantity));
+        }
+        return itemList;
     }
 
     /**
@@ -80,19 +136,49 @@ public class Inventory {
      */
     public List<Item> getItemsByCategory(String category) {
         List<Item> categorizedItems = new ArrayList<>();
-        for (List<Item> itemList : items.values()) {
-            if (!itemList.isEmpty() && itemList.get(0) instanceof Item) {
-                Item firstItem = itemList.get(0);
-                if (firstItem instanceof Food && category.equalsIgnoreCase("Food")) {
-                    categorizedItems.addAll(itemList);
-                } else if (firstItem instanceof Gift && category.equalsIgnoreCase("Gift")) {
-                    categorizedItems.addAll(itemList);
+        int categoryIndex = ItemCatalog.categoryIndexOf(category);
+        if (categoryIndex >= 0) {
+            for (int id : catalog.getIdsInCategory(categoryIndex)) {
+                int quantity = quantityOf(id);
+                if (quantity > 0) {
+                    categorizedItems.add(catalog.get(id).createItem(quantity));
                 }
             }
         }
         return categorizedItems;
     }
 
+    /**
+     * Visits the items held in a category (e.g., "Food", "Gift") with their quantities, in catalog order.
+     * Only the items of the category are looked at, and nothing is allocated.
+     *
+     * @param category the category of items to visit, ignoring case.
+     * @param action called with the name and quantity of each item held in the category.
+     */
+    public void forEachInCategory(String category, ObjIntConsumer<String> action) {
+        int categoryIndex = ItemCatalog.categoryIndexOf(category);
+        if (categoryIndex < 0) {
+            return;
+        }
+        for (int id : catalog.getIdsInCategory(categoryIndex)) {
+            int quantity = quantityOf(id);
+            if (quantity > 0) {
+                action.accept(catalog.get(id).getName(), quantity);
+            }
+        }
+    }
+
+    /**
+     * Gets the total quantity held in a category, kept up to date as items are added and used.
+     *
+     * @param category the category (e.g., "Food", "Gift"), ignoring case.
+     * @return the total quantity of the category's items, {@code 0} for an unknown category.
+     */
+    public int getCategoryTotal(String category) {
+        int categoryIndex = ItemCatalog.categoryIndexOf(category);
+        return categoryIndex < 0 ? 0 : categoryTotal(categoryIndex);
+    }
+
     /**
      * Checks if the inventory contains at least one item with the specified name.
      *
@@ -100,8 +186,17 @@ public class Inventory {
      * @return {@code true} if the inventory contains the item, otherwise {@code false}.
      */
     public boolean hasItem(String name) {
-        List<Item> itemList = items.get(name);
-        return itemList != null && !itemList.isEmpty();
+        return getQuantity(name) > 0;
+    }
+
+    /**
+     * Gets how many of an item the inventory holds.
+     *
+     * @param name the name of the item.
+     * @return the quantity held, {@code 0} if there is none.
+     */
+    public int getQuantity(String name) {
+        return Math.max(0, quantityOf(catalog.idOf(name)));
     }
 
     /**
@@ -112,37 +207,26 @@ public class Inventory {
     @Override
     public String toString() {
         StringBuilder inventoryString = new StringBuilder("Inventory:\n");
-        for (Map.Entry<String, List<Item>> entry : items.entrySet()) {
-            String itemName = entry.getKey(); // The item's name
-            List<Item> itemList = entry.getValue(); // All instances of this item
-            int totalQuantity = 0;
-
-            // Aggregate the total quantity for this item
-            for (Item item : itemList) {
-                totalQuantity += item.getQuantity();
+        for (int id = 0, size = catalog.size(); id < size; id++) {
+            int quantity = quantityOf(id);
+            if (quantity > 0) {
+                inventoryString.append(catalog.get(id).getName())
+                        .append(" x")
+                        .append(quantity)
+                        .append("\n");
             }
-
-            inventoryString.append(itemName)
-                    .append(" x")
-                    .append(totalQuantity)
-                    .append("\n");
         }
         return inventoryString.toString();
     }
 
     /**
      * Initializes the inventory with predefined items and their respective quantities.
+     * Their stats come from the {@link ItemCatalog}.
      */
-    public void initializeInventory() {
-        addItem(new Food("Apple", 30, 5));
-        addItem(new Food("Banana", 35, 5));
-        addItem(new Food("Bread", 25, 5));
-        addItem(new Food("Cheese", 15, 5));
-        addItem(new Food("Coffee", 10, 5));
-        addItem(new Gift("Collar", 25, 5));
-        addItem(new Gift("Bowl", 30, 5));
-        addItem(new Gift("Key Chain", 40, 5));
-        addItem(new Gift("Portrait", 50, 5));
+    public final void initializeInventory() {
+        for (String itemName : STARTING_ITEMS) {
+            addItem(itemName, STARTING_QUANTITY);
+        }
     }
 
     /**
@@ -152,28 +236,51 @@ public class Inventory {
      */
     public Map<String, List<SavedGame.PlayerInfo.Item>> toSerializableMap() {
         Map<String, List<SavedGame.PlayerInfo.Item>> serializableMap = new HashMap<>();
-        for (Map.Entry<String, List<Item>> entry : items.entrySet()) {
-            List<SavedGame.PlayerInfo.Item> serializedItems = new ArrayList<>();
-            for (Item item : entry.getValue()) {
-                SavedGame.PlayerInfo.Item serializedItem = new SavedGame.PlayerInfo.Item();
-
-                // Use the category instead of the item name for the serialized type
-                if (item instanceof Food) {
-                    serializedItem.type = ((Food) item).getCategory();
-                } else if (item instanceof Gift) {
-                    serializedItem.type = ((Gift) item).getCategory();
-                } else {
-                    serializedItem.type = "Unknown"; // Fallback type for items with no specific category
-                }
-
-                serializedItem.quantity = item.getQuantity(); // Get the quantity from the Item object
-                serializedItems.add(serializedItem); // Add the serialized item to the list
+        for (int id = 0, size = catalog.size(); id < size; id++) {
+            int quantity = quantityOf(id);
+            if (quantity > 0) {
+                serializableMap.put(catalog.get(id).getName(), serializeStack(id, quantity)); // Add the list to the map
             }
-            serializableMap.put(entry.getKey(), serializedItems); // Add the list to the map
         }
         return serializableMap;
     }
 
+    /**
+     * Converts the stacks of the items that changed since the last call to the serializable format,
+     * and clears the record of changes. An item whose stacks were all used up maps to an empty list.
+     *
+     * @return a map of the changed items' serialized stacks, empty if nothing changed.
+     */
+    public Map<String, List<SavedGame.PlayerInfo.Item>> takeDirtyItems() {
+        Map<String, List<SavedGame.PlayerInfo.Item>> changed = new HashMap<>();
+        for (int word = 0, words = (catalog.size() + 63) >>> 6; word < words; word++) {
+            long bits = takeDirtyBits(word);
+            while (bits != 0) {
+                int id = word * 64 + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int quantity = quantityOf(id);
+                changed.put(catalog.get(id).getName(), quantity > 0 ? serializeStack(id, quantity) : new ArrayList<>());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Converts the stack of one item to the serializable format.
+     *
+     * @param id the catalog id of the item.
+     * @param quantity the quantity held.
+     * @return the serialized stack.
+     */
+    private List<SavedGame.PlayerInfo.Item> serializeStack(int id, int quantity) {
+        List<SavedGame.PlayerInfo.Item> serializedItems = new ArrayList<>();
+        SavedGame.PlayerInfo.Item serializedItem = new SavedGame.PlayerInfo.Item();
+        serializedItem.type = catalog.get(id).getCategory(); // Use the category instead of the item name for the serialized type
+        serializedItem.quantity = quantity;
+        serializedItems.add(serializedItem);
+        return serializedItems;
+    }
+
     /**
      * Creates an Inventory instance from a serialized map.
      *
@@ -182,35 +289,52 @@ public class Inventory {
      */
     public static Inventory fromSerializableMap(Map<String, List<SavedGame.PlayerInfo.Item>> serializedMap) {
         Inventory inventory = new Inventory("SavedGame");
+        inventory.addSerializedItems(serializedMap);
+        return inventory;
+    }
+
+    /**
+     * Adds the items of a serialized map to the inventory.
+     *
+     * @param serializedMap the serialized inventory map.
+     */
+    protected void addSerializedItems(Map<String, List<SavedGame.PlayerInfo.Item>> serializedMap) {
         for (Map.Entry<String, List<SavedGame.PlayerInfo.Item>> entry : serializedMap.entrySet()) {
             String itemName = entry.getKey(); // The item's name (e.g., "Apple", "Key Chain", "Portrait")
             List<SavedGame.PlayerInfo.Item> serializedItems = entry.getValue();
 
             for (SavedGame.PlayerInfo.Item serializedItem : serializedItems) {
                 if ("Food".equals(serializedItem.type)) {
-                    // Create a Food item and add it to the inventory
-                    Food food = new Food(itemName, 30, serializedItem.quantity); // Replace 30 with the appropriate fullness if needed
-                    inventory.addItem(food);
+                    // Add the food by its catalog id; 30 is only the fullness of foods the catalog does not define
+                    int id = catalog.intern(itemName, ItemCatalog.FOOD, 30);
+                    add(id, serializedItem.quantity);
                 } else if ("Gift".equals(serializedItem.type)) {
-                    // Create a Gift item and add it to the inventory
-                    Gift gift = new Gift(itemName, 25, serializedItem.quantity); // Replace 25 with the appropriate happiness if needed
-                    inventory.addItem(gift);
+                    // Add the gift by its catalog id; 25 is only the value of gifts the catalog does not define
+                    int id = catalog.intern(itemName, ItemCatalog.GIFT, 25);
+                    add(id, serializedItem.quantity);
                 } else {
                     // Log unknown types for debugging purposes
                     System.out.println("Unknown item type: " + serializedItem.type + " for item: " + itemName);
                 }
             }
         }
-
-        return inventory;
     }
 
     /**
-     * Retrieves the internal map of items.
+     * Retrieves the items in the inventory by name.
      *
-     * @return the map of items in the inventory.
+     * @return a snapshot of the items held, each name mapping to a list holding one item with its quantity.
      */
     public Map<String, List<Item>> getItems() {
+        Map<String, List<Item>> items = new LinkedHashMap<>();
+        for (int id = 0, size = catalog.size(); id < size; id++) {
+            int quantity = quantityOf(id);
+            if (quantity > 0) {
+                List<Item> itemList = new ArrayList<>();
+                itemList.add(catalog.get(id).createItem(quantity));
+                items.put(catalog.get(id).getName(), itemList);
+            }
+        }
         return items;
     }
 
@@ -220,20 +344,96 @@ public class Inventory {
      * @param itemName the name of the item to use.
      */
     public void useItem(String itemName) {
-        List<Item> itemList = items.get(itemName);
-        if (itemList != null && !itemList.isEmpty()) {
-            Item firstItem = itemList.get(0); // Get the first item in the stack
-            firstItem.decreaseQuantity(1); // Decrease quantity by 1
-            if (firstItem.isEmpty()) {
-                itemList.remove(0); // Remove the item if quantity is zero
-                if (itemList.isEmpty()) {
-                    items.remove(itemName); // Remove the key if the stack is empty
-                }
-            }
-        } else {
+        if (!tryUseItem(itemName)) {
             System.out.println("No " + itemName + " available to use!");
         }
     }
 
+    /**
+     * Uses an item if the inventory holds one, checking and decreasing its quantity as one step.
+     *
+     * @param itemName the name of the item to use.
+     * @return {@code true} if an item was used, {@code false} if there was none.
+     */
+    public boolean tryUseItem(String itemName) {
+        int id = catalog.idOf(itemName);
+        return id >= 0 && take(id);
+    }
+
+    /**
+     * Decreases the quantity of the item with the given catalog id by one if it is above zero, updating the
+     * category total and the record of changes.
+     *
+     * @param id the catalog id of the item.
+     * @return {@code true} if the quantity was decreased.
+     */
+    protected boolean take(int id) {
+        if (quantityOf(id) <= 0) {
+            return false;
+        }
+        quantities[id]--; // Decrease quantity by 1; at zero the item is gone
+        categoryTotals[catalog.get(id).getCategoryIndex()]--;
+        markDirty(id);
+        return true;
+    }
+
+    /**
+     * Gets the quantity stored for an id.
+     *
+     * @param id the catalog id of the item.
+     * @return the quantity, {@code 0} for ids this inventory never held.
+     */
+    protected int quantityOf(int id) {
+        return id >= 0 && id < quantities.length ? quantities[id] : 0;
+    }
+
+    /**
+     * Gets the running total of a category.
+     *
+     * @param categoryIndex the index of the category in {@link ItemCatalog#CATEGORIES}.
+     * @return the total quantity held in the category.
+     */
+    protected int categoryTotal(int categoryIndex) {
+        return categoryTotals[categoryIndex];
+    }
 
+    /**
+     * Takes and clears 64 bits of the record of changes: bit {@code i} is set if the item with id
+     * {@code word * 64 + i} was added or used since it was last taken.
+     *
+     * @param word the index of the 64 ids.
+     * @return the bits of the changed items.
+     */
+    protected long takeDirtyBits(int word) {
+        if (word >= dirtyItems.length) {
+            return 0;
+        }
+        long bits = dirtyItems[word];
+        dirtyItems[word] = 0;
+        return bits;
+    }
+
+    /**
+     * Gets the catalog id of an item name.
+     *
+     * @throws IllegalArgumentException if no item of that name is in the catalog.
+     */
+    private static int idOf(String itemName) {
+        int id = catalog.idOf(itemName);
+        if (id < 0) {
+            throw new IllegalArgumentException("No item named " + itemName + " in the catalog.");
+        }
+        return id;
+    }
+
+    /**
+     * Records that an item changed since the last takeDirtyItems().
+     */
+    private void markDirty(int id) {
+        int word = id >>> 6;
+        if (word >= dirtyItems.length) {
+            dirtyItems = Arrays.copyOf(dirtyItems, word + 1);
+        }
+        dirtyItems[word] |= 1L << id;
+    }
 }
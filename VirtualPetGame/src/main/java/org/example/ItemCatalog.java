@@ -0,0 +1,244 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code ItemCatalog} class holds one immutable {@link ItemDefinition} per item name, shared by the whole
+ * game, and gives each a small, dense id. The food and gifts of the game are defined once, in the
+ * {@code /items.json} resource, which is read when the catalog is first used; from then on an
+ * {@link Inventory} only stores a quantity per id, so it needs no {@link Item} objects, lists or map entries
+ * of its own, and every inventory agrees on an item's stats.
+ *
+ * <p>A name missing from the resource, such as an item from an older save, is interned the first time an
+ * inventory sees it, with the category and stat it came with. The catalog also keeps the ids of each category,
+ * so an inventory can list its food or its gifts without looking at any other item. Interning is
+ * synchronized; looking up definitions is not, and is safe from any thread.</p>
+ */
+public class ItemCatalog {
+    public static final String FOOD = "Food";
+    public static final String GIFT = "Gift";
+    /** The category of items that are neither food nor gifts. */
+    public static final String UNKNOWN = "Unknown";
+    /** Every category, in the order of their category indexes. */
+    public static final List<String> CATEGORIES = List.of(FOOD, GIFT, UNKNOWN);
+    /** The resource defining the game's items. */
+    public static final String RESOURCE = "/items.json";
+
+    private static final ItemCatalog instance = fromResource(RESOURCE);
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    // Indexed by id; replaced by a bigger copy as the catalog grows
+    private volatile ItemDefinition[] definitions = new ItemDefinition[16];
+    // Ids of each category, by category index; copied on every intern, which is rare
+    private volatile int[][] idsByCategory = new int[CATEGORIES.size()][0];
+    private volatile int size;
+
+    /**
+     * The layout of the items resource.
+     */
+    private static class CatalogFile {
+        List<DefinitionEntry> items;
+    }
+
+    private static class DefinitionEntry {
+        String name;
+        String category;
+        int stat;
+    }
+
+    /**
+     * Creates an empty catalog.
+     */
+    ItemCatalog() {
+    }
+
+    /**
+     * Gets the catalog shared by every inventory, defined by the {@code /items.json} resource.
+     *
+     * @return the shared catalog.
+     */
+    public static ItemCatalog getInstance() {
+        return instance;
+    }
+
+    /**
+     * Creates a catalog holding the items defined by a resource. A missing or unreadable resource is
+     * reported and gives an empty catalog, which still interns items as inventories see them.
+     *
+     * @param resourcePath the resource path of the items file.
+     * @return the catalog.
+     */
+    static ItemCatalog fromResource(String resourcePath) {
+        ItemCatalog catalog = new ItemCatalog();
+        try (InputStream in = ItemCatalog.class.getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                System.err.println("Item catalog " + resourcePath + " not found.");
+                return catalog;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                catalog.readDefinitions(reader);
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Error reading item catalog " + resourcePath + ": " + e.getMessage());
+        }
+        return catalog;
+    }
+
+    /**
+     * Interns the items defined in an items file, in the order they are listed.
+     *
+     * @param reader the items file, as {@code {"items": [{"name": ..., "category": ..., "stat": ...}]}}.
+     * @throws JsonParseException if the file is not valid.
+     */
+    void readDefinitions(Reader reader) {
+        CatalogFile file = new Gson().fromJson(reader, CatalogFile.class);
+        if (file == null || file.items == null) {
+            return;
+        }
+        for (DefinitionEntry entry : file.items) {
+            intern(entry.name, entry.category, entry.stat);
+        }
+    }
+
+    /**
+     * Gets the definition of an item name.
+     *
+     * @param name the name of the item (e.g., "Apple").
+     * @return the definition, or {@code null} if there is no item of that name.
+     */
+    public ItemDefinition get(String name) {
+        int id = idOf(name);
+        return id < 0 ? null : definitions[id];
+    }
+
+    /**
+     * Gets the definition behind an id.
+     *
+     * @param id the id of the item.
+     * @return the definition.
+     */
+    public ItemDefinition get(int id) {
+        return definitions[id];
+    }
+
+    /**
+     * Gets the id of an item name.
+     *
+     * @param name the name of the item (e.g., "Apple").
+     * @return the id, or {@code -1} if there is no item of that name.
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the id of an item's name, interning the name with the item's category and stat if it is new.
+     *
+     * @param item the item.
+     * @return the id of the item's name.
+     */
+    public int intern(Item item) {
+        Integer id = ids.get(item.getName());
+        if (id != null) {
+            return id;
+        }
+        return intern(item.getName(), categoryOf(item), statOf(item));
+    }
+
+    /**
+     * Gets the id of an item name, interning it with the given category and stat if it is new.
+     * The definition of a name that is already interned is kept.
+     *
+     * @param name the name of the item.
+     * @param category the category of the item, such as {@link #FOOD} or {@link #GIFT}; any other category is
+     *                 stored as {@link #UNKNOWN}.
+     * @param stat the fullness of a food or the value of a gift.
+     * @return the id of the name.
+     */
+    public synchronized int intern(String name, String category, int stat) {
+        Integer existing = ids.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        int categoryIndex = categoryIndexOf(category);
+        if (categoryIndex < 0) {
+            categoryIndex = CATEGORIES.indexOf(UNKNOWN);
+        }
+        int id = size;
+        if (id == definitions.length) {
+            definitions = Arrays.copyOf(definitions, id * 2);
+        }
+        definitions[id] = new ItemDefinition(id, name, categoryIndex, stat);
+        int[][] byCategory = idsByCategory.clone();
+        byCategory[categoryIndex] = Arrays.copyOf(byCategory[categoryIndex], byCategory[categoryIndex].length + 1);
+        byCategory[categoryIndex][byCategory[categoryIndex].length - 1] = id;
+        idsByCategory = byCategory;
+        size = id + 1;
+        ids.put(name, id); // Publishes the entries written above
+        return id;
+    }
+
+    /**
+     * Gets the number of interned names; ids run from {@code 0} to one less than this.
+     *
+     * @return the number of interned names.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the index of a category, ignoring case.
+     *
+     * @param category the category (e.g., "Food").
+     * @return the index of the category in {@link #CATEGORIES}, or {@code -1} if there is no such category.
+     */
+    public static int categoryIndexOf(String category) {
+        for (int i = 0; i < CATEGORIES.size(); i++) {
+            if (CATEGORIES.get(i).equalsIgnoreCase(category)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ids of the items in a category. The array is shared and must not be changed.
+     *
+     * @param categoryIndex the index of the category in {@link #CATEGORIES}.
+     * @return the ids of the category's items, in the order they were interned.
+     */
+    int[] getIdsInCategory(int categoryIndex) {
+        return idsByCategory[categoryIndex];
+    }
+
+    private static String categoryOf(Item item) {
+        if (item instanceof Food) {
+            return ((Food) item).getCategory();
+        } else if (item instanceof Gift) {
+            return ((Gift) item).getCategory();
+        }
+        return UNKNOWN;
+    }
+
+    private static int statOf(Item item) {
+        if (item instanceof Food) {
+            return ((Food) item).getFullness();
+        } else if (item instanceof Gift) {
+            return ((Gift) item).getValue();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example;
+
+/**
+ * The {@code ItemDefinition} class describes one kind of item: its name, category and stat. Definitions are
+ * immutable and there is exactly one per item name, held by the {@link ItemCatalog}; inventories refer to them
+ * by id, so every Apple in the game shares one definition with one fullness.
+ */
+public class ItemDefinition {
+    private final int id;
+    private final String name;
+    private final String category;
+    private final int categoryIndex;
+    private final int stat;
+
+    /**
+     * Creates a definition. Only the {@link ItemCatalog} creates definitions, as it interns item names.
+     *
+     * @param id the catalog id of the item.
+     * @param name the name of the item.
+     * @param categoryIndex the index of the item's category in {@link ItemCatalog#CATEGORIES}.
+     * @param stat the fullness of a food or the value of a gift.
+     */
+    ItemDefinition(int id, String name, int categoryIndex, int stat) {
+        this.id = id;
+        this.name = name;
+        this.category = ItemCatalog.CATEGORIES.get(categoryIndex);
+        this.categoryIndex = categoryIndex;
+        this.stat = stat;
+    }
+
+    /**
+     * Gets the catalog id of the item.
+     *
+     * @return the id, from {@code 0} to one less than the size of the catalog.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the item.
+     *
+     * @return the name (e.g., "Apple").
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the category of the item.
+     *
+     * @return {@link ItemCatalog#FOOD}, {@link ItemCatalog#GIFT} or {@link ItemCatalog#UNKNOWN}.
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Gets the index of the item's category.
+     *
+     * @return the index of the category in {@link ItemCatalog#CATEGORIES}.
+     */
+    public int getCategoryIndex() {
+        return categoryIndex;
+    }
+
+    /**
+     * Gets the stat of the item.
+     *
+     * @return the fullness of a food, the value of a gift, or {@code 0} for other items.
+     */
+    public int getStat() {
+        return stat;
+    }
+
+    /**
+     * Creates an item of this kind, for code that works with {@link Food} and {@link Gift} objects.
+     *
+     * @param quantity the quantity of the created item.
+     * @return a {@link Food}, a {@link Gift} or a plain {@link Item}, depending on the category.
+     */
+    public Item createItem(int quantity) {
+        if (ItemCatalog.FOOD.equals(category)) {
+            return new Food(name, stat, quantity);
+        } else if (ItemCatalog.GIFT.equals(category)) {
+            return new Gift(name, stat, quantity);
+        }
+        return new Item(name, quantity);
+    }
+
+    @Override
+    public String toString() {
+        return "ItemDefinition{id=" + id + ", name='" + name + "', category=" + category + ", stat=" + stat + "}";
+    }
+}
@@ -5,30 +5,80 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonSyntaxException;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 
 /**
  * The {@code LoadData} class manages the saving and loading of game data.
  * It handles game settings, saved games, and ensures the required file structure exists at runtime.
+ * <p>
+ * JSON is read and written by the hand-written adapters of {@link SavedGame} and {@link GameSettings},
+ * compact unless the {@code vpg.prettyJson} system property is {@code true}.
+ * Saved games are written as JSON by default, or in the compact binary format of {@link SavedGameCodec}
+ * when the {@code vpg.saveFormat} system property is {@code binary}. Both formats are read regardless of
+ * the setting; the format of a file is detected from its contents.
+ * </p>
+ * <p>
+ * A {@link SaveCatalog} next to the saves lists them by name, pet and score, so the Load Game
+ * screen does not have to read every save file.
+ * </p>
+ * <p>
+ * Saves and settings are written through a {@link SaveJournal} shared by every {@code LoadData} in the
+ * process, so a crash in the middle of a write never leaves a corrupt file behind. The journal is opened,
+ * and anything left in it from a crash replayed, when the first {@code LoadData} is created.
+ * </p>
+ * <p>
+ * {@link #saveIncremental(SavedGame, SaveDelta, String)} appends just the changes of a save to a delta log
+ * next to it. The log is applied whenever the save is read, and is folded back into a full save once it
+ * grows as large as the save itself.
+ * </p>
+ * <p>
+ * When the {@code vpg.saveStore} system property is {@code mapped}, saves are kept in a single
+ * {@link MappedSaveStore} file instead of one file per save, and changes that leave the inventory alone are
+ * written in place. Saves still in the {@code SavedGames} folder stay readable and move into the store the
+ * next time they are saved.
+ * </p>
  * @author Alan Cruz
  */
-public class LoadData {
+public class LoadData implements SaveWriter {
     private static final String SAVE_FOLDER = "./SavedFiles"; // Writable runtime folder
     private static final String GAME_SETTINGS_FILE = SAVE_FOLDER + "/game_settings.json"; // Writable game settings path
     private static final String SAVED_GAMES_FOLDER = SAVE_FOLDER + "/SavedGames"; // Writable saved games folder
+    private static final String SAVE_CATALOG_FILE = SAVE_FOLDER + "/save_catalog.json"; // Index of the saved games
+    private static final String JOURNAL_FILE = SAVE_FOLDER + "/saves.journal"; // Write-ahead journal for saves and settings
+    private static SaveJournal journal; // Shared by every LoadData in the process
+    private static final String SAVE_STORE_FILE = SAVE_FOLDER + "/saves.store"; // Single-file store for every save
+    private static MappedSaveStore saveStore; // Shared by every LoadData in the process, when enabled
+    private static final String JSON_EXTENSION = ".json";
+    private static final String BINARY_EXTENSION = ".sav";
+    private static final String DELTA_EXTENSION = ".delta";
     private final Gson gson;
+    private final boolean binarySaves = "binary".equalsIgnoreCase(System.getProperty("vpg.saveFormat", "json"));
+    private final boolean mappedStore = "mapped".equalsIgnoreCase(System.getProperty("vpg.saveStore", "files"));
 
     /**
      * Constructs a new {@code LoadData} object and ensures the necessary folders and files exist.
      */
     public LoadData() {
-        gson = new GsonBuilder().setPrettyPrinting().create();
+        gson = createGson();
 
         // Ensure the save folders exist
         createFolderIfNotExists(SAVE_FOLDER);
         createFolderIfNotExists(SAVED_GAMES_FOLDER);
 
+        // Open the journal, recovering any writes interrupted by a crash
+        journal();
+
         // Ensure the game_settings.json file exists with default values
         ensureGameSettingsFileExists();
     }
@@ -42,8 +92,21 @@ public class LoadData {
      * @throws IOException if an I/O error occurs while reading the file.
      */
     public SavedGame loadSavedGame(String saveName) {
-        // Construct the file path for the save file
-        File file = new File(SAVED_GAMES_FOLDER, saveName + ".json");
+        MappedSaveStore store = saveStore();
+        if (store != null && store.contains(saveName)) {
+            try {
+                return store.read(saveName);
+            } catch (IOException e) {
+                System.err.println("Error reading save " + saveName + " from the save store - " + e.getMessage());
+                return null;
+            }
+        }
+
+        // Construct the file path for the save file, in whichever format it was written
+        File file = new File(SAVED_GAMES_FOLDER, saveName + BINARY_EXTENSION);
+        if (!file.exists()) {
+            file = new File(SAVED_GAMES_FOLDER, saveName + JSON_EXTENSION);
+        }
 
         // Check if the file exists
         if (!file.exists()) {
@@ -51,18 +114,74 @@ public class LoadData {
             return null; // Return null if the file doesn't exist
         }
 
-        try (FileReader reader = new FileReader(file)) {
-            // Deserialize the JSON file into a SavedGame object using Gson
-            return gson.fromJson(reader, SavedGame.class);
+        return readSavedGame(file);
+    }
+
+    /**
+     * Reads a saved game from a file, detecting whether it is binary or JSON.
+     *
+     * @param file the save file.
+     * @return the saved game, or {@code null} if the file cannot be read or parsed.
+     */
+    private SavedGame readSavedGame(File file) {
+        try {
+            byte[] data = Files.readAllBytes(file.toPath());
+            SavedGame savedGame;
+            if (SavedGameCodec.isBinary(data)) {
+                savedGame = SavedGameCodec.decode(data);
+            } else {
+                // Deserialize the JSON file into a SavedGame object using Gson
+                savedGame = gson.fromJson(new String(data, StandardCharsets.UTF_8), SavedGame.class);
+            }
+
+            // Bring the save up to date with the changes appended since it was written
+            File deltaLog = deltaLogOf(saveNameOf(file));
+            if (savedGame != null && deltaLog.exists()) {
+                SaveDelta.applyLog(Files.readAllBytes(deltaLog.toPath()), savedGame);
+            }
+            return savedGame;
         } catch (IOException e) {
-            System.err.println("Error reading save file: " + e.getMessage());
+            System.err.println("Error reading save file: " + file.getName() + " - " + e.getMessage());
         } catch (JsonSyntaxException e) {
-            System.err.println("Error parsing save file: " + e.getMessage());
+            System.err.println("Error parsing save file: " + file.getName() + " - " + e.getMessage());
         }
 
         return null; // Return null if an error occurs
     }
 
+    /**
+     * Creates the Gson instance used for saves and settings, with their hand-written adapters registered.
+     *
+     * @return a new Gson instance.
+     */
+    static Gson createGson() {
+        GsonBuilder builder = new GsonBuilder()
+                .registerTypeAdapter(SavedGame.class, new SavedGame.JsonAdapter())
+                .registerTypeAdapter(SavedGame.PlayerInfo.Item.class, new SavedGame.PlayerInfo.Item.JsonAdapter())
+                .registerTypeAdapter(GameSettings.class, new GameSettings.JsonAdapter());
+        if (Boolean.getBoolean("vpg.prettyJson")) {
+            builder.setPrettyPrinting();
+        }
+        return builder.create();
+    }
+
+    /**
+     * Writes a value as UTF-8 JSON straight into a byte buffer, without building a string first.
+     *
+     * @param value the value to write.
+     * @param type the type whose adapter writes the value.
+     * @return the JSON bytes.
+     */
+    private byte[] toJson(Object value, Class<?> type) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        try (Writer writer = new OutputStreamWriter(bytes, StandardCharsets.UTF_8)) {
+            gson.toJson(value, type, writer);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
     /**
      * Ensures a folder exists, creating it if necessary.
      *
@@ -85,9 +204,9 @@ public class LoadData {
     private void ensureGameSettingsFileExists() {
         File file = new File(GAME_SETTINGS_FILE);
         if (!file.exists()) {
-            try (FileWriter writer = new FileWriter(file)) {
+            try {
                 GameSettings defaultSettings = new GameSettings(); // Create default settings
-                gson.toJson(defaultSettings, writer);
+                writeFile(file, toJson(defaultSettings, GameSettings.class));
             } catch (IOException e) {
                 System.err.println("Error creating default game_settings.json: " + e.getMessage());
             }
@@ -103,7 +222,7 @@ public class LoadData {
      */
     public GameSettings loadGameSettings() {
         File file = new File(GAME_SETTINGS_FILE);
-        try (FileReader reader = new FileReader(file)) {
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
             return gson.fromJson(reader, GameSettings.class);
         } catch (IOException e) {
             System.err.println("Error loading game settings: " + e.getMessage());
@@ -118,8 +237,8 @@ public class LoadData {
      * @throws IOException if an I/O error occurs while writing the file.
      */
     public void saveGameSettings(GameSettings settings) {
-        try (FileWriter writer = new FileWriter(GAME_SETTINGS_FILE)) {
-            gson.toJson(settings, writer);
+        try {
+            writeFile(new File(GAME_SETTINGS_FILE), toJson(settings, GameSettings.class));
         } catch (IOException e) {
             System.err.println("Error saving game settings: " + e.getMessage());
         }
@@ -133,36 +252,342 @@ public class LoadData {
      * @throws IOException if an I/O error occurs while reading a file.
      */
     public List<SavedGame> loadAllSavedGames() {
-        List<SavedGame> savedGames = new ArrayList<>();
-        File folder = new File(SAVED_GAMES_FOLDER);
+        return loadAllSavedGames(Runnable::run, savedGames -> { }).getResult().join();
+    }
 
-        File[] files = folder.listFiles((dir, name) -> name.endsWith(".json")); // Filter JSON files
-        if (files != null) {
-            for (File file : files) {
-                try (FileReader reader = new FileReader(file)) {
-                    SavedGame savedGame = gson.fromJson(reader, SavedGame.class);
-                    savedGames.add(savedGame);
-                } catch (IOException e) {
-                    System.err.println("Error loading saved game from file: " + file.getName() + " - " + e.getMessage());
+    /**
+     * Loads all saved games in parallel, streaming them back in batches as they are read.
+     *
+     * @param deliveryExecutor the executor that delivers the batches, such as {@code Platform::runLater}.
+     * @param onSavedGames receives each batch of saved games on the delivery executor.
+     * @return the running loader, which can be cancelled and whose result holds every saved game.
+     */
+    public SaveLoader<SavedGame> loadAllSavedGames(Executor deliveryExecutor, Consumer<List<SavedGame>> onSavedGames) {
+        List<Callable<SavedGame>> tasks = new ArrayList<>();
+        MappedSaveStore store = saveStore();
+        if (store != null) {
+            for (String saveName : store.getSaveNames()) {
+                tasks.add(() -> loadSavedGame(saveName));
+            }
+        }
+        for (File file : listSaveFiles()) {
+            if (store != null && store.contains(saveNameOf(file))) {
+                continue; // Superseded by the copy in the store
+            }
+            tasks.add(() -> readSavedGame(file));
+        }
+        return new SaveLoader<>(tasks, SaveLoader.DEFAULT_PARALLELISM).start(List.of(), deliveryExecutor, onSavedGames);
+    }
+
+    /**
+     * Loads the catalog of saved games without reading the saves themselves. Saves that are new or were
+     * changed since they were catalogued are read once to refresh their entries, and entries of deleted
+     * saves are dropped.
+     *
+     * @return the catalog entries, most recently saved first.
+     */
+    public List<SaveCatalog.Entry> loadSaveCatalog() {
+        List<SaveCatalog.Entry> entries = new ArrayList<>(loadSaveCatalog(Runnable::run, batch -> { }).getResult().join());
+        entries.sort(SaveCatalog.NEWEST_FIRST);
+        return entries;
+    }
+
+    /**
+     * Loads the catalog of saved games, streaming the entries back in batches. The entries that are up to
+     * date are delivered first, most recently saved first; saves that must be read to refresh their entries
+     * are read in parallel and delivered as they complete. Once they all have been read, the catalog file
+     * is updated in the background.
+     *
+     * @param deliveryExecutor the executor that delivers the batches, such as {@code Platform::runLater}.
+     * @param onEntries receives each batch of entries on the delivery executor.
+     * @return the running loader, which can be cancelled and whose result holds every entry.
+     */
+    public SaveLoader<SaveCatalog.Entry> loadSaveCatalog(Executor deliveryExecutor, Consumer<List<SaveCatalog.Entry>> onEntries) {
+        SaveCatalog catalog = SaveCatalog.load(new File(SAVE_CATALOG_FILE), gson);
+        MappedSaveStore store = saveStore();
+        List<SaveCatalog.Entry> current = new ArrayList<>();
+        List<SaveCatalog.Entry> refreshed = Collections.synchronizedList(new ArrayList<>());
+        List<Callable<SaveCatalog.Entry>> tasks = new ArrayList<>();
+        Set<String> fileNames = new HashSet<>();
+        for (File file : listSaveFiles()) {
+            fileNames.add(file.getName());
+            if (store != null && store.contains(saveNameOf(file))) {
+                continue; // Superseded by the copy in the store
+            }
+            SaveCatalog.Entry entry = catalog.getCurrent(file);
+            if (entry != null) {
+                current.add(entry);
+            } else {
+                tasks.add(() -> {
+                    SavedGame savedGame = readSavedGame(file);
+                    if (savedGame == null) return null;
+                    SaveCatalog.Entry described = SaveCatalog.describe(file, saveNameOf(file), savedGame);
+                    refreshed.add(described);
+                    return described;
+                });
+            }
+        }
+        if (store != null) {
+            // Store saves are listed from their slots, which hold what an entry needs; a save is only read
+            // when its slot cannot describe it
+            String storeFileName = new File(SAVE_STORE_FILE).getName();
+            for (String saveName : store.getSaveNames()) {
+                SaveCatalog.Entry entry = store.describe(saveName, storeFileName);
+                if (entry != null) {
+                    current.add(entry);
+                    continue;
                 }
+                tasks.add(() -> {
+                    SavedGame savedGame = loadSavedGame(saveName);
+                    long[] location = store.getRecordLocation(saveName);
+                    if (savedGame == null || location == null) return null;
+                    return SaveCatalog.describe(storeFileName, saveName, savedGame, savedGame.lastSaved, location[0], location[1]);
+                });
             }
         }
-        return savedGames;
+        boolean pruned = catalog.retainAll(fileNames);
+        current.sort(SaveCatalog.NEWEST_FIRST);
+
+        return new SaveLoader<>(tasks, SaveLoader.DEFAULT_PARALLELISM)
+                .whenLoaded(entries -> {
+                    for (SaveCatalog.Entry entry : refreshed) {
+                        catalog.put(entry);
+                    }
+                    if (pruned || !refreshed.isEmpty()) {
+                        catalog.store(gson);
+                    }
+                })
+                .start(current, deliveryExecutor, onEntries);
     }
 
     /**
-     * Saves a new game to the {@code SavedGames} folder with the specified name.
+     * Lists the JSON and binary save files in the {@code SavedGames} folder.
+     *
+     * @return the save files, or an empty array if the folder cannot be read.
+     */
+    private File[] listSaveFiles() {
+        File folder = new File(SAVED_GAMES_FOLDER);
+        File[] files = folder.listFiles((dir, name) -> name.endsWith(JSON_EXTENSION) || name.endsWith(BINARY_EXTENSION));
+        return files != null ? files : new File[0];
+    }
+
+    /**
+     * Gets the name a save file is loaded by, which is its file name without the extension.
+     */
+    private static String saveNameOf(File file) {
+        String name = file.getName();
+        return name.substring(0, name.lastIndexOf('.'));
+    }
+
+    /**
+     * Saves a new game to the {@code SavedGames} folder with the specified name, in the configured format.
+     * A copy of the same save in the other format is removed so it cannot shadow the new one.
      *
      * @param savedGame the {@code SavedGame} object to save.
      * @param saveName  the name of the save file (without extension).
-     * @throws IOException if an I/O error occurs while writing the file.
+     * @return {@code true} if the save was written, {@code false} if an error was reported instead.
      */
-    public void saveNewGame(SavedGame savedGame, String saveName) {
-        File file = new File(SAVED_GAMES_FOLDER + "/" + saveName + ".json");
-        try (FileWriter writer = new FileWriter(file)) {
-            gson.toJson(savedGame, writer);
+    @Override
+    public boolean saveNewGame(SavedGame savedGame, String saveName) {
+        MappedSaveStore store = saveStore();
+        if (store != null) {
+            try {
+                store.write(saveName, savedGame);
+                store.force(); // The store's copy must be on disk before the copies it supersedes go
+                // The store's copy supersedes any copy in the SavedGames folder
+                deleteFile(new File(SAVED_GAMES_FOLDER, saveName + JSON_EXTENSION));
+                deleteFile(new File(SAVED_GAMES_FOLDER, saveName + BINARY_EXTENSION));
+                deleteFile(deltaLogOf(saveName));
+            } catch (IOException | IllegalArgumentException e) {
+                System.err.println("Error saving game: " + e.getMessage());
+                return false;
+            }
+            return true;
+        }
+
+        File file = new File(SAVED_GAMES_FOLDER + "/" + saveName + (binarySaves ? BINARY_EXTENSION : JSON_EXTENSION));
+        File other = new File(SAVED_GAMES_FOLDER + "/" + saveName + (binarySaves ? JSON_EXTENSION : BINARY_EXTENSION));
+        try {
+            byte[] data = binarySaves ? SavedGameCodec.encode(savedGame)
+                    : toJson(savedGame, SavedGame.class);
+            writeFile(file, data);
+            deleteFile(other);
+            deleteFile(deltaLogOf(saveName)); // The full save includes everything the log held
         } catch (IOException e) {
             System.err.println("Error saving game: " + e.getMessage());
+            return false;
+        }
+
+        // Keep the catalog in step with the save
+        SaveCatalog catalog = SaveCatalog.load(new File(SAVE_CATALOG_FILE), gson);
+        catalog.remove(other.getName());
+        catalog.put(SaveCatalog.describe(file, saveName, savedGame));
+        catalog.store(gson);
+        return true;
+    }
+
+    /**
+     * Saves only the changes of a game since it was last written, by appending them to the save's delta log.
+     * A full save is written instead when there is no save to apply the changes to yet, or when the log has
+     * grown as large as the save, which folds the log back into the save.
+     *
+     * @param savedGame the complete saved game, written if a full save is needed.
+     * @param delta the changes since the save was last written.
+     * @param saveName the name of the save file (without extension).
+     * @return {@code true} if the changes were written, {@code false} if an error was reported instead.
+     */
+    @Override
+    public boolean saveIncremental(SavedGame savedGame, SaveDelta delta, String saveName) {
+        MappedSaveStore store = saveStore();
+        if (store != null) {
+            // Stats and score fit the store's fixed-size slot; anything else rewrites the save
+            if ((delta.getFields() & SaveDelta.INVENTORY) != 0 || !store.updateStats(saveName, savedGame)) {
+                return saveNewGame(savedGame, saveName);
+            }
+            return true;
+        }
+
+        File file = new File(SAVED_GAMES_FOLDER, saveName + (binarySaves ? BINARY_EXTENSION : JSON_EXTENSION));
+        File deltaLog = deltaLogOf(saveName);
+        if (!file.exists() || deltaLog.length() >= file.length()) {
+            return saveNewGame(savedGame, saveName);
+        }
+
+        try {
+            appendFile(deltaLog, delta.toLogRecord());
+        } catch (IOException e) {
+            System.err.println("Error saving game changes: " + e.getMessage());
+            return false;
+        }
+
+        if ((delta.getFields() & SaveDelta.SCORE) != 0) {
+            // The catalog lists scores, so keep it in step; the save file itself did not change
+            SaveCatalog catalog = SaveCatalog.load(new File(SAVE_CATALOG_FILE), gson);
+            SaveCatalog.Entry entry = catalog.getCurrent(file);
+            if (entry != null) {
+                entry.score = savedGame.playerInfo.score;
+                catalog.store(gson);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the delta log of a save.
+     */
+    private static File deltaLogOf(String saveName) {
+        return new File(SAVED_GAMES_FOLDER, saveName + DELTA_EXTENSION);
+    }
+
+    /**
+     * Appends to a file through the journal, or directly if the journal could not be opened.
+     *
+     * @param file the file to append to.
+     * @param data the bytes to append.
+     * @throws IOException if an I/O error occurs while writing the file.
+     */
+    private void appendFile(File file, byte[] data) throws IOException {
+        SaveJournal saveJournal = journal();
+        if (saveJournal != null) {
+            saveJournal.append(file.toPath(), data);
+        } else {
+            Files.write(file.toPath(), data, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+    }
+
+    /**
+     * Writes a file through the journal, or replaces it atomically if the journal could not be opened.
+     *
+     * @param file the file to write.
+     * @param data the new contents of the file.
+     * @throws IOException if an I/O error occurs while writing the file.
+     */
+    private void writeFile(File file, byte[] data) throws IOException {
+        SaveJournal saveJournal = journal();
+        if (saveJournal != null) {
+            saveJournal.write(file.toPath(), data);
+        } else {
+            SaveJournal.replace(file.toPath(), data);
+        }
+    }
+
+    /**
+     * Deletes a file through the journal, or directly if the journal could not be opened.
+     *
+     * @param file the file to delete.
+     * @throws IOException if an I/O error occurs while deleting the file.
+     */
+    private void deleteFile(File file) throws IOException {
+        SaveJournal saveJournal = journal();
+        if (saveJournal != null) {
+            saveJournal.delete(file.toPath());
+        } else {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
+
+    /**
+     * Gets the shared journal, opening it on first use.
+     *
+     * @return the journal, or {@code null} if it cannot be opened.
+     */
+    private static synchronized SaveJournal journal() {
+        if (journal == null) {
+            try {
+                journal = new SaveJournal(Path.of(JOURNAL_FILE));
+            } catch (IOException e) {
+                System.err.println("Error opening save journal, writing files directly: " + e.getMessage());
+            }
+        }
+        return journal;
+    }
+
+    /**
+     * Gets the shared save store, opening it on first use, if the store is enabled.
+     *
+     * @return the store, or {@code null} if it is disabled or cannot be opened.
+     */
+    private MappedSaveStore saveStore() {
+        if (!mappedStore) {
+            return null;
+        }
+        synchronized (LoadData.class) {
+            if (saveStore == null) {
+                try {
+                    saveStore = new MappedSaveStore(Path.of(SAVE_STORE_FILE));
+                } catch (IOException e) {
+                    System.err.println("Error opening save store, using save files: " + e.getMessage());
+                }
+            }
+            return saveStore;
+        }
+    }
+
+    /**
+     * Writes the shared save store to disk and closes it. Call when the application exits.
+     */
+    public static synchronized void closeSaveStore() {
+        if (saveStore != null) {
+            try {
+                saveStore.close();
+            } catch (IOException e) {
+                System.err.println("Error closing save store: " + e.getMessage());
+            }
+            saveStore = null;
+        }
+    }
+
+    /**
+     * Checkpoints and closes the shared journal. Call when the application exits.
+     */
+    public static synchronized void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing save journal: " + e.getMessage());
+            }
+            journal = null;
         }
     }
 }
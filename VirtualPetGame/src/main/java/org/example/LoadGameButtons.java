@@ -5,11 +5,10 @@ import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.VBox;
 
-import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -23,6 +22,7 @@ import java.util.List;
  *
  */
 public class LoadGameButtons {
+    private static final String STATUS_LABEL_ID = "loadGameStatusLabel"; // Id of the loading and empty-list labels
 
     private final NavigationHandler navigationHandler;
     private final VirtualPetGame virtualPetGame;
@@ -42,103 +42,164 @@ public class LoadGameButtons {
      * Creates buttons for each saved game and adds them to the specified scene's UI.
      *
      * @param currentScene the current scene where the buttons will be displayed.
-     * @param savedGames a list of saved games to create buttons for.
+     * @param savedGames the catalog entries of the saved games to create buttons for.
      */
-    public void createLoadGameButtons(Scene currentScene, List<SavedGame> savedGames) {
+    public void createLoadGameButtons(Scene currentScene, List<SaveCatalog.Entry> savedGames) {
+        clearLoadGameButtons(currentScene);
+        addLoadGameButtons(currentScene, savedGames);
+        finishLoadGameButtons(currentScene);
+    }
+
+    /**
+     * Clears the save file buttons and shows a loading message until buttons are added.
+     *
+     * @param currentScene the current scene where the buttons are displayed.
+     */
+    public void clearLoadGameButtons(Scene currentScene) {
+        VBox saveFileContainer = getSaveFileContainer(currentScene);
+
+        // Clear existing children (to avoid duplication if reloaded)
+        saveFileContainer.getChildren().clear();
+        saveFileContainer.getChildren().add(createStatusLabel("Loading..."));
+    }
+
+    /**
+     * Adds buttons for more saved games below the ones already shown, as saves are loaded.
+     *
+     * @param currentScene the current scene where the buttons are displayed.
+     * @param savedGames the catalog entries of the saved games to add buttons for.
+     */
+    public void addLoadGameButtons(Scene currentScene, List<SaveCatalog.Entry> savedGames) {
+        if (savedGames.isEmpty()) return;
+        VBox saveFileContainer = getSaveFileContainer(currentScene);
+        saveFileContainer.getChildren().removeIf(node -> STATUS_LABEL_ID.equals(node.getId()));
+
+        // Populate the VBox with save file buttons
+        List<Button> saveFileButtons = new ArrayList<>(savedGames.size());
+        for (SaveCatalog.Entry savedGame : savedGames) {
+            saveFileButtons.add(createSaveFileButton(savedGame));
+        }
+        saveFileContainer.getChildren().addAll(saveFileButtons); // One layout pass for the whole batch
+    }
+
+    /**
+     * Finishes the list of saved games once every save has been loaded, showing a message if there are none.
+     *
+     * @param currentScene the current scene where the buttons are displayed.
+     */
+    public void finishLoadGameButtons(Scene currentScene) {
+        VBox saveFileContainer = getSaveFileContainer(currentScene);
+        saveFileContainer.getChildren().removeIf(node -> STATUS_LABEL_ID.equals(node.getId()));
+        if (saveFileContainer.getChildren().isEmpty()) {
+            saveFileContainer.getChildren().add(createStatusLabel("No Saved Files"));
+        }
+
+        // Ensure the outer VBox (ScrollPane content) is also centered
+        VBox outerWrapper = (VBox) saveFileContainer.getParent();
+        outerWrapper.setAlignment(Pos.CENTER); // Center everything in the ScrollPane
+    }
+
+    /**
+     * Gets the VBox inside the Load Game screen's ScrollPane that holds the save file buttons.
+     */
+    private VBox getSaveFileContainer(Scene currentScene) {
         // Access the root AnchorPane
         AnchorPane root = (AnchorPane) currentScene.getRoot();
 
         // Access the ScrollPane by fx:id
         ScrollPane scrollPane = (ScrollPane) root.lookup("#loadGameScrollPane");
 
-
         // Access the VBox inside the ScrollPane
-        VBox saveFileContainer = (VBox) ((VBox) scrollPane.getContent()).getChildren().get(0);
-
+        return (VBox) ((VBox) scrollPane.getContent()).getChildren().get(0);
+    }
 
-        // Clear existing children (to avoid duplication if reloaded)
-        saveFileContainer.getChildren().clear();
+    private Label createStatusLabel(String text) {
+        Label statusLabel = new Label(text);
+        statusLabel.setId(STATUS_LABEL_ID);
+        statusLabel.setStyle("-fx-font-size: 20px; -fx-text-fill: black;");
+        return statusLabel;
+    }
 
-        // Populate the VBox with save file buttons
-        if (savedGames.isEmpty()) {
-            Label noSavedFilesLabel = new Label("No Saved Files");
-            noSavedFilesLabel.setStyle("-fx-font-size: 20px; -fx-text-fill: black;");
-            saveFileContainer.getChildren().add(noSavedFilesLabel);
-        } else {
-            for (SavedGame savedGame : savedGames) {
-                Button saveFileButton = new Button(savedGame.getName());
-                saveFileButton.setStyle(
-                        "-fx-font-size: 18px; " +
-                                "-fx-background-color: #4CAF50; " +
-                                "-fx-text-fill: white; " +
-                                "-fx-padding: 10px; " +
-                                "-fx-cursor: hand;" +
-                                "-fx-background-radius: 10px;"
-                );
-
-                // Set the button action to load the saved game
-                saveFileButton.setOnAction(e -> {
-                    // Play the sound effect
-                    Music.getInstance().playSoundEffect();
-
-                    // Deserialize the JSON file into a SavedGame object
-                    LoadData loadData = new LoadData();
-                    SavedGame loadedGame = loadData.loadSavedGame(savedGame.getName());
-
-                    if (loadedGame != null) {
-                        // Map inventory
-                        Inventory newInventory = new Inventory("SavedGame");
-
-                        if (loadedGame.playerInfo.inventory != null) {
-                            newInventory = Inventory.fromSerializableMap(loadedGame.playerInfo.inventory);// Replace the inventory
-                        }
-
-                        Player player = new Player(newInventory);
-                        player.setScore(loadedGame.playerInfo.score);
-
-
-                        // Map pet info
-                        SavedGame.PetInfo petInfo = loadedGame.petInfo;
-                        Sprite sprite = initializeSprite(petInfo.petType);
-                        if (petInfo != null) {
-                            Pet pet = new Pet(
-                                    petInfo.petType,
-                                    petInfo.name,
-                                    sprite, // Assume default sprite; set state after initialization
-                                    petInfo.stats.health,
-                                    petInfo.stats.fullness,
-                                    petInfo.stats.happiness,
-                                    petInfo.stats.sleep,
-                                    petInfo.stats.fullnessDepletionRate, // Default depletion rates; adjust if needed
-                                    petInfo.stats.happinessDepletionRate,
-                                    petInfo.stats.sleepDepletionRate
-                            );
-
-                            // Assign the pet to the player
-                            player.setPet(pet);
-                        }
-
-
-                        // Update VirtualPetGame state
-                        virtualPetGame.setCurrentPlayer(player);
-                        virtualPetGame.setCurrentPet(player.getPet());
-                        virtualPetGame.setCurrentSavedGame(loadedGame);
-                        virtualPetGame.setNewGame(false);
-
-                        // Navigate to the GamePlay screen
-                        navigationHandler.navigate("GamePlay");
-                    } else {
-                        System.out.println("Failed to load the saved game.");
+    /**
+     * Creates the button that loads a saved game.
+     *
+     * @param savedGame the catalog entry of the saved game.
+     * @return the button.
+     */
+    private Button createSaveFileButton(SaveCatalog.Entry savedGame) {
+        Button saveFileButton = new Button(savedGame.saveName);
+        saveFileButton.setStyle(
+                "-fx-font-size: 18px; " +
+                        "-fx-background-color: #4CAF50; " +
+                        "-fx-text-fill: white; " +
+                        "-fx-padding: 10px; " +
+                        "-fx-cursor: hand;" +
+                        "-fx-background-radius: 10px;"
+        );
+
+        // Set the button action to load the saved game
+        saveFileButton.setOnAction(e -> {
+            // Play the sound effect
+            Music.getInstance().playSoundEffect();
+
+            // Only now read the whole save
+            LoadData loadData = new LoadData();
+            SavedGame loadedGame = loadData.loadSavedGame(savedGame.saveName);
+
+            if (loadedGame != null) {
+                // Map inventory
+                Inventory newInventory = new Inventory("SavedGame");
+
+                if (loadedGame.playerInfo.inventory != null) {
+                    newInventory = Inventory.fromSerializableMap(loadedGame.playerInfo.inventory);// Replace the inventory
+                }
+
+                Player player = new Player(newInventory);
+                player.setScore(loadedGame.playerInfo.score);
+
+
+                // Map pet info
+                SavedGame.PetInfo petInfo = loadedGame.petInfo;
+                Sprite sprite = initializeSprite(petInfo.petType);
+                if (petInfo != null) {
+                    Pet pet = new Pet(
+                            petInfo.petType,
+                            petInfo.name,
+                            sprite, // Assume default sprite; set state after initialization
+                            petInfo.stats.health,
+                            petInfo.stats.fullness,
+                            petInfo.stats.happiness,
+                            petInfo.stats.sleep,
+                            petInfo.stats.fullnessDepletionRate, // Default depletion rates; adjust if needed
+                            petInfo.stats.happinessDepletionRate,
+                            petInfo.stats.sleepDepletionRate
+                    );
+
+                    // Catch the pet up with the time it spent offline
+                    if (loadedGame.lastSaved > 0) {
+                        long offlineSeconds = (System.currentTimeMillis() - loadedGame.lastSaved) / 1000;
+                        pet.advance(Math.max(0, offlineSeconds));
                     }
-                });
-                saveFileButton.setPrefWidth(300); // Consistent width
-                saveFileContainer.getChildren().add(saveFileButton);
-            }
-        }
 
-        // Ensure the outer VBox (ScrollPane content) is also centered
-        VBox outerWrapper = (VBox) scrollPane.getContent();
-        outerWrapper.setAlignment(Pos.CENTER); // Center everything in the ScrollPane
+                    // Assign the pet to the player
+                    player.setPet(pet);
+                }
+
+
+                // Update VirtualPetGame state
+                virtualPetGame.setCurrentPlayer(player);
+                virtualPetGame.setCurrentPet(player.getPet());
+                virtualPetGame.setCurrentSavedGame(loadedGame);
+                virtualPetGame.setNewGame(false);
+
+                // Navigate to the GamePlay screen
+                navigationHandler.navigate("GamePlay");
+            } else {
+                System.out.println("Failed to load the saved game.");
+            }
+        });
+        saveFileButton.setPrefWidth(300); // Consistent width
+        return saveFileButton;
     }
 
     /**
@@ -172,17 +233,7 @@ public class LoadGameButtons {
      * @return the {@link Sprite} object representing Kuromametchi.
      */
     private Sprite initializeKuromametchi() {
-        Sprite spriteKuromametchi = new Sprite();
-
-        addSpriteState(spriteKuromametchi, "angry", "/Sprites/Kuromametchi/angry.png");
-        addSpriteState(spriteKuromametchi, "default", "/Sprites/Kuromametchi/default.png");
-        addSpriteState(spriteKuromametchi, "disappointed", "/Sprites/Kuromametchi/disappointed.png");
-        addSpriteState(spriteKuromametchi, "dead", "/Sprites/Kuromametchi/dead.png");
-        addSpriteState(spriteKuromametchi, "happy", "/Sprites/Kuromametchi/happy.png");
-        addSpriteState(spriteKuromametchi, "play", "/Sprites/Kuromametchi/play.png");
-        addSpriteState(spriteKuromametchi, "sad", "/Sprites/Kuromametchi/sad.png");
-        addSpriteState(spriteKuromametchi, "shock", "/Sprites/Kuromametchi/shock.png");
-        addSpriteState(spriteKuromametchi, "sleep", "/Sprites/Kuromametchi/sleep.png");
+        Sprite spriteKuromametchi = SpriteAtlas.createPetSprite("Kuromametchi");
 
         return spriteKuromametchi;
     }
@@ -193,17 +244,7 @@ public class LoadGameButtons {
      * @return the {@link Sprite} object representing Lovelitchi.
      */
     private Sprite initializeLovelitchi() {
-        Sprite spriteLovelitchi = new Sprite();
-
-        addSpriteState(spriteLovelitchi, "angry", "/Sprites/Lovelitchi/angry.png");
-        addSpriteState(spriteLovelitchi, "default", "/Sprites/Lovelitchi/default.png");
-        addSpriteState(spriteLovelitchi, "disappointed", "/Sprites/Lovelitchi/disappointed.png");
-        addSpriteState(spriteLovelitchi, "dead", "/Sprites/Lovelitchi/dead.png");
-        addSpriteState(spriteLovelitchi, "happy", "/Sprites/Lovelitchi/happy.png");
-        addSpriteState(spriteLovelitchi, "play", "/Sprites/Lovelitchi/play.png");
-        addSpriteState(spriteLovelitchi, "sad", "/Sprites/Lovelitchi/sad.png");
-        addSpriteState(spriteLovelitchi, "shock", "/Sprites/Lovelitchi/shock.png");
-        addSpriteState(spriteLovelitchi, "sleep", "/Sprites/Lovelitchi/sleep.png");
+        Sprite spriteLovelitchi = SpriteAtlas.createPetSprite("Lovelitchi");
 
         return  spriteLovelitchi;
     }
@@ -214,17 +255,7 @@ public class LoadGameButtons {
      * @return the {@link Sprite} object representing Mimitchi.
      */
     private Sprite initializeMimitchi() {
-        Sprite spriteMimitchi = new Sprite();
-
-        addSpriteState(spriteMimitchi, "angry", "/Sprites/Mimitchi/angry.png");
-        addSpriteState(spriteMimitchi, "default", "/Sprites/Mimitchi/default.png");
-        addSpriteState(spriteMimitchi, "disappointed", "/Sprites/Mimitchi/disappointed.png");
-        addSpriteState(spriteMimitchi, "dead", "/Sprites/Mimitchi/dead.png");
-        addSpriteState(spriteMimitchi, "happy", "/Sprites/Mimitchi/happy.png");
-        addSpriteState(spriteMimitchi, "play", "/Sprites/Mimitchi/play.png");
-        addSpriteState(spriteMimitchi, "sad", "/Sprites/Mimitchi/sad.png");
-        addSpriteState(spriteMimitchi, "shock", "/Sprites/Mimitchi/shock.png");
-        addSpriteState(spriteMimitchi, "sleep", "/Sprites/Mimitchi/sleep.png");
+        Sprite spriteMimitchi = SpriteAtlas.createPetSprite("Mimitchi");
 
         return  spriteMimitchi;
     }
@@ -235,17 +266,7 @@ public class LoadGameButtons {
      * @return the {@link Sprite} object representing Orenetchi.
      */
     private Sprite initializeOrenetchi() {
-        Sprite spriteOrenetchi = new Sprite();
-
-        addSpriteState(spriteOrenetchi, "angry", "/Sprites/Orenetchi/angry.png");
-        addSpriteState(spriteOrenetchi, "default", "/Sprites/Orenetchi/default.png");
-        addSpriteState(spriteOrenetchi, "disappointed", "/Sprites/Orenetchi/disappointed.png");
-        addSpriteState(spriteOrenetchi, "dead", "/Sprites/Orenetchi/dead.png");
-        addSpriteState(spriteOrenetchi, "happy", "/Sprites/Orenetchi/happy.png");
-        addSpriteState(spriteOrenetchi, "play", "/Sprites/Orenetchi/play.png");
-        addSpriteState(spriteOrenetchi, "sad", "/Sprites/Orenetchi/sad.png");
-        addSpriteState(spriteOrenetchi, "shock", "/Sprites/Orenetchi/shock.png");
-        addSpriteState(spriteOrenetchi, "shock", "/Sprites/Orenetchi/sleep.png");
+        Sprite spriteOrenetchi = SpriteAtlas.createPetSprite("Orenetchi");
 
         return spriteOrenetchi;
     }
@@ -256,41 +277,11 @@ public class LoadGameButtons {
      * @return the {@link Sprite} object representing Violetchi.
      */
     private Sprite initializeVioletchi() {
-        Sprite spriteVioletchi = new Sprite();
-
-        addSpriteState(spriteVioletchi, "angry", "/Sprites/Violetchi/angry.png");
-        addSpriteState(spriteVioletchi, "default", "/Sprites/Violetchi/default.png");
-        addSpriteState(spriteVioletchi, "disappointed", "/Sprites/Violetchi/disappointed.png");
-        addSpriteState(spriteVioletchi, "dead", "/Sprites/Violetchi/dead.png");
-        addSpriteState(spriteVioletchi, "happy", "/Sprites/Violetchi/happy.png");
-        addSpriteState(spriteVioletchi, "play", "/Sprites/Violetchi/play.png");
-        addSpriteState(spriteVioletchi, "sad", "/Sprites/Violetchi/sad.png");
-        addSpriteState(spriteVioletchi, "shock", "/Sprites/Violetchi/shock.png");
-        addSpriteState(spriteVioletchi, "shock", "/Sprites/Violetchi/sleep.png");
+        Sprite spriteVioletchi = SpriteAtlas.createPetSprite("Violetchi");
 
         return  spriteVioletchi;
     }
 
-    /**
-     * Adds a visual state to a {@link Sprite} for a specific pet.
-     *
-     * @param sprite the {@link Sprite} object to add the state to.
-     * @param state the name of the state (e.g., "angry", "happy").
-     * @param resourcePath the resource path to the image representing the state.
-     */
-    private void addSpriteState(Sprite sprite, String state, String resourcePath) {
-        URL imageUrl = getClass().getResource(resourcePath);
-        if (imageUrl == null) {
-            System.err.println("Image not found: " + resourcePath);
-        } else {
-            ImageView imageView = new ImageView(imageUrl.toExternalForm());
-            imageView.setFitWidth(150); // Set width to 150
-            imageView.setFitHeight(150); // Set height to 150
-            imageView.setPreserveRatio(true); // Preserve the aspect ratio
-            sprite.addState(state, imageView);
-        }
-    }
-
 
 
 
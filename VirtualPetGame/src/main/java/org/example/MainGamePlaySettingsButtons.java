@@ -106,7 +106,7 @@ public class MainGamePlaySettingsButtons {
         settings.setOnAction(e -> {
             // Play the sound effect
             Music.getInstance().playSoundEffect();
-            navigationHandler.navigate("Settings1"); // Navigate to settings screen
+            navigationHandler.navigate("Settings", "GamePlay"); // Navigate to settings screen
             popupStage.close();
         });
 
@@ -84,7 +84,7 @@ public class MainMenuButtons {
         settingsButton.getStyleClass().add("mainMenuButton");
         settingsButton.setOnAction(e -> {
             Music.getInstance().playSoundEffect();
-            navigationHandler.navigate("Settings");
+            navigationHandler.navigate("Settings", "MainMenu");
         });
 
         Button exitButton = new Button("Exit");
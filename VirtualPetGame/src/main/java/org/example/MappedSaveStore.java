@@ -0,0 +1,560 @@
+package org.example;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code MappedSaveStore} class keeps many saved games in a single memory-mapped file, so a large save
+ * library is opened once instead of one file per save.
+ *
+ * <p>The file starts with a header, followed by a directory of fixed-size slots, one per save. A slot holds
+ * the save's name, the pet's name and type, where its record lives in the file, and a fixed-size block with the
+ * score, the pet's stats and the save time. The record is the save in the {@link SavedGameCodec} format, after
+ * its length, its CRC-32 and its save time. Saves are looked up by name through an in-memory index built from
+ * the directory when the store is opened, and {@link #describe(String, String)} lists a save from its slot
+ * alone, without reading its record.</p>
+ *
+ * <p>A save is never overwritten in place. {@link #write(String, SavedGame)} puts the new record in the first
+ * free space large enough and forces it to disk, then points the slot at it with a single 8-byte write and
+ * forces the slot, and only then gives the old space back for reuse. A crash therefore leaves the slot pointing
+ * at either the old or the new record, both intact. The space of deleted saves is reused the same way. Free
+ * space is not stored; it is found again from the gaps between records on opening. The directory itself is a
+ * record too, and moves to a larger space when it fills up.</p>
+ *
+ * <p>Stat changes are written in place into a save's slot with {@link #updateStats(String, SavedGame)}. The
+ * stat block has a CRC-32 of its own, and takes precedence over the stats in the record when it is intact and
+ * not older than the record. Stat changes reach the file through the operating system's page cache; call
+ * {@link #force()} or {@link #close()} to write them to disk.</p>
+ */
+public class MappedSaveStore implements AutoCloseable {
+    public static final int VERSION = 3;
+    public static final int MAX_NAME_BYTES = 64;
+    public static final int MAX_PET_NAME_BYTES = 64;
+    public static final int MAX_PET_TYPE_BYTES = 32;
+    private static final int MAGIC = 0x5650474D; // "VPGM"
+    private static final int INITIAL_SLOTS = 256;
+    private static final int INITIAL_SIZE = 1 << 16;
+
+    // Header layout
+    private static final int HEADER_SIZE = 64;
+    private static final int H_MAGIC = 0;
+    private static final int H_VERSION = 4;
+    private static final int H_DIRECTORY = 8; // long: offset of the slot directory
+    private static final int H_SLOTS = 16; // int: number of slots in the directory
+    private static final int H_DATA_END = 24; // long: end of the space used so far
+
+    // Slot layout
+    static final int SLOT_SIZE = 240;
+    private static final int S_USED = 0; // byte: 1 if the slot holds a save
+    private static final int S_NAME_LENGTH = 1; // byte
+    private static final int S_NAME = 2; // MAX_NAME_BYTES bytes of UTF-8
+    private static final int S_RECORD_OFFSET = 72; // long: 8-byte aligned, so it is written in one piece
+    private static final int S_STATS_CRC = 80; // int: CRC-32 of the stat block and pet fields, from S_FLAGS to PET_END
+    private static final int S_FLAGS = 84; // byte: which parts of the stat block are set
+    private static final int S_LAST_SAVED = 88; // long
+    private static final int S_FULLNESS_RATE = 96; // double
+    private static final int S_HAPPINESS_RATE = 104; // double
+    private static final int S_SLEEP_RATE = 112; // double
+    private static final int S_SCORE = 120; // int
+    private static final int S_HEALTH = 124; // int
+    private static final int S_SLEEP = 128; // int
+    private static final int S_FULLNESS = 132; // int
+    private static final int S_HAPPINESS = 136; // int
+    private static final int S_PET_NAME_LENGTH = 140; // byte, or NOT_HELD
+    private static final int S_PET_TYPE_LENGTH = 141; // byte, or NOT_HELD
+    private static final int S_PET_NAME = 142; // MAX_PET_NAME_BYTES bytes of UTF-8
+    private static final int S_PET_TYPE = 206; // MAX_PET_TYPE_BYTES bytes of UTF-8
+    private static final int PET_END = 238;
+    private static final int HAS_SCORE = 1;
+    private static final int HAS_STATS = 2;
+    private static final byte NOT_HELD = -1; // The pet's name or type is missing or too long for the slot
+
+    // Record layout; records start on 8-byte boundaries
+    private static final int R_LENGTH = 0; // int: length of the encoded save
+    private static final int R_CRC = 4; // int: CRC-32 of the encoded save
+    private static final int R_LAST_SAVED = 8; // long: save time of the encoded save
+    private static final int RECORD_HEADER = 16;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private final Map<String, Integer> index = new HashMap<>(); // Save name to slot number
+    private final TreeMap<Long, Long> free = new TreeMap<>(); // Free space: offset to length, below the data end
+    private long directory;
+    private int slots;
+    private long dataEnd;
+
+    /**
+     * Opens a store, creating an empty one if the file does not exist.
+     *
+     * @param file the store file.
+     * @throws IOException if the file cannot be opened or is not a save store.
+     */
+    public MappedSaveStore(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (channel.size() == 0) {
+                create();
+            } else {
+                open();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void create() throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, INITIAL_SIZE);
+        directory = HEADER_SIZE;
+        slots = INITIAL_SLOTS;
+        dataEnd = directory + (long) slots * SLOT_SIZE;
+        map.putInt(H_MAGIC, MAGIC);
+        map.putInt(H_VERSION, VERSION);
+        writeHeader();
+    }
+
+    private void open() throws IOException {
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (map.capacity() < HEADER_SIZE || map.getInt(H_MAGIC) != MAGIC) {
+            throw new IOException("Not a save store.");
+        }
+        if (map.getInt(H_VERSION) != VERSION) {
+            throw new IOException("Unsupported save store version: " + map.getInt(H_VERSION));
+        }
+        directory = map.getLong(H_DIRECTORY);
+        slots = map.getInt(H_SLOTS);
+        dataEnd = map.getLong(H_DATA_END);
+        if (directory < HEADER_SIZE || slots <= 0 || dataEnd > map.capacity()
+                || directory + (long) slots * SLOT_SIZE > dataEnd) {
+            throw new IOException("Save store header is damaged.");
+        }
+
+        // Index the saves and find the gaps between the spaces in use
+        TreeMap<Long, Long> used = new TreeMap<>();
+        used.put(0L, (long) HEADER_SIZE);
+        used.put(directory, (long) slots * SLOT_SIZE);
+        for (int slot = 0; slot < slots; slot++) {
+            int at = slotAt(slot);
+            if (map.get(at + S_USED) == 1) {
+                long offset = map.getLong(at + S_RECORD_OFFSET);
+                if (offset < HEADER_SIZE || offset % 8 != 0 || offset + RECORD_HEADER > map.capacity()) {
+                    throw new IOException("Save store slot " + slot + " is damaged.");
+                }
+                int length = map.getInt(Math.toIntExact(offset) + R_LENGTH);
+                if (length < 0 || offset + spaceFor(length) > map.capacity()) {
+                    throw new IOException("Save store slot " + slot + " is damaged.");
+                }
+                index.put(readName(at), slot);
+                used.put(offset, spaceFor(length));
+            }
+        }
+        long position = 0;
+        for (Map.Entry<Long, Long> space : used.entrySet()) {
+            if (space.getKey() > position) {
+                free.put(position, space.getKey() - position);
+            }
+            position = Math.max(position, space.getKey() + space.getValue());
+        }
+        if (dataEnd > position) {
+            free.put(position, dataEnd - position);
+        }
+        dataEnd = Math.max(dataEnd, position); // The header may not have reached the disk before a crash
+    }
+
+    /**
+     * Checks if the store holds a save.
+     *
+     * @param saveName the name of the save.
+     * @return {@code true} if the save exists, otherwise {@code false}.
+     */
+    public synchronized boolean contains(String saveName) {
+        return index.containsKey(saveName);
+    }
+
+    /**
+     * Gets the number of saves in the store.
+     *
+     * @return the number of saves.
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    /**
+     * Gets the names of the saves in the store.
+     *
+     * @return a new list of the save names.
+     */
+    public synchronized List<String> getSaveNames() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * Gets where a save's record lives in the store file.
+     *
+     * @param saveName the name of the save.
+     * @return the byte offset of the record and the length of the encoded save in it, or {@code null} if there
+     *         is no such save.
+     */
+    public synchronized long[] getRecordLocation(String saveName) {
+        Integer slot = index.get(saveName);
+        if (slot == null) return null;
+        long offset = map.getLong(slotAt(slot) + S_RECORD_OFFSET);
+        return new long[]{offset, map.getInt(Math.toIntExact(offset) + R_LENGTH)};
+    }
+
+    /**
+     * Describes a save for the save catalog from its slot alone, without reading or decoding its record.
+     *
+     * @param saveName the name of the save.
+     * @param fileName the name of the store file, for the entry.
+     * @return the entry, or {@code null} if there is no such save or its slot cannot describe it: its stat block
+     *         is torn or older than its record, or the pet's name or type did not fit. Read the save then.
+     */
+    public synchronized SaveCatalog.Entry describe(String saveName, String fileName) {
+        Integer slot = index.get(saveName);
+        if (slot == null) return null;
+        int at = slotAt(slot);
+        int offset = Math.toIntExact(map.getLong(at + S_RECORD_OFFSET));
+        if (statsCrc(at) != map.getInt(at + S_STATS_CRC) || map.getLong(at + S_LAST_SAVED) < map.getLong(offset + R_LAST_SAVED)
+                || map.get(at + S_PET_NAME_LENGTH) == NOT_HELD || map.get(at + S_PET_TYPE_LENGTH) == NOT_HELD) {
+            return null;
+        }
+        SaveCatalog.Entry entry = new SaveCatalog.Entry();
+        entry.fileName = fileName;
+        entry.saveName = saveName;
+        entry.petName = readString(at + S_PET_NAME_LENGTH, at + S_PET_NAME);
+        entry.petType = readString(at + S_PET_TYPE_LENGTH, at + S_PET_TYPE);
+        if ((map.get(at + S_FLAGS) & HAS_SCORE) != 0) {
+            entry.score = map.getInt(at + S_SCORE);
+        }
+        entry.lastModified = map.getLong(at + S_LAST_SAVED);
+        entry.offset = offset;
+        entry.length = map.getInt(offset + R_LENGTH);
+        return entry;
+    }
+
+    /**
+     * Reads a save.
+     *
+     * @param saveName the name of the save.
+     * @return the saved game, or {@code null} if there is no such save.
+     * @throws IOException if the save's record is damaged.
+     */
+    public synchronized SavedGame read(String saveName) throws IOException {
+        Integer slot = index.get(saveName);
+        if (slot == null) return null;
+        int at = slotAt(slot);
+        int offset = Math.toIntExact(map.getLong(at + S_RECORD_OFFSET));
+        byte[] record = new byte[map.getInt(offset + R_LENGTH)];
+        map.get(offset + RECORD_HEADER, record);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        if ((int) crc.getValue() != map.getInt(offset + R_CRC)) {
+            throw new IOException("Corrupt save record: " + saveName);
+        }
+        SavedGame savedGame = SavedGameCodec.decode(record);
+
+        // The stat block may be newer than the record; a torn or older one is ignored
+        if (statsCrc(at) != map.getInt(at + S_STATS_CRC) || map.getLong(at + S_LAST_SAVED) < savedGame.lastSaved) {
+            return savedGame;
+        }
+        savedGame.lastSaved = map.getLong(at + S_LAST_SAVED);
+        int flags = map.get(at + S_FLAGS);
+        if ((flags & HAS_SCORE) != 0 && savedGame.playerInfo != null) {
+            savedGame.playerInfo.score = map.getInt(at + S_SCORE);
+        }
+        if ((flags & HAS_STATS) != 0 && savedGame.petInfo != null && savedGame.petInfo.stats != null) {
+            SavedGame.PetInfo.Stats stats = savedGame.petInfo.stats;
+            stats.health = map.getInt(at + S_HEALTH);
+            stats.sleep = map.getInt(at + S_SLEEP);
+            stats.fullness = map.getInt(at + S_FULLNESS);
+            stats.happiness = map.getInt(at + S_HAPPINESS);
+            stats.fullnessDepletionRate = map.getDouble(at + S_FULLNESS_RATE);
+            stats.happinessDepletionRate = map.getDouble(at + S_HAPPINESS_RATE);
+            stats.sleepDepletionRate = map.getDouble(at + S_SLEEP_RATE);
+        }
+        return savedGame;
+    }
+
+    /**
+     * Writes a save in full, adding it if it is new. The save is on disk when this returns.
+     *
+     * @param saveName the name of the save, at most {@value #MAX_NAME_BYTES} bytes of UTF-8.
+     * @param savedGame the saved game to write.
+     * @throws IOException if the store file cannot grow.
+     */
+    public synchronized void write(String saveName, SavedGame savedGame) throws IOException {
+        byte[] name = saveName.getBytes(StandardCharsets.UTF_8);
+        if (name.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Save name is longer than " + MAX_NAME_BYTES + " bytes: " + saveName);
+        }
+        byte[] record = SavedGameCodec.encode(savedGame);
+
+        Integer slot = index.get(saveName);
+        boolean used = slot != null;
+        if (!used) {
+            slot = freeSlot();
+        }
+
+        // Write the new record into free space, so the old one stays intact until the slot moves off it
+        long length = spaceFor(record.length);
+        long offset = allocate(length);
+        int start = Math.toIntExact(offset);
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        map.putInt(start + R_LENGTH, record.length);
+        map.putInt(start + R_CRC, (int) crc.getValue());
+        map.putLong(start + R_LAST_SAVED, savedGame.lastSaved);
+        map.put(start + RECORD_HEADER, record);
+        map.force(start, RECORD_HEADER + record.length);
+
+        int at = slotAt(slot); // The map may have been replaced while growing
+        long oldOffset = map.getLong(at + S_RECORD_OFFSET);
+        map.putLong(at + S_RECORD_OFFSET, offset); // The switch to the new record
+        if (!used) {
+            map.put(at + S_NAME_LENGTH, (byte) name.length);
+            map.put(at + S_NAME, name);
+        }
+        SavedGame.PetInfo pet = savedGame.petInfo;
+        writeString(at + S_PET_NAME_LENGTH, at + S_PET_NAME, pet == null ? null : pet.name, MAX_PET_NAME_BYTES);
+        writeString(at + S_PET_TYPE_LENGTH, at + S_PET_TYPE, pet == null ? null : pet.petType, MAX_PET_TYPE_BYTES);
+        writeStats(at, savedGame);
+        map.put(at + S_USED, (byte) 1);
+        map.force(at, SLOT_SIZE);
+
+        if (used) {
+            // Only reusable now that no slot on disk points at it
+            release(oldOffset, spaceFor(map.getInt(Math.toIntExact(oldOffset) + R_LENGTH)));
+        }
+        index.put(saveName, slot);
+    }
+
+    /**
+     * Writes a save's score, stats and save time in place, leaving the rest of the save as it is.
+     *
+     * @param saveName the name of the save.
+     * @param savedGame the saved game to take the values from.
+     * @return {@code true} if the save was updated, {@code false} if there is no such save.
+     */
+    public synchronized boolean updateStats(String saveName, SavedGame savedGame) {
+        Integer slot = index.get(saveName);
+        if (slot == null) return false;
+        writeStats(slotAt(slot), savedGame);
+        return true;
+    }
+
+    /**
+     * Removes a save, freeing its slot and space for reuse.
+     *
+     * @param saveName the name of the save.
+     * @return {@code true} if the save was removed, {@code false} if there is no such save.
+     */
+    public synchronized boolean delete(String saveName) {
+        Integer slot = index.remove(saveName);
+        if (slot == null) return false;
+        int at = slotAt(slot);
+        map.put(at + S_USED, (byte) 0);
+        map.force(at, SLOT_SIZE); // Before the space can be reused by another save
+        long offset = map.getLong(at + S_RECORD_OFFSET);
+        release(offset, spaceFor(map.getInt(Math.toIntExact(offset) + R_LENGTH)));
+        return true;
+    }
+
+    /**
+     * Writes every change made so far to disk.
+     */
+    public synchronized void force() {
+        map.force();
+    }
+
+    /**
+     * Writes every change to disk and closes the store.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+
+    private void writeStats(int at, SavedGame savedGame) {
+        int flags = 0;
+        map.putLong(at + S_LAST_SAVED, savedGame.lastSaved);
+        if (savedGame.playerInfo != null) {
+            map.putInt(at + S_SCORE, savedGame.playerInfo.score);
+            flags |= HAS_SCORE;
+        }
+        if (savedGame.petInfo != null && savedGame.petInfo.stats != null) {
+            SavedGame.PetInfo.Stats stats = savedGame.petInfo.stats;
+            map.putInt(at + S_HEALTH, stats.health);
+            map.putInt(at + S_SLEEP, stats.sleep);
+            map.putInt(at + S_FULLNESS, stats.fullness);
+            map.putInt(at + S_HAPPINESS, stats.happiness);
+            map.putDouble(at + S_FULLNESS_RATE, stats.fullnessDepletionRate);
+            map.putDouble(at + S_HAPPINESS_RATE, stats.happinessDepletionRate);
+            map.putDouble(at + S_SLEEP_RATE, stats.sleepDepletionRate);
+            flags |= HAS_STATS;
+        }
+        map.put(at + S_FLAGS, (byte) flags);
+        map.putInt(at + S_STATS_CRC, statsCrc(at));
+    }
+
+    private int statsCrc(int at) {
+        CRC32 crc = new CRC32();
+        crc.update(map.slice(at + S_FLAGS, PET_END - S_FLAGS));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Gets the space a record of the given length takes, with its header, rounded up to 8 bytes.
+     */
+    private static long spaceFor(int recordLength) {
+        return (RECORD_HEADER + (long) recordLength + 7) & ~7L;
+    }
+
+    /**
+     * Finds an unused slot, moving the directory to a space twice its size if every slot is taken.
+     */
+    private int freeSlot() throws IOException {
+        if (index.size() < slots) {
+            for (int slot = 0; slot < slots; slot++) {
+                if (map.get(slotAt(slot) + S_USED) == 0) {
+                    return slot;
+                }
+            }
+        }
+
+        int oldSlots = slots;
+        long oldDirectory = directory;
+        long length = (long) oldSlots * SLOT_SIZE;
+        long newDirectory = allocate(length * 2);
+        byte[] copy = new byte[Math.toIntExact(length)];
+        map.get(Math.toIntExact(oldDirectory), copy);
+        map.put(Math.toIntExact(newDirectory), copy);
+        map.put(Math.toIntExact(newDirectory + length), new byte[Math.toIntExact(length)]); // Clear the new slots
+        map.force(Math.toIntExact(newDirectory), Math.toIntExact(length * 2));
+        directory = newDirectory;
+        slots = oldSlots * 2;
+        writeHeader();
+        map.force(0, HEADER_SIZE); // Before the old directory can be reused
+        release(oldDirectory, length);
+        return oldSlots;
+    }
+
+    /**
+     * Takes the first free space of the given length, or space at the end of the file, growing it if needed.
+     */
+    private long allocate(long length) throws IOException {
+        for (Map.Entry<Long, Long> space : free.entrySet()) {
+            if (space.getValue() >= length) {
+                long offset = space.getKey();
+                free.remove(offset);
+                if (space.getValue() > length) {
+                    free.put(offset + length, space.getValue() - length);
+                }
+                return offset;
+            }
+        }
+
+        long offset = dataEnd;
+        dataEnd += length;
+        if (dataEnd > map.capacity()) {
+            long size = map.capacity();
+            while (size < dataEnd) {
+                size *= 2;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Save store is full.");
+            }
+            map.force();
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            channel.force(false); // Make the new file size durable along with what is written past the old end
+        }
+        writeHeader();
+        return offset;
+    }
+
+    /**
+     * Returns space to the free list, joining it with free neighbours.
+     */
+    private void release(long offset, long length) {
+        Map.Entry<Long, Long> before = free.floorEntry(offset);
+        if (before != null && before.getKey() + before.getValue() == offset) {
+            offset = before.getKey();
+            length += before.getValue();
+            free.remove(offset);
+        }
+        Long after = free.containsKey(offset + length) ? free.remove(offset + length) : null;
+        if (after != null) {
+            length += after;
+        }
+        free.put(offset, length);
+    }
+
+    private void writeHeader() {
+        map.putLong(H_DIRECTORY, directory);
+        map.putInt(H_SLOTS, slots);
+        map.putLong(H_DATA_END, dataEnd);
+    }
+
+    private int slotAt(int slot) {
+        return Math.toIntExact(directory + (long) slot * SLOT_SIZE);
+    }
+
+    private String readName(int at) {
+        return readString(at + S_NAME_LENGTH, at + S_NAME);
+    }
+
+    private String readString(int lengthAt, int at) {
+        byte[] bytes = new byte[map.get(lengthAt) & 0xFF];
+        map.get(at, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a string into a fixed-size field of a slot, or marks it {@link #NOT_HELD} if it is missing or too long.
+     */
+    private void writeString(int lengthAt, int at, String value, int maxBytes) {
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        if (bytes == null || bytes.length > maxBytes) {
+            map.put(lengthAt, NOT_HELD);
+            return;
+        }
+        map.put(lengthAt, (byte) bytes.length);
+        map.put(at, bytes);
+    }
+
+    /**
+     * Gets the free space below the end of the data, for tests.
+     *
+     * @return the total number of free bytes.
+     */
+    synchronized long getFreeBytes() {
+        long total = 0;
+        for (long length : free.values()) {
+            total += length;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the size of the space used so far, for tests.
+     *
+     * @return the end of the data in bytes.
+     */
+    synchronized long getDataEnd() {
+        return dataEnd;
+    }
+}
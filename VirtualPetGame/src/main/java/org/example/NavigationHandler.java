@@ -6,6 +6,10 @@
  * between scenes in an application. This interface is designed to be used
  * with lambda expressions or method references for flexibility and simplicity.</p>
  *
+ * <p>A screen that can be reached from several places, such as Settings, is one
+ * scene; the screen its Return button leads back to is passed along when
+ * navigating to it.</p>
+ *
  * @author JaeHoon Jung
  */
 package org.example;
@@ -17,6 +21,16 @@ public interface NavigationHandler {
      * Handles navigation to a specified scene.
      *
      * @param sceneName the name of the scene to navigate to
+     * @param returnTo  the name of the scene to return to from it, or {@code null} to keep the one it had
+     */
+    void navigate(String sceneName, String returnTo);
+
+    /**
+     * Handles navigation to a specified scene, keeping the scene it returns to.
+     *
+     * @param sceneName the name of the scene to navigate to
      */
-    void navigate(String sceneName);
+    default void navigate(String sceneName) {
+        navigate(sceneName, null);
+    }
 }
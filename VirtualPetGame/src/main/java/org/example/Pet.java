@@ -10,6 +10,14 @@ package org.example;
  *
  */
 public class Pet {
+    /** Number of seconds between two calls to {@link #updateStats()} during gameplay. */
+    public static final long TICK_SECONDS = SimulationEngine.UPDATE_INTERVAL / 1_000_000_000L;
+
+    /** Dirty flag for health, fullness, happiness and sleep. See {@link #takeDirtyFields()}. */
+    public static final int DIRTY_STATS = 1;
+    /** Dirty flag for the depletion rates. See {@link #takeDirtyFields()}. */
+    public static final int DIRTY_RATES = 2;
+
     public String petType;
     private String name;
     private Sprite sprite;
@@ -32,6 +40,9 @@ public class Pet {
     private boolean sleepPenaltyApplied;
     private boolean hungerPenaltyApplied;
 
+    private boolean catchingUp; // True while advance() fast-forwards the pet
+    private int dirtyFields; // Saved fields changed since the last takeDirtyFields()
+
     /**
      * Constructs a new Pet instance with specified attributes.
      *
@@ -68,7 +79,25 @@ public class Pet {
         this.sleepPenaltyApplied = false;
         this.hungerPenaltyApplied = false;
 
-        this.sprite.setState("default");
+        setSpriteState("default");
+    }
+
+    /**
+     * Constructs a new Pet without a sprite, for simulations that run without a display.
+     * Sprite changes and sound effects are skipped for headless pets.
+     *
+     * @param petType the type of the pet (e.g., species or category).
+     * @param name the name of the pet.
+     * @param health the initial health level of the pet.
+     * @param fullness the initial fullness level of the pet.
+     * @param happiness the initial happiness level of the pet.
+     * @param sleep the initial sleep level of the pet.
+     * @param fullnessDepletionRate the rate at which fullness decreases over time.
+     * @param happinessDepletionRate the rate at which happiness decreases over time.
+     * @param sleepDepletionRate the rate at which sleep decreases over time.
+     */
+    public Pet(String petType, String name, double health, double fullness, double happiness, double sleep, double fullnessDepletionRate, double happinessDepletionRate, double sleepDepletionRate) {
+        this(petType, name, null, health, fullness, happiness, sleep, fullnessDepletionRate, happinessDepletionRate, sleepDepletionRate);
     }
 
     /**
@@ -78,6 +107,7 @@ public class Pet {
     public void updateStats() {
         if (isDead) return;
 
+        dirtyFields |= DIRTY_STATS;
         if (!isSleeping) {
             depleteStats();
         } else {
@@ -87,6 +117,106 @@ public class Pet {
         updateState();
     }
 
+    /**
+     * Advances the pet by the given amount of elapsed time, as if {@link #updateStats()} had been called
+     * once every {@link #TICK_SECONDS} seconds. Used to catch a loaded pet up with the time it spent offline.
+     *
+     * @param seconds the elapsed time in seconds; any remainder shorter than one tick is ignored.
+     */
+    public void advance(long seconds) {
+        advanceTicks(seconds / TICK_SECONDS);
+    }
+
+    /**
+     * Advances the pet by the given number of stat updates. Runs of updates in which only the stats
+     * change are computed in closed form; only updates that change the pet's state (falling asleep,
+     * waking up, getting hungry or angry, dying) are run one at a time, so the cost grows with the
+     * number of state transitions rather than with the elapsed time. No sounds are played.
+     *
+     * <p>A closed-form run subtracts {@code ticks * rate} once instead of {@code rate} many times, so with rates
+     * that are not exact in binary (such as 0.3) the stats can differ from step-by-step updates in the last
+     * bits; offline catch-up is exact only up to that rounding.</p>
+     *
+     * @param ticks the number of stat updates to apply.
+     */
+    public void advanceTicks(long ticks) {
+        catchingUp = true;
+        try {
+            while (ticks > 0 && !isDead) {
+                // A regular update settles the state flags and handles any transition that is due
+                updateStats();
+                ticks--;
+
+                long quiet = Math.min(ticks, quietTicks());
+                if (quiet > 0) {
+                    skipQuietTicks(quiet);
+                    ticks -= quiet;
+                }
+            }
+        } finally {
+            catchingUp = false;
+        }
+    }
+
+    /**
+     * Counts the upcoming updates that would change nothing but the stats themselves.
+     * Must only be called right after {@link #updateStats()}, when the state flags are settled.
+     *
+     * @return the number of updates that can be skipped in closed form.
+     */
+    private long quietTicks() {
+        if (isDead || health <= 0) return 0; // The next update kills the pet
+
+        if (isSleeping) {
+            // Every update that starts below full sleep only adds 5 sleep
+            long ticks = sleep < 100 ? (long) Math.ceil((100 - sleep) / 5.0) : 0;
+            while (ticks > 0 && sleep + (ticks - 1) * 5.0 >= 100) ticks--;
+            while (sleep + ticks * 5.0 < 100) ticks++;
+            return ticks;
+        }
+
+        if (sleep <= 0) return 0; // Exercise emptied sleep; the next update applies the penalty
+        long quiet = Long.MAX_VALUE;
+        quiet = Math.min(quiet, ticksUntilEmpty(sleep, sleepDepletionRate) - 1);
+        quiet = Math.min(quiet, ticksUntilEmpty(fullness, fullnessDepletionRate) - 1);
+        quiet = Math.min(quiet, ticksUntilEmpty(happiness, happinessDepletionRate) - 1);
+        return quiet;
+    }
+
+    /**
+     * Finds the first update at which a positive stat reaches zero.
+     *
+     * @param value the current value of the stat.
+     * @param rate the amount the stat loses per update.
+     * @return the number of updates until the stat is empty, or {@code Long.MAX_VALUE} if it never empties
+     *         or is already empty.
+     */
+    private static long ticksUntilEmpty(double value, double rate) {
+        if (value <= 0 || rate <= 0) return Long.MAX_VALUE;
+        double estimate = Math.ceil(value / rate);
+        if (estimate >= Long.MAX_VALUE) return Long.MAX_VALUE;
+        long ticks = Math.max(1, (long) estimate);
+        while (ticks > 1 && value - (ticks - 1) * rate <= 0) ticks--;
+        while (value - ticks * rate > 0) ticks++;
+        return ticks;
+    }
+
+    /**
+     * Applies the given number of quiet updates in one step.
+     *
+     * @param ticks the number of updates to skip, as returned by {@link #quietTicks()}.
+     */
+    private void skipQuietTicks(long ticks) {
+        dirtyFields |= DIRTY_STATS;
+        if (isSleeping) {
+            sleep += ticks * 5.0;
+        } else {
+            fullness = Math.max(0, fullness - ticks * fullnessDepletionRate);
+            happiness = Math.max(0, happiness - ticks * happinessDepletionRate);
+            sleep = Math.max(0, sleep - ticks * sleepDepletionRate);
+        }
+    }
+
     /**
      * Depletes the pet's stats such as fullness, happiness, and sleep based on their respective rates.
      */
@@ -103,10 +233,10 @@ public class Pet {
     private void regenerateSleep() {
         if (sleep < 100) {
             sleep += 5.0; // Adjust regeneration speed as needed
-            Music.getInstance().playSleepSound();
+            if (!isHeadless() && !catchingUp) Music.getInstance().playSleepSound();
         } else {
             isSleeping = false;
-            sprite.setState("default");
+            setSpriteState("default");
         }
     }
 
@@ -123,7 +253,7 @@ public class Pet {
         if (sleep <= 0 && !sleepPenaltyApplied) {
             health = Math.max(0, health - 20.0);
             isSleeping = true;
-            sprite.setState("sleep");
+            setSpriteState("sleep");
             sleepPenaltyApplied = true;
         } else if (sleep > 0) {
             sleepPenaltyApplied = false;
@@ -131,9 +261,10 @@ public class Pet {
 
         if (fullness <= 0 && !hungerPenaltyApplied) {
             happinessDepletionRate += 0.5;
+            dirtyFields |= DIRTY_RATES;
             health = Math.max(0, health - 5.0);
             isHungry = true;
-            sprite.setState("sad");
+            setSpriteState("sad");
             hungerPenaltyApplied = true;
         } else if (fullness > 0) {
             isHungry = false;
@@ -142,13 +273,13 @@ public class Pet {
 
         if (happiness <= 0) {
             isAngry = true;
-            sprite.setState("angry");
+            setSpriteState("angry");
         } else {
             isAngry = false;
         }
 
         if (!isSleeping && !isHungry && !isAngry && health > 0) {
-            sprite.setState("default");
+            setSpriteState("default");
         }
     }
 
@@ -157,7 +288,18 @@ public class Pet {
      */
     private void die() {
         isDead = true;
-        sprite.setState("dead");
+        setSpriteState("dead");
+    }
+
+    /**
+     * Switches the sprite to the given state, if the pet has a sprite.
+     *
+     * @param stateName the name of the sprite state to show.
+     */
+    private void setSpriteState(String stateName) {
+        if (sprite != null) {
+            sprite.setState(stateName);
+        }
     }
 
     /**
@@ -166,7 +308,7 @@ public class Pet {
     public void goToSleep() {
         if (isSleeping || isDead || isAngry) return;
         isSleeping = true;
-        sprite.setState("sleep");
+        setSpriteState("sleep");
     }
 
     /**
@@ -181,8 +323,9 @@ public class Pet {
 
         fullness = Math.min(100.0, fullness + food.getFullness());
         happinessDepletionRate = Math.max(0, happinessDepletionRate - 0.5);
+        dirtyFields |= DIRTY_STATS | DIRTY_RATES;
         isHungry = false;
-        Music.getInstance().playFoodSound(food.getName());
+        if (!isHeadless()) Music.getInstance().playFoodSound(food.getName());
 
     }
 
@@ -198,7 +341,8 @@ public class Pet {
 
         happiness = Math.min(100.0, happiness + gift.getValue());
         isAngry = happiness < 50;
-        Music.getInstance().playGiftSound(gift.getName());
+        dirtyFields |= DIRTY_STATS;
+        if (!isHeadless()) Music.getInstance().playGiftSound(gift.getName());
     }
 
     /**
@@ -209,7 +353,8 @@ public class Pet {
             return;
         }
         happiness = Math.min(100.0, happiness + 20.0);
-        Music.getInstance().playPlaySound();
+        dirtyFields |= DIRTY_STATS;
+        if (!isHeadless()) Music.getInstance().playPlaySound();
     }
 
     /**
@@ -223,7 +368,8 @@ public class Pet {
         health = Math.min(100.0, health + 15.0);
         fullness = Math.max(0, fullness - 10.0);
         sleep = Math.max(0, sleep - 15.0);
-        Music.getInstance().playGymSound();
+        dirtyFields |= DIRTY_STATS;
+        if (!isHeadless()) Music.getInstance().playGymSound();
 
     }
 
@@ -283,6 +429,12 @@ public class Pet {
      * @return the sprite object representing the pet.
      */
     public Sprite getSprite() { return sprite; }
+    /**
+     * Checks if the pet runs without a sprite or sound, e.g. inside a {@link SimulationEngine}.
+     *
+     * @return {@code true} if the pet has no sprite, otherwise {@code false}.
+     */
+    public boolean isHeadless() { return sprite == null; }
     /**
      * Gets the name of the pet.
      *
@@ -323,6 +475,18 @@ public class Pet {
      */
     public void setHealth(double health) {
         this.health = Math.max(0, Math.min(100, health)); // Clamp between 0 and 100
+        dirtyFields |= DIRTY_STATS;
         updateState();
     }
+
+    /**
+     * Gets the saved fields that changed since the last call, and clears them.
+     *
+     * @return a combination of {@link #DIRTY_STATS} and {@link #DIRTY_RATES}, or 0 if nothing changed.
+     */
+    public int takeDirtyFields() {
+        int fields = dirtyFields;
+        dirtyFields = 0;
+        return fields;
+    }
 }
\ No newline at end of file
@@ -7,7 +7,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Tooltip;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.AnchorPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -15,8 +14,6 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 
-import java.net.URL;
-
 /**
  * The PetSelectionButtons class handles the creation and functionality of buttons
  * for selecting a pet in the virtual pet game. It also manages the process of naming
@@ -261,19 +258,9 @@ public class PetSelectionButtons {
      * @param selectedPet the type of the pet.
      */
     private void initializeKuromametchi(String name, String selectedPet) {
-        Sprite spriteKuromametchi = new Sprite();
-
-        addSpriteState(spriteKuromametchi, "angry", "/Sprites/Kuromametchi/angry.png");
-        addSpriteState(spriteKuromametchi, "default", "/Sprites/Kuromametchi/default.png");
-        addSpriteState(spriteKuromametchi, "disappointed", "/Sprites/Kuromametchi/disappointed.png");
-        addSpriteState(spriteKuromametchi, "dead", "/Sprites/Kuromametchi/dead.png");
-        addSpriteState(spriteKuromametchi, "happy", "/Sprites/Kuromametchi/happy.png");
-        addSpriteState(spriteKuromametchi, "play", "/Sprites/Kuromametchi/play.png");
-        addSpriteState(spriteKuromametchi, "sad", "/Sprites/Kuromametchi/sad.png");
-        addSpriteState(spriteKuromametchi, "shock", "/Sprites/Kuromametchi/shock.png");
-        addSpriteState(spriteKuromametchi, "sleep", "/Sprites/Kuromametchi/sleep.png");
+        Sprite spriteKuromametchi = SpriteAtlas.createPetSprite("Kuromametchi");
 
-        Pet Kuromametchi = new Pet(selectedPet,name, spriteKuromametchi, 100.0,100.0,100.0,100.0,0.4, 0.8, 0.3);
+        Pet Kuromametchi = PetType.fromDisplayName(selectedPet).createPet(name, spriteKuromametchi);
 
         saveSelectedPet(Kuromametchi);
     }
@@ -285,19 +272,9 @@ public class PetSelectionButtons {
      * @param selectedPet the type of the pet.
      */
     private void initializeLovelitchi(String name, String selectedPet) {
-        Sprite spriteLovelitchi = new Sprite();
-
-        addSpriteState(spriteLovelitchi, "angry", "/Sprites/Lovelitchi/angry.png");
-        addSpriteState(spriteLovelitchi, "default", "/Sprites/Lovelitchi/default.png");
-        addSpriteState(spriteLovelitchi, "disappointed", "/Sprites/Lovelitchi/disappointed.png");
-        addSpriteState(spriteLovelitchi, "dead", "/Sprites/Lovelitchi/dead.png");
-        addSpriteState(spriteLovelitchi, "happy", "/Sprites/Lovelitchi/happy.png");
-        addSpriteState(spriteLovelitchi, "play", "/Sprites/Lovelitchi/play.png");
-        addSpriteState(spriteLovelitchi, "sad", "/Sprites/Lovelitchi/sad.png");
-        addSpriteState(spriteLovelitchi, "shock", "/Sprites/Lovelitchi/shock.png");
-        addSpriteState(spriteLovelitchi, "sleep", "/Sprites/Lovelitchi/sleep.png");
+        Sprite spriteLovelitchi = SpriteAtlas.createPetSprite("Lovelitchi");
 
-        Pet Lovelitchi = new Pet(selectedPet, name, spriteLovelitchi, 100.0,100.0,100.0,100.0,0.6, 0.8, 0.6);
+        Pet Lovelitchi = PetType.fromDisplayName(selectedPet).createPet(name, spriteLovelitchi);
 
         saveSelectedPet(Lovelitchi);
     }
@@ -309,19 +286,9 @@ public class PetSelectionButtons {
      * @param selectedPet the type of the pet.
      */
     private void initializeMimitchi(String name, String selectedPet) {
-        Sprite spriteMimitchi = new Sprite();
-
-        addSpriteState(spriteMimitchi, "angry", "/Sprites/Mimitchi/angry.png");
-        addSpriteState(spriteMimitchi, "default", "/Sprites/Mimitchi/default.png");
-        addSpriteState(spriteMimitchi, "disappointed", "/Sprites/Mimitchi/disappointed.png");
-        addSpriteState(spriteMimitchi, "dead", "/Sprites/Mimitchi/dead.png");
-        addSpriteState(spriteMimitchi, "happy", "/Sprites/Mimitchi/happy.png");
-        addSpriteState(spriteMimitchi, "play", "/Sprites/Mimitchi/play.png");
-        addSpriteState(spriteMimitchi, "sad", "/Sprites/Mimitchi/sad.png");
-        addSpriteState(spriteMimitchi, "shock", "/Sprites/Mimitchi/shock.png");
-        addSpriteState(spriteMimitchi, "sleep", "/Sprites/Mimitchi/sleep.png");
-
-        Pet Mimitchi = new Pet( selectedPet,name, spriteMimitchi, 100.0,100.0,100.0,100.0,0.9, 0.2, 0.5);
+        Sprite spriteMimitchi = SpriteAtlas.createPetSprite("Mimitchi");
+
+        Pet Mimitchi = PetType.fromDisplayName(selectedPet).createPet(name, spriteMimitchi);
         saveSelectedPet(Mimitchi);
     }
 
@@ -332,19 +299,9 @@ public class PetSelectionButtons {
      * @param selectedPet the type of the pet.
      */
     private void initializeOrenetchi(String name, String selectedPet) {
-        Sprite spriteOrenetchi = new Sprite();
-
-        addSpriteState(spriteOrenetchi, "angry", "/Sprites/Orenetchi/angry.png");
-        addSpriteState(spriteOrenetchi, "default", "/Sprites/Orenetchi/default.png");
-        addSpriteState(spriteOrenetchi, "disappointed", "/Sprites/Orenetchi/disappointed.png");
-        addSpriteState(spriteOrenetchi, "dead", "/Sprites/Orenetchi/dead.png");
-        addSpriteState(spriteOrenetchi, "happy", "/Sprites/Orenetchi/happy.png");
-        addSpriteState(spriteOrenetchi, "play", "/Sprites/Orenetchi/play.png");
-        addSpriteState(spriteOrenetchi, "sad", "/Sprites/Orenetchi/sad.png");
-        addSpriteState(spriteOrenetchi, "shock", "/Sprites/Orenetchi/shock.png");
-        addSpriteState(spriteOrenetchi, "shock", "/Sprites/Orenetchi/sleep.png");
-
-        Pet Orenetchi = new Pet(selectedPet,name, spriteOrenetchi, 100.0,100.0,100.0,100.0,0.1, 0.3, 1.0);
+        Sprite spriteOrenetchi = SpriteAtlas.createPetSprite("Orenetchi");
+
+        Pet Orenetchi = PetType.fromDisplayName(selectedPet).createPet(name, spriteOrenetchi);
         saveSelectedPet(Orenetchi);
     }
 
@@ -355,40 +312,10 @@ public class PetSelectionButtons {
      * @param selectedPet the type of the pet.
      */
     private void initializeVioletchi(String name, String selectedPet) {
-        Sprite spriteVioletchi = new Sprite();
-
-        addSpriteState(spriteVioletchi, "angry", "/Sprites/Violetchi/angry.png");
-        addSpriteState(spriteVioletchi, "default", "/Sprites/Violetchi/default.png");
-        addSpriteState(spriteVioletchi, "disappointed", "/Sprites/Violetchi/disappointed.png");
-        addSpriteState(spriteVioletchi, "dead", "/Sprites/Violetchi/dead.png");
-        addSpriteState(spriteVioletchi, "happy", "/Sprites/Violetchi/happy.png");
-        addSpriteState(spriteVioletchi, "play", "/Sprites/Violetchi/play.png");
-        addSpriteState(spriteVioletchi, "sad", "/Sprites/Violetchi/sad.png");
-        addSpriteState(spriteVioletchi, "shock", "/Sprites/Violetchi/shock.png");
-        addSpriteState(spriteVioletchi, "shock", "/Sprites/Violetchi/sleep.png");
-
-        Pet Violetchi = new Pet(selectedPet,name, spriteVioletchi,100.0,100.0,100.0,100.0, 1.0, 0.6, 0.5);
-        saveSelectedPet(Violetchi);
-    }
+        Sprite spriteVioletchi = SpriteAtlas.createPetSprite("Violetchi");
 
-    /**
-     * Adds a new visual state to a sprite for the specified pet.
-     *
-     * @param sprite the sprite to which the state will be added.
-     * @param state the name of the state (e.g., "happy", "sad").
-     * @param resourcePath the path to the image resource representing the state.
-     */
-    private void addSpriteState(Sprite sprite, String state, String resourcePath) {
-        URL imageUrl = getClass().getResource(resourcePath);
-        if (imageUrl == null) {
-            System.err.println("Image not found: " + resourcePath);
-        } else {
-            ImageView imageView = new ImageView(imageUrl.toExternalForm());
-            imageView.setFitWidth(150); // Set width to 150
-            imageView.setFitHeight(150); // Set height to 150
-            imageView.setPreserveRatio(true); // Preserve the aspect ratio
-            sprite.addState(state, imageView);
-        }
+        Pet Violetchi = PetType.fromDisplayName(selectedPet).createPet(name, spriteVioletchi);
+        saveSelectedPet(Violetchi);
     }
 
     /**
@@ -0,0 +1,317 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The {@code PetServer} class hosts many players' pets in one process behind a local HTTP/JSON API.
+ * Every request runs on its own virtual thread, and each session is a headless {@link Player} whose pet is
+ * simulated with the same rules as the desktop game.
+ *
+ * <p>Sessions are not ticked in the background. When a request touches a session, its pet is first caught
+ * up on the stat ticks it missed with {@link Pet#advanceTicks(long)}, so idle sessions cost nothing.</p>
+ *
+ * <p>API, with every response body in JSON:</p>
+ * <ul>
+ *     <li>{@code POST /sessions} with {@code {"petType": "Mimitchi", "name": "Mochi"}} adopts a pet.</li>
+ *     <li>{@code GET /sessions/{id}} returns the pet's state.</li>
+ *     <li>{@code POST /sessions/{id}/{action}} performs {@code feedPet} or {@code giftPet}
+ *         (with {@code {"item": "Apple"}}), {@code takePetToVet}, {@code playWithPet}, {@code exercisePet}
+ *         or {@code putPetToBed}, and returns the new state.</li>
+ *     <li>{@code DELETE /sessions/{id}} ends the session.</li>
+ * </ul>
+ */
+public class PetServer {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 4096;
+
+    private final Gson gson = new Gson();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SimulationClock clock;
+    private final SimulationEngine engine; // Only used for its inventory replenishment
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates a server bound to the given port on the loopback interface. Call {@link #start()} to accept requests.
+     *
+     * @param port the port to listen on, or 0 for any free port.
+     * @param clock the clock that drives the simulation.
+     * @throws IOException if the port cannot be bound.
+     */
+    public PetServer(int port, SimulationClock clock) throws IOException {
+        this.clock = clock;
+        this.engine = new SimulationEngine(clock);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), BACKLOG);
+        this.server.createContext("/sessions", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests and waits up to the given number of seconds for running requests to finish.
+     *
+     * @param delaySeconds the longest time to wait for running requests.
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.shutdown();
+    }
+
+    /**
+     * Gets the port the server listens on.
+     *
+     * @return the bound port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Gets the number of open sessions.
+     *
+     * @return the number of sessions.
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Routes a request under {@code /sessions}.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (IllegalArgumentException | JsonParseException e) {
+                send(exchange, 400, error(e.getMessage()));
+            } catch (RuntimeException e) {
+                // Never close an exchange without a response; the client would only see a dropped connection
+                System.err.println("Error handling " + exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + ": " + e);
+                e.printStackTrace();
+                send(exchange, 500, error("Internal error")); // Details stay in the log, not with the client
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        String method = exchange.getRequestMethod();
+        // path is ["", "sessions", id?, action?]
+        if (path.length == 2 && method.equals("POST")) {
+            createSession(exchange);
+        } else if (path.length == 3 || path.length == 4) {
+            Session session = sessions.get(path[2]);
+            if (session == null) {
+                send(exchange, 404, error("Unknown session: " + path[2]));
+            } else if (path.length == 3 && method.equals("GET")) {
+                send(exchange, 200, session.state(clock.nanoTime()));
+            } else if (path.length == 3 && method.equals("DELETE")) {
+                sessions.remove(path[2]);
+                exchange.sendResponseHeaders(204, -1);
+            } else if (path.length == 4 && method.equals("POST")) {
+                perform(exchange, session, path[3]);
+            } else {
+                send(exchange, 405, error("Method not allowed: " + method));
+            }
+        } else {
+            send(exchange, 404, error("Not found: " + exchange.getRequestURI().getPath()));
+        }
+    }
+
+    /**
+     * Adopts a new pet and opens a session for it.
+     */
+    private void createSession(HttpExchange exchange) throws IOException {
+        JsonObject body = readBody(exchange);
+        PetType type = PetType.fromDisplayName(string(body, "petType"));
+        String name = body.has("name") ? body.get("name").getAsString() : type.getDisplayName();
+
+        // Requests use the inventory under the session's lock, replenishing it in catchUp; the concurrent
+        // inventory is for a future replenisher on a scheduler thread, which would not take that lock
+        Player player = new Player(new ConcurrentInventory());
+        player.setPet(type.createPet(name));
+        String id = UUID.randomUUID().toString();
+        Session session = new Session(id, player, clock.nanoTime());
+        sessions.put(id, session);
+        send(exchange, 201, session.state(clock.nanoTime()));
+    }
+
+    /**
+     * Performs a pet action on a session.
+     */
+    private void perform(HttpExchange exchange, Session session, String action) throws IOException {
+        JsonObject body = action.equals("feedPet") || action.equals("giftPet") ? readBody(exchange) : null;
+        long now = clock.nanoTime();
+        synchronized (session) {
+            session.catchUp(now);
+            Player player = session.player;
+            switch (action) {
+                case "feedPet" -> player.feedPet(session.item(string(body, "item"), Food.class));
+                case "giftPet" -> player.giftPet(session.item(string(body, "item"), Gift.class));
+                case "takePetToVet" -> player.takePetToVet();
+                case "playWithPet" -> player.playWithPet();
+                case "exercisePet" -> player.exercisePet();
+                case "putPetToBed" -> player.putPetToBed();
+                default -> throw new IllegalArgumentException("Unknown action: " + action);
+            }
+        }
+        send(exchange, 200, session.state(now));
+    }
+
+    private static JsonObject readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            if (body.isBlank()) {
+                return new JsonObject();
+            }
+            return JsonParser.parseString(body).getAsJsonObject();
+        } catch (IllegalStateException e) {
+            throw new JsonParseException("Request body must be a JSON object.");
+        }
+    }
+
+    private static String string(JsonObject body, String member) {
+        if (!body.has(member)) {
+            throw new IllegalArgumentException("Missing \"" + member + "\".");
+        }
+        JsonElement value = body.get(member);
+        if (!value.isJsonPrimitive()) {
+            throw new IllegalArgumentException("\"" + member + "\" must be a string.");
+        }
+        return value.getAsString();
+    }
+
+    private static Map<String, Object> error(String message) {
+        return Map.of("error", message);
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] bytes = gson.toJson(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * A hosted player. All access to the player goes through the session's monitor.
+     */
+    private final class Session {
+        private final String id;
+        private final Player player;
+        private long lastTick; // Clock time of the last stat tick
+        private long lastReplenish; // Clock time of the last inventory replenishment
+
+        Session(String id, Player player, long now) {
+            this.id = id;
+            this.player = player;
+            this.lastTick = now;
+            this.lastReplenish = now;
+        }
+
+        /**
+         * Applies the stat ticks that came due since the last request. The inventory is replenished at most
+         * once, as it is in the desktop game after a pause.
+         */
+        void catchUp(long now) {
+            long ticks = (now - lastTick) / SimulationEngine.UPDATE_INTERVAL;
+            if (ticks > 0) {
+                player.getPet().advanceTicks(ticks);
+                lastTick += ticks * SimulationEngine.UPDATE_INTERVAL;
+            }
+            long replenishments = (now - lastReplenish) / SimulationEngine.REPLENISH_INTERVAL;
+            if (replenishments > 0) {
+                engine.replenishInventory(player.getInventory());
+                lastReplenish += replenishments * SimulationEngine.REPLENISH_INTERVAL;
+            }
+        }
+
+        /**
+         * Finds an item of the given kind in the player's inventory.
+         */
+        <T extends Item> T item(String name, Class<T> kind) {
+            List<Item> stack = player.getInventory().getItemsByName(name);
+            if (stack.isEmpty() || !kind.isInstance(stack.get(0))) {
+                throw new IllegalArgumentException("No " + kind.getSimpleName().toLowerCase() + " named " + name + ".");
+            }
+            return kind.cast(stack.get(0));
+        }
+
+        /**
+         * Catches the pet up and takes a snapshot of the session for a response.
+         */
+        synchronized Map<String, Object> state(long now) {
+            catchUp(now);
+            Pet pet = player.getPet();
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("id", id);
+            state.put("name", pet.getName());
+            state.put("petType", pet.getPetType());
+            state.put("health", pet.getHealth());
+            state.put("fullness", pet.getFullness());
+            state.put("happiness", pet.getHappiness());
+            state.put("sleep", pet.getSleep());
+            state.put("dead", pet.isDead());
+            state.put("sleeping", pet.isSleeping());
+            state.put("hungry", pet.isHungry());
+            state.put("angry", pet.isAngry());
+            state.put("score", player.getScore());
+
+            Map<String, Integer> inventory = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Item>> entry : player.getInventory().getItems().entrySet()) {
+                int quantity = 0;
+                for (Item item : entry.getValue()) {
+                    quantity += item.getQuantity();
+                }
+                inventory.put(entry.getKey(), quantity);
+            }
+            state.put("inventory", inventory);
+            return state;
+        }
+    }
+
+    /**
+     * Starts a server from the command line, e.g. {@code --server --port=8080}.
+     *
+     * @param args command-line arguments; {@code --port=<port>} selects the port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(arg.substring("--port=".length()));
+            }
+        }
+        PetServer petServer = new PetServer(port, SimulationClock.SYSTEM);
+        petServer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> petServer.stop(1)));
+        System.out.println("Pet server listening on http://127.0.0.1:" + petServer.getPort() + "/sessions");
+    }
+}
@@ -0,0 +1,305 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * The {@code PetStore} class holds the simulation state of many pets in a column-oriented layout.
+ * Each stat and depletion rate is kept in its own primitive array, and each state flag is packed into
+ * its own bitset, so a batch tick walks memory sequentially instead of chasing one {@link Pet} object
+ * per pet. Pets are addressed by the index returned from {@link #add}.
+ *
+ * <p>{@link #tickAll()} applies exactly the same rules as {@link Pet#updateStats()} for a headless pet.</p>
+ */
+public class PetStore {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private int size;
+
+    // Stats
+    private double[] health;
+    private double[] fullness;
+    private double[] happiness;
+    private double[] sleep;
+
+    // Depletion rates
+    private double[] fullnessDepletionRate;
+    private double[] happinessDepletionRate;
+    private double[] sleepDepletionRate;
+
+    // State flags, one bit per pet
+    private long[] dead;
+    private long[] sleeping;
+    private long[] hungry;
+    private long[] angry;
+
+    // Penalty flags, one bit per pet
+    private long[] sleepPenaltyApplied;
+    private long[] hungerPenaltyApplied;
+
+    // Scratch bitset of the pets that deplete in the current tick
+    private long[] active = new long[0];
+
+    private StatKernel kernel = StatKernel.configured();
+
+    /**
+     * Constructs an empty store with a default initial capacity.
+     */
+    public PetStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store sized for the given number of pets. The store grows as needed.
+     *
+     * @param capacity the number of pets to reserve space for.
+     */
+    public PetStore(int capacity) {
+        capacity = Math.max(64, capacity);
+        health = new double[capacity];
+        fullness = new double[capacity];
+        happiness = new double[capacity];
+        sleep = new double[capacity];
+        fullnessDepletionRate = new double[capacity];
+        happinessDepletionRate = new double[capacity];
+        sleepDepletionRate = new double[capacity];
+        int words = wordsFor(capacity);
+        dead = new long[words];
+        sleeping = new long[words];
+        hungry = new long[words];
+        angry = new long[words];
+        sleepPenaltyApplied = new long[words];
+        hungerPenaltyApplied = new long[words];
+    }
+
+    /**
+     * Adds a pet with the given stats and depletion rates. All state flags start cleared,
+     * as they do for a newly constructed {@link Pet}.
+     *
+     * @param health the initial health level of the pet.
+     * @param fullness the initial fullness level of the pet.
+     * @param happiness the initial happiness level of the pet.
+     * @param sleep the initial sleep level of the pet.
+     * @param fullnessDepletionRate the rate at which fullness decreases over time.
+     * @param happinessDepletionRate the rate at which happiness decreases over time.
+     * @param sleepDepletionRate the rate at which sleep decreases over time.
+     * @return the index of the new pet in this store.
+     */
+    public int add(double health, double fullness, double happiness, double sleep,
+                   double fullnessDepletionRate, double happinessDepletionRate, double sleepDepletionRate) {
+        if (size == this.health.length) {
+            grow();
+        }
+        int i = size++;
+        this.health[i] = health;
+        this.fullness[i] = fullness;
+        this.happiness[i] = happiness;
+        this.sleep[i] = sleep;
+        this.fullnessDepletionRate[i] = fullnessDepletionRate;
+        this.happinessDepletionRate[i] = happinessDepletionRate;
+        this.sleepDepletionRate[i] = sleepDepletionRate;
+        return i;
+    }
+
+    /**
+     * Runs one stat update for every pet in the store. Awake pets lose stats at their depletion rates,
+     * sleeping pets regenerate sleep, and then every pet's state flags and penalties are re-evaluated.
+     */
+    public void tickAll() {
+        depleteAll();
+        for (int i = 0; i < size; i++) {
+            if (isSet(dead, i)) continue;
+            if (isSet(sleeping, i)) {
+                regenerateSleep(i);
+            }
+            updateState(i);
+        }
+    }
+
+    /**
+     * Depletes fullness, happiness and sleep of every pet that is neither dead nor sleeping,
+     * one whole column at a time through the store's {@link StatKernel}.
+     */
+    private void depleteAll() {
+        int words = wordsFor(size);
+        if (active.length < words) {
+            active = new long[dead.length];
+        }
+        for (int w = 0; w < words; w++) {
+            active[w] = ~(dead[w] | sleeping[w]);
+        }
+        kernel.deplete(fullness, fullnessDepletionRate, active, size);
+        kernel.deplete(happiness, happinessDepletionRate, active, size);
+        kernel.deplete(sleep, sleepDepletionRate, active, size);
+    }
+
+    /**
+     * Regenerates sleep for a sleeping pet, waking it once sleep is full.
+     */
+    private void regenerateSleep(int i) {
+        if (sleep[i] < 100) {
+            sleep[i] += 5.0;
+        } else {
+            clear(sleeping, i);
+        }
+    }
+
+    /**
+     * Re-evaluates the state flags and penalties of one pet, mirroring {@code Pet.updateState()}.
+     */
+    private void updateState(int i) {
+        if (health[i] <= 0) {
+            set(dead, i);
+            return;
+        }
+
+        if (sleep[i] <= 0 && !isSet(sleepPenaltyApplied, i)) {
+            health[i] = Math.max(0, health[i] - 20.0);
+            set(sleeping, i);
+            set(sleepPenaltyApplied, i);
+        } else if (sleep[i] > 0) {
+            clear(sleepPenaltyApplied, i);
+        }
+
+        if (fullness[i] <= 0 && !isSet(hungerPenaltyApplied, i)) {
+            happinessDepletionRate[i] += 0.5;
+            health[i] = Math.max(0, health[i] - 5.0);
+            set(hungry, i);
+            set(hungerPenaltyApplied, i);
+        } else if (fullness[i] > 0) {
+            clear(hungry, i);
+            clear(hungerPenaltyApplied, i);
+        }
+
+        if (happiness[i] <= 0) {
+            set(angry, i);
+        } else {
+            clear(angry, i);
+        }
+    }
+
+    /**
+     * Puts a pet to sleep, following the same rules as {@link Pet#goToSleep()}.
+     *
+     * @param i the index of the pet.
+     */
+    public void goToSleep(int i) {
+        if (isSet(sleeping, i) || isSet(dead, i) || isSet(angry, i)) return;
+        set(sleeping, i);
+    }
+
+    /**
+     * Sets the kernel used to deplete stats. Every kernel produces the same results.
+     *
+     * @param kernel the kernel to use, e.g. {@link StatKernel#SCALAR}.
+     */
+    public void setKernel(StatKernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * Gets the number of pets in the store.
+     *
+     * @return the number of pets.
+     */
+    public int size() { return size; }
+    /**
+     * Gets the health level of a pet.
+     *
+     * @param i the index of the pet.
+     * @return the health level of the pet.
+     */
+    public double getHealth(int i) { return health[i]; }
+    /**
+     * Gets the fullness level of a pet.
+     *
+     * @param i the index of the pet.
+     * @return the fullness level of the pet.
+     */
+    public double getFullness(int i) { return fullness[i]; }
+    /**
+     * Gets the happiness level of a pet.
+     *
+     * @param i the index of the pet.
+     * @return the happiness level of the pet.
+     */
+    public double getHappiness(int i) { return happiness[i]; }
+    /**
+     * Gets the sleep level of a pet.
+     *
+     * @param i the index of the pet.
+     * @return the sleep level of the pet.
+     */
+    public double getSleep(int i) { return sleep[i]; }
+    /**
+     * Gets the rate at which a pet's happiness depletes.
+     *
+     * @param i the index of the pet.
+     * @return the happiness depletion rate.
+     */
+    public double getHappinessDepletionRate(int i) { return happinessDepletionRate[i]; }
+    /**
+     * Checks if a pet is dead.
+     *
+     * @param i the index of the pet.
+     * @return {@code true} if the pet is dead, otherwise {@code false}.
+     */
+    public boolean isDead(int i) { return isSet(dead, i); }
+    /**
+     * Checks if a pet is sleeping.
+     *
+     * @param i the index of the pet.
+     * @return {@code true} if the pet is sleeping, otherwise {@code false}.
+     */
+    public boolean isSleeping(int i) { return isSet(sleeping, i); }
+    /**
+     * Checks if a pet is hungry.
+     *
+     * @param i the index of the pet.
+     * @return {@code true} if the pet is hungry, otherwise {@code false}.
+     */
+    public boolean isHungry(int i) { return isSet(hungry, i); }
+    /**
+     * Checks if a pet is angry.
+     *
+     * @param i the index of the pet.
+     * @return {@code true} if the pet is angry, otherwise {@code false}.
+     */
+    public boolean isAngry(int i) { return isSet(angry, i); }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = health.length * 2;
+        health = Arrays.copyOf(health, capacity);
+        fullness = Arrays.copyOf(fullness, capacity);
+        happiness = Arrays.copyOf(happiness, capacity);
+        sleep = Arrays.copyOf(sleep, capacity);
+        fullnessDepletionRate = Arrays.copyOf(fullnessDepletionRate, capacity);
+        happinessDepletionRate = Arrays.copyOf(happinessDepletionRate, capacity);
+        sleepDepletionRate = Arrays.copyOf(sleepDepletionRate, capacity);
+        int words = wordsFor(capacity);
+        dead = Arrays.copyOf(dead, words);
+        sleeping = Arrays.copyOf(sleeping, words);
+        hungry = Arrays.copyOf(hungry, words);
+        angry = Arrays.copyOf(angry, words);
+        sleepPenaltyApplied = Arrays.copyOf(sleepPenaltyApplied, words);
+        hungerPenaltyApplied = Arrays.copyOf(hungerPenaltyApplied, words);
+    }
+
+    private static int wordsFor(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    private static boolean isSet(long[] bits, int i) {
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    private static void set(long[] bits, int i) {
+        bits[i >>> 6] |= 1L << i;
+    }
+
+    private static void clear(long[] bits, int i) {
+        bits[i >>> 6] &= ~(1L << i);
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+/**
+ * The {@code PetType} enum lists the pets that can be adopted, with the depletion rates each one starts with.
+ * Every pet starts with full health, fullness, happiness and sleep.
+ */
+public enum PetType {
+    KUROMAMETCHI("Kuromametchi", 0.4, 0.8, 0.3),
+    LOVELITCHI("Lovelitchi", 0.6, 0.8, 0.6),
+    MIMITCHI("Mimitchi", 0.9, 0.2, 0.5),
+    ORENETCHI("Orenetchi", 0.1, 0.3, 1.0),
+    VIOLETCHI("Violetchi", 1.0, 0.6, 0.5);
+
+    private final String displayName;
+    private final double fullnessDepletionRate;
+    private final double happinessDepletionRate;
+    private final double sleepDepletionRate;
+
+    PetType(String displayName, double fullnessDepletionRate, double happinessDepletionRate, double sleepDepletionRate) {
+        this.displayName = displayName;
+        this.fullnessDepletionRate = fullnessDepletionRate;
+        this.happinessDepletionRate = happinessDepletionRate;
+        this.sleepDepletionRate = sleepDepletionRate;
+    }
+
+    /**
+     * Finds a pet type by the name shown to players, e.g. {@code "Mimitchi"}.
+     *
+     * @param displayName the name of the pet type, ignoring case.
+     * @return the matching pet type.
+     * @throws IllegalArgumentException if no pet type has that name.
+     */
+    public static PetType fromDisplayName(String displayName) {
+        for (PetType type : values()) {
+            if (type.displayName.equalsIgnoreCase(displayName)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown pet type: " + displayName);
+    }
+
+    /**
+     * Creates a new pet of this type without a sprite.
+     *
+     * @param name the name of the pet.
+     * @return a new headless pet with full stats.
+     */
+    public Pet createPet(String name) {
+        return createPet(name, null);
+    }
+
+    /**
+     * Creates a new pet of this type that shows the given sprite.
+     *
+     * @param name the name of the pet.
+     * @param sprite the sprite of the pet, or {@code null} for a headless pet.
+     * @return a new pet with full stats.
+     */
+    public Pet createPet(String name, Sprite sprite) {
+        return new Pet(displayName, name, sprite, 100.0, 100.0, 100.0, 100.0,
+                fullnessDepletionRate, happinessDepletionRate, sleepDepletionRate);
+    }
+
+    /**
+     * Gets the name of the pet type shown to players.
+     *
+     * @return the display name.
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -13,6 +13,7 @@ public class Player {
     private Inventory inventory;
     private Pet pet;
     private int score;
+    private boolean scoreDirty; // Score changed since the last takeScoreDirty()
 
     /**
      * Constructs a new Player with a default inventory and an initial score of 0.
@@ -47,6 +48,7 @@ public class Player {
      */
     public void setScore(int score) {
         this.score = score;
+        this.scoreDirty = true;
     }
 
     /**
@@ -85,6 +87,17 @@ public class Player {
         return score;
     }
 
+    /**
+     * Checks if the score changed since the last call, and clears the flag.
+     *
+     * @return {@code true} if the score changed, otherwise {@code false}.
+     */
+    public boolean takeScoreDirty() {
+        boolean dirty = scoreDirty;
+        scoreDirty = false;
+        return dirty;
+    }
+
     /**
      * Feeds the player's pet with the specified food item.
      * The pet cannot be fed if it is angry, sleeping, or dead.
@@ -95,9 +108,8 @@ public class Player {
         if (pet.isAngry() || pet.isSleeping() || pet.isDead()) {
             return;
         }
-        if (inventory.hasItem(food.getName())) {
+        if (inventory.tryUseItem(food.getName())) { // Checks and decrements the quantity in one step
             pet.feed(food);
-            inventory.useItem(food.getName()); // Use `useItem` to decrement the quantity
             updateScore(20);
         }
     }
@@ -112,9 +124,8 @@ public class Player {
         if (pet.isSleeping() || pet.isDead()) {
             return;
         }
-        if (inventory.hasItem(gift.getName())) {
+        if (inventory.tryUseItem(gift.getName())) { // Checks and decrements the quantity in one step
             pet.gift(gift);
-            inventory.useItem(gift.getName()); // Use `useItem` to decrement the quantity
             updateScore(30);
         }
     }
@@ -129,7 +140,7 @@ public class Player {
 
         pet.setHealth(pet.getHealth() + 50);
         updateScore(-50);
-        Music.getInstance().playVetSound();
+        if (!pet.isHeadless()) Music.getInstance().playVetSound();
     }
 
     /**
@@ -172,5 +183,6 @@ public class Player {
      */
     private void updateScore(int amount) {
         score = Math.max(0, score + amount);
+        scoreDirty = true;
     }
 }
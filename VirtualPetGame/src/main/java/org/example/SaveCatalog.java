@@ -0,0 +1,194 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code SaveCatalog} class is a persistent index of the saved games, holding just what the
+ * Load Game screen needs to list them: the save's name, its pet, its score, and where its data lives.
+ * It lets the list be drawn without opening every save file; a save is fully read only when it is chosen.
+ *
+ * <p>Each entry remembers the size and modification time of its save file, so an entry whose file was
+ * changed outside the game can be detected and refreshed.</p>
+ */
+public class SaveCatalog {
+    /** Orders entries most recently saved first. */
+    public static final Comparator<Entry> NEWEST_FIRST = Comparator.comparingLong((Entry entry) -> entry.lastModified).reversed();
+
+    private final File file;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(); // Keyed by save file name
+
+    /**
+     * A catalog entry describing one saved game.
+     */
+    public static class Entry {
+        public String fileName; // Name of the file that holds the save
+        public String saveName; // Name the save is loaded by
+        public String petName;
+        public String petType;
+        public int score;
+        public long lastModified; // Modification time of the save file in epoch milliseconds
+        public long offset; // Byte offset of the save data in its file
+        public long length; // Byte length of the save data
+    }
+
+    /**
+     * The on-disk layout of the catalog.
+     */
+    private static class Stored {
+        int version = 1;
+        List<Entry> entries;
+    }
+
+    private SaveCatalog(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads a catalog from its file. A missing or unreadable catalog yields an empty one,
+     * which is rebuilt from the save files as they are seen.
+     *
+     * @param file the catalog file.
+     * @param gson the Gson instance used to parse the catalog.
+     * @return the catalog.
+     */
+    public static SaveCatalog load(File file, Gson gson) {
+        SaveCatalog catalog = new SaveCatalog(file);
+        if (!file.exists()) {
+            return catalog;
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            Stored stored = gson.fromJson(reader, Stored.class);
+            if (stored != null && stored.entries != null) {
+                for (Entry entry : stored.entries) {
+                    catalog.entries.put(entry.fileName, entry);
+                }
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Error reading save catalog, rebuilding it: " + e.getMessage());
+        }
+        return catalog;
+    }
+
+    /**
+     * Writes the catalog back to its file.
+     *
+     * @param gson the Gson instance used to write the catalog.
+     */
+    public void store(Gson gson) {
+        Stored stored = new Stored();
+        stored.entries = new ArrayList<>(entries.values());
+        try {
+            // The catalog can be rebuilt from the saves, so an atomic replace is enough
+            SaveJournal.replace(file.toPath(), gson.toJson(stored).getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Error saving save catalog: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates an entry for a save file from its fully read contents.
+     *
+     * @param saveFile the save file.
+     * @param saveName the name the save is loaded by.
+     * @param savedGame the contents of the save.
+     * @return a new entry describing the save.
+     */
+    public static Entry describe(File saveFile, String saveName, SavedGame savedGame) {
+        return describe(saveFile.getName(), saveName, savedGame, saveFile.lastModified(), 0, saveFile.length());
+    }
+
+    /**
+     * Creates an entry for a save held somewhere in a file, such as a {@link MappedSaveStore}.
+     *
+     * @param fileName the name of the file that holds the save.
+     * @param saveName the name the save is loaded by.
+     * @param savedGame the contents of the save.
+     * @param lastModified when the save was last written, in epoch milliseconds.
+     * @param offset the byte offset of the save data in the file.
+     * @param length the byte length of the save data.
+     * @return a new entry describing the save.
+     */
+    public static Entry describe(String fileName, String saveName, SavedGame savedGame, long lastModified, long offset, long length) {
+        Entry entry = new Entry();
+        entry.fileName = fileName;
+        entry.saveName = saveName;
+        if (savedGame.playerInfo != null) {
+            entry.score = savedGame.playerInfo.score;
+        }
+        if (savedGame.petInfo != null) {
+            entry.petName = savedGame.petInfo.name;
+            entry.petType = savedGame.petInfo.petType;
+        }
+        entry.lastModified = lastModified;
+        entry.offset = offset;
+        entry.length = length;
+        return entry;
+    }
+
+    /**
+     * Gets the entry for a save file if it is still up to date.
+     *
+     * @param saveFile the save file.
+     * @return the entry, or {@code null} if there is none or the file changed since it was made.
+     */
+    public Entry getCurrent(File saveFile) {
+        Entry entry = entries.get(saveFile.getName());
+        if (entry == null || entry.lastModified != saveFile.lastModified() || entry.length != saveFile.length()) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Adds or replaces the entry for a save file.
+     *
+     * @param entry the entry to store.
+     */
+    public void put(Entry entry) {
+        entries.put(entry.fileName, entry);
+    }
+
+    /**
+     * Removes the entry for a save file.
+     *
+     * @param fileName the name of the save file.
+     * @return {@code true} if an entry was removed, otherwise {@code false}.
+     */
+    public boolean remove(String fileName) {
+        return entries.remove(fileName) != null;
+    }
+
+    /**
+     * Removes every entry whose save file is not in the given set.
+     *
+     * @param fileNames the names of the save files that exist.
+     * @return {@code true} if any entry was removed, otherwise {@code false}.
+     */
+    public boolean retainAll(Set<String> fileNames) {
+        return entries.keySet().retainAll(fileNames);
+    }
+
+    /**
+     * Gets the entries, most recently saved first.
+     *
+     * @return a new list of the catalog's entries.
+     */
+    public List<Entry> getEntries() {
+        List<Entry> sorted = new ArrayList<>(entries.values());
+        sorted.sort(NEWEST_FIRST);
+        return sorted;
+    }
+}
@@ -0,0 +1,327 @@
+package org.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code SaveDelta} class holds the parts of a saved game that changed since it was last written,
+ * so a save can append a small record instead of rewriting the whole file.
+ *
+ * <p>A delta is captured from the dirty flags of a {@link Player}, its {@link Pet} and its {@link Inventory},
+ * and carries the new values of the changed fields rather than differences, so applying a record twice, or
+ * applying an older record before a newer one, ends in the same state.</p>
+ *
+ * <p>Deltas are stored in a log next to the full save: each record is its length, its CRC-32, then the
+ * encoded delta. When the log is read, records are applied in order onto the full save until a record
+ * that was only partly written is found. Records older than the full save are skipped; a game's save times are
+ * strictly increasing (see {@link SavedGame#markSaved()}), so they tell which records came after it.</p>
+ */
+public class SaveDelta {
+    public static final int SCORE = 1;
+    public static final int PET_STATS = 2;
+    public static final int PET_RATES = 4;
+    public static final int INVENTORY = 8;
+
+    private int fields; // Which of the fields below hold changed values
+    private long lastSaved; // Always carried, so the pet can be caught up from the right time
+    private int score;
+    private int health;
+    private int sleep;
+    private int fullness;
+    private int happiness;
+    private double fullnessDepletionRate;
+    private double happinessDepletionRate;
+    private double sleepDepletionRate;
+    private final Map<String, List<SavedGame.PlayerInfo.Item>> items = new LinkedHashMap<>(); // Empty list: item removed
+
+    /**
+     * Creates an empty delta. Use {@link #capture(Player, SavedGame)} to create one from a game in progress.
+     *
+     * @param lastSaved the wall-clock time of the save in epoch milliseconds.
+     */
+    public SaveDelta(long lastSaved) {
+        this.lastSaved = lastSaved;
+    }
+
+    /**
+     * Captures what changed in a player since the last capture, and clears the player's dirty flags.
+     * The values are taken from the snapshot so they match what a full save would write.
+     *
+     * @param player the player whose changes are captured.
+     * @param snapshot the saved game, already updated with the player's current state.
+     * @return a delta of the changed fields.
+     */
+    public static SaveDelta capture(Player player, SavedGame snapshot) {
+        SaveDelta delta = new SaveDelta(snapshot.lastSaved);
+        if (player.takeScoreDirty()) {
+            delta.fields |= SCORE;
+            delta.score = snapshot.playerInfo.score;
+        }
+
+        int petFields = player.getPet().takeDirtyFields();
+        SavedGame.PetInfo.Stats stats = snapshot.petInfo.stats;
+        if ((petFields & Pet.DIRTY_STATS) != 0) {
+            delta.fields |= PET_STATS;
+            delta.health = stats.health;
+            delta.sleep = stats.sleep;
+            delta.fullness = stats.fullness;
+            delta.happiness = stats.happiness;
+        }
+        if ((petFields & Pet.DIRTY_RATES) != 0) {
+            delta.fields |= PET_RATES;
+            delta.fullnessDepletionRate = stats.fullnessDepletionRate;
+            delta.happinessDepletionRate = stats.happinessDepletionRate;
+            delta.sleepDepletionRate = stats.sleepDepletionRate;
+        }
+
+        Map<String, List<SavedGame.PlayerInfo.Item>> changedItems = player.getInventory().takeDirtyItems();
+        if (!changedItems.isEmpty()) {
+            delta.fields |= INVENTORY;
+            delta.items.putAll(changedItems);
+        }
+        return delta;
+    }
+
+    /**
+     * Folds a newer delta into this one, so the two can be written as a single record.
+     *
+     * @param newer a delta captured after this one.
+     */
+    public void merge(SaveDelta newer) {
+        lastSaved = Math.max(lastSaved, newer.lastSaved);
+        if ((newer.fields & SCORE) != 0) {
+            score = newer.score;
+        }
+        if ((newer.fields & PET_STATS) != 0) {
+            health = newer.health;
+            sleep = newer.sleep;
+            fullness = newer.fullness;
+            happiness = newer.happiness;
+        }
+        if ((newer.fields & PET_RATES) != 0) {
+            fullnessDepletionRate = newer.fullnessDepletionRate;
+            happinessDepletionRate = newer.happinessDepletionRate;
+            sleepDepletionRate = newer.sleepDepletionRate;
+        }
+        items.putAll(newer.items);
+        fields |= newer.fields;
+    }
+
+    /**
+     * Gets the fields that changed.
+     *
+     * @return a combination of {@link #SCORE}, {@link #PET_STATS}, {@link #PET_RATES} and {@link #INVENTORY}.
+     */
+    public int getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets the wall-clock time of the save this delta belongs to.
+     *
+     * @return the save time in epoch milliseconds.
+     */
+    public long getLastSaved() {
+        return lastSaved;
+    }
+
+    /**
+     * Applies this delta to a saved game.
+     *
+     * @param savedGame the saved game to update.
+     */
+    public void applyTo(SavedGame savedGame) {
+        savedGame.lastSaved = lastSaved;
+        if ((fields & (SCORE | INVENTORY)) != 0 && savedGame.playerInfo == null) {
+            savedGame.playerInfo = new SavedGame.PlayerInfo();
+        }
+        if ((fields & SCORE) != 0) {
+            savedGame.playerInfo.score = score;
+        }
+        if ((fields & INVENTORY) != 0) {
+            if (savedGame.playerInfo.inventory == null) {
+                savedGame.playerInfo.inventory = new LinkedHashMap<>();
+            }
+            for (Map.Entry<String, List<SavedGame.PlayerInfo.Item>> entry : items.entrySet()) {
+                if (entry.getValue().isEmpty()) {
+                    savedGame.playerInfo.inventory.remove(entry.getKey());
+                } else {
+                    savedGame.playerInfo.inventory.put(entry.getKey(), copyStacks(entry.getValue()));
+                }
+            }
+        }
+
+        if ((fields & (PET_STATS | PET_RATES)) == 0) return;
+        if (savedGame.petInfo == null) {
+            savedGame.petInfo = new SavedGame.PetInfo();
+        }
+        if (savedGame.petInfo.stats == null) {
+            savedGame.petInfo.stats = new SavedGame.PetInfo.Stats();
+        }
+        SavedGame.PetInfo.Stats stats = savedGame.petInfo.stats;
+        if ((fields & PET_STATS) != 0) {
+            stats.health = health;
+            stats.sleep = sleep;
+            stats.fullness = fullness;
+            stats.happiness = happiness;
+        }
+        if ((fields & PET_RATES) != 0) {
+            stats.fullnessDepletionRate = fullnessDepletionRate;
+            stats.happinessDepletionRate = happinessDepletionRate;
+            stats.sleepDepletionRate = sleepDepletionRate;
+        }
+    }
+
+    /**
+     * Encodes this delta as one log record: its length, its CRC-32, then the delta itself.
+     *
+     * @return the record bytes, ready to be appended to a delta log.
+     */
+    public byte[] toLogRecord() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0); // Length and checksum, filled in below
+            out.writeInt(0);
+            SavedGameCodec.writeVarInt(out, fields);
+            out.writeLong(lastSaved);
+            if ((fields & SCORE) != 0) {
+                SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(score));
+            }
+            if ((fields & PET_STATS) != 0) {
+                SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(health));
+                SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(sleep));
+                SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(fullness));
+                SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(happiness));
+            }
+            if ((fields & PET_RATES) != 0) {
+                out.writeDouble(fullnessDepletionRate);
+                out.writeDouble(happinessDepletionRate);
+                out.writeDouble(sleepDepletionRate);
+            }
+            if ((fields & INVENTORY) != 0) {
+                SavedGameCodec.writeVarInt(out, items.size());
+                for (Map.Entry<String, List<SavedGame.PlayerInfo.Item>> entry : items.entrySet()) {
+                    SavedGameCodec.writeString(out, entry.getKey());
+                    SavedGameCodec.writeVarInt(out, entry.getValue().size());
+                    for (SavedGame.PlayerInfo.Item item : entry.getValue()) {
+                        SavedGameCodec.writeString(out, item.type);
+                        SavedGameCodec.writeVarInt(out, SavedGameCodec.zigZag(item.quantity));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory cannot fail", e);
+        }
+
+        byte[] record = bytes.toByteArray();
+        int length = record.length - 8;
+        CRC32 crc = new CRC32();
+        crc.update(record, 8, length);
+        writeInt(record, 0, length);
+        writeInt(record, 4, (int) crc.getValue());
+        return record;
+    }
+
+    /**
+     * Applies the intact records of a delta log, in order, to a saved game. Reading stops at the first record
+     * that is truncated or fails its checksum, and records saved before the saved game are skipped.
+     *
+     * @param log the contents of a delta log.
+     * @param savedGame the full save the log belongs to; updated in place.
+     * @return the number of records applied.
+     */
+    public static int applyLog(byte[] log, SavedGame savedGame) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(log));
+        long base = savedGame.lastSaved;
+        int applied = 0;
+        while (true) {
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > in.available()) break; // Torn record
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break; // Torn record
+
+                SaveDelta delta = decode(payload);
+                if (delta.lastSaved > base) {
+                    delta.applyTo(savedGame);
+                    applied++;
+                }
+            } catch (EOFException e) {
+                break;
+            } catch (IOException e) {
+                System.err.println("Skipping the rest of a damaged delta log: " + e.getMessage());
+                break;
+            }
+        }
+        return applied;
+    }
+
+    private static SaveDelta decode(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        int fields = SavedGameCodec.readVarInt(in);
+        SaveDelta delta = new SaveDelta(in.readLong());
+        delta.fields = fields;
+        if ((fields & SCORE) != 0) {
+            delta.score = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+        }
+        if ((fields & PET_STATS) != 0) {
+            delta.health = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+            delta.sleep = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+            delta.fullness = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+            delta.happiness = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+        }
+        if ((fields & PET_RATES) != 0) {
+            delta.fullnessDepletionRate = in.readDouble();
+            delta.happinessDepletionRate = in.readDouble();
+            delta.sleepDepletionRate = in.readDouble();
+        }
+        if ((fields & INVENTORY) != 0) {
+            int entries = SavedGameCodec.readVarInt(in);
+            for (int e = 0; e < entries; e++) {
+                String name = SavedGameCodec.readString(in);
+                int stacks = SavedGameCodec.readVarInt(in);
+                SavedGameCodec.checkCount(in, stacks, 2);
+                List<SavedGame.PlayerInfo.Item> itemList = new ArrayList<>(stacks);
+                for (int s = 0; s < stacks; s++) {
+                    SavedGame.PlayerInfo.Item item = new SavedGame.PlayerInfo.Item();
+                    item.type = SavedGameCodec.readString(in);
+                    item.quantity = SavedGameCodec.unZigZag(SavedGameCodec.readVarInt(in));
+                    itemList.add(item);
+                }
+                delta.items.put(name, itemList);
+            }
+        }
+        return delta;
+    }
+
+    private static List<SavedGame.PlayerInfo.Item> copyStacks(List<SavedGame.PlayerInfo.Item> stacks) {
+        List<SavedGame.PlayerInfo.Item> copy = new ArrayList<>(stacks.size());
+        for (SavedGame.PlayerInfo.Item stack : stacks) {
+            SavedGame.PlayerInfo.Item item = new SavedGame.PlayerInfo.Item();
+            item.type = stack.type;
+            item.quantity = stack.quantity;
+            copy.add(item);
+        }
+        return copy;
+    }
+
+    private static void writeInt(byte[] bytes, int offset, int value) {
+        bytes[offset] = (byte) (value >>> 24);
+        bytes[offset + 1] = (byte) (value >>> 16);
+        bytes[offset + 2] = (byte) (value >>> 8);
+        bytes[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,300 @@
+package org.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * The {@code SaveJournal} class makes writes to the save files crash-safe without fsyncing every file it writes.
+ *
+ * <p>Every write is first appended to an append-only journal, then committed by writing a temporary file
+ * and renaming it over the target, so a target file is always either its old or its new contents. A write
+ * or a delete forces the journal before it renames or removes anything, because the rename may reach the
+ * disk before the temporary file's contents do; the journal record is then what recovery rebuilds the file
+ * from. The target files themselves are only fsynced when the journal grows past {@value #CHECKPOINT_BYTES}
+ * bytes, at which point the journal is emptied.</p>
+ *
+ * <p>Small additions to a log file, such as save deltas, are journaled as appends: the record remembers where
+ * the data goes, so replaying it overwrites a half-written tail instead of adding after it. Appends never
+ * replace existing data, so their records are fsynced in batches: once {@value #SYNC_BATCH} records are waiting,
+ * or at the latest {@value #SYNC_INTERVAL_MILLIS} ms after an append.</p>
+ *
+ * <p>When a journal is opened, records left over from a crash are replayed, in order, onto their targets.
+ * A record that was only partly written is detected by its checksum and ignored, along with anything after it.</p>
+ */
+public final class SaveJournal implements AutoCloseable {
+    public static final int SYNC_BATCH = 32;
+    public static final long SYNC_INTERVAL_MILLIS = 1000;
+    public static final long CHECKPOINT_BYTES = 1 << 20;
+
+    private static final byte WRITE = 1;
+    private static final byte DELETE = 2;
+    private static final byte APPEND = 3;
+
+    private final FileChannel channel;
+    private final Set<Path> uncheckpointed = new LinkedHashSet<>(); // Targets not fsynced since the last checkpoint
+    private final ScheduledExecutorService syncer;
+    private int unsynced; // Records appended since the last fsync
+
+    /**
+     * Opens a journal, replaying and then discarding any records left in it.
+     *
+     * @param journalFile the journal file, created if it does not exist.
+     * @throws IOException if the journal cannot be opened or replayed.
+     */
+    public SaveJournal(Path journalFile) throws IOException {
+        int replayed = recover(journalFile);
+        if (replayed > 0) {
+            System.out.println("Recovered " + replayed + " saved file(s) from " + journalFile);
+        }
+        this.channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.truncate(0);
+        this.channel.force(true);
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "save-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.syncer.scheduleWithFixedDelay(this::syncQuietly, SYNC_INTERVAL_MILLIS, SYNC_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes a file through the journal: logs the new contents, then atomically replaces the file.
+     *
+     * @param target the file to write.
+     * @param data the new contents of the file.
+     * @throws IOException if the journal or the file cannot be written.
+     */
+    public synchronized void write(Path target, byte[] data) throws IOException {
+        log(WRITE, target, 0, data);
+        sync(); // The record must be durable before the rename can replace the old contents
+        replace(target, data);
+        uncheckpointed.add(target);
+        maybeCheckpoint();
+    }
+
+    /**
+     * Deletes a file through the journal, so the deletion is replayed if the process crashes.
+     *
+     * @param target the file to delete.
+     * @throws IOException if the journal cannot be written or the file cannot be deleted.
+     */
+    public synchronized void delete(Path target) throws IOException {
+        if (!Files.exists(target)) return;
+        log(DELETE, target, 0, new byte[0]);
+        sync(); // Likewise before the old contents are unlinked
+        Files.deleteIfExists(target);
+        uncheckpointed.remove(target);
+        maybeCheckpoint();
+    }
+
+    /**
+     * Appends data to the end of a file through the journal, creating the file if it does not exist.
+     *
+     * @param target the file to append to.
+     * @param data the bytes to append.
+     * @throws IOException if the journal or the file cannot be written.
+     */
+    public synchronized void append(Path target, byte[] data) throws IOException {
+        long offset = Files.exists(target) ? Files.size(target) : 0;
+        log(APPEND, target, offset, data);
+        writeAt(target, offset, data);
+        uncheckpointed.add(target);
+        maybeCheckpoint();
+    }
+
+    /**
+     * Forces every journal record appended so far to disk.
+     *
+     * @throws IOException if the journal cannot be synced.
+     */
+    public synchronized void sync() throws IOException {
+        if (unsynced > 0) {
+            channel.force(false);
+            unsynced = 0;
+        }
+    }
+
+    /**
+     * Syncs the journal, fsyncs every committed file and empties the journal.
+     *
+     * @throws IOException if a file cannot be synced or the journal cannot be truncated.
+     */
+    public synchronized void checkpoint() throws IOException {
+        sync();
+        for (Path target : uncheckpointed) {
+            if (Files.exists(target)) {
+                try (FileChannel file = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    file.force(true);
+                }
+            }
+        }
+        uncheckpointed.clear();
+        channel.truncate(0);
+        channel.force(true);
+    }
+
+    /**
+     * Checkpoints and closes the journal.
+     *
+     * @throws IOException if the final checkpoint fails.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        syncer.shutdownNow();
+        try {
+            checkpoint();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Stops the journal without checkpointing it, leaving its records in place as a crash would. For tests.
+     */
+    void abandon() throws IOException {
+        syncer.shutdownNow();
+        channel.close();
+    }
+
+    /**
+     * Appends one record to the journal: its length, its CRC-32, then the record itself.
+     */
+    private void log(byte kind, Path target, long offset, byte[] data) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(data.length + 64);
+        try (DataOutputStream out = new DataOutputStream(record)) {
+            out.writeByte(kind);
+            out.writeUTF(target.toString());
+            if (kind == APPEND) {
+                out.writeLong(offset);
+            }
+            out.writeInt(data.length);
+            out.write(data);
+        }
+        byte[] payload = record.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, channel.size());
+        }
+        if (++unsynced >= SYNC_BATCH) {
+            sync();
+        }
+    }
+
+    private void maybeCheckpoint() throws IOException {
+        if (channel.size() >= CHECKPOINT_BYTES) {
+            checkpoint();
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            System.err.println("Error syncing save journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replays the intact records of a journal onto their targets, fsyncing each replayed file.
+     *
+     * @return the number of records replayed.
+     */
+    private static int recover(Path journalFile) throws IOException {
+        if (!Files.exists(journalFile) || Files.size(journalFile) == 0) {
+            return 0;
+        }
+        byte[] journal = Files.readAllBytes(journalFile);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(journal));
+        int replayed = 0;
+        while (true) {
+            byte[] payload;
+            try {
+                int length = in.readInt();
+                int checksum = in.readInt();
+                if (length < 0 || length > in.available()) break; // Torn record
+                payload = new byte[length];
+                in.readFully(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) break; // Torn record
+            } catch (EOFException e) {
+                break;
+            }
+
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+            byte kind = record.readByte();
+            Path target = Path.of(record.readUTF());
+            long offset = kind == APPEND ? record.readLong() : 0;
+            byte[] data = new byte[record.readInt()];
+            record.readFully(data);
+            if (kind == WRITE) {
+                replace(target, data);
+                try (FileChannel file = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    file.force(true);
+                }
+            } else if (kind == DELETE) {
+                Files.deleteIfExists(target);
+            } else if (kind == APPEND) {
+                writeAt(target, offset, data);
+                try (FileChannel file = FileChannel.open(target, StandardOpenOption.WRITE)) {
+                    file.force(true);
+                }
+            }
+            replayed++;
+        }
+        return replayed;
+    }
+
+    /**
+     * Writes data at an offset of a file and cuts the file off after it.
+     */
+    private static void writeAt(Path target, long offset, byte[] data) throws IOException {
+        try (FileChannel file = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            file.truncate(offset);
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                position += file.write(buffer, position);
+            }
+        }
+    }
+
+    /**
+     * Replaces a file by writing a temporary file next to it and renaming it over the file.
+     *
+     * @param target the file to replace.
+     * @param data the new contents.
+     * @throws IOException if the file cannot be written.
+     */
+    static void replace(Path target, byte[] data) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, data);
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
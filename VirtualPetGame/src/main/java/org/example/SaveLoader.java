@@ -0,0 +1,217 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * The {@code SaveLoader} class loads many saves in parallel and streams the results back as they complete,
+ * so a screen listing a large save library can show the first saves long before the last one is read.
+ *
+ * <p>Loading runs on a pool of daemon worker threads shared by every loader, so opening the Load Game screen
+ * again reuses the threads of the previous visit; they exit after {@value #IDLE_SECONDS} seconds without work.
+ * Each loader runs at most its own parallelism of loads at once. Results are handed to the caller in batches on
+ * a delivery executor, such as {@code Platform::runLater} for the JavaFX Application Thread. At most one
+ * delivery is waiting at a time; results that complete while it waits join its batch, so a fast loader never
+ * floods the delivery executor with one task per save.</p>
+ *
+ * @param <T> the type of a loaded save.
+ */
+public class SaveLoader<T> {
+    public static final int DEFAULT_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+    public static final long IDLE_SECONDS = 30;
+
+    private static final ThreadPoolExecutor workers = createWorkers();
+
+    private final List<Callable<T>> tasks;
+    private final int parallelism;
+    private final Queue<Callable<T>> unstarted = new ConcurrentLinkedQueue<>();
+    private final Queue<T> undelivered = new ConcurrentLinkedQueue<>();
+    private final List<T> results = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+    private final CompletableFuture<List<T>> result = new CompletableFuture<>();
+    private AtomicInteger remaining;
+    private Consumer<List<T>> whenLoaded = loaded -> { };
+    private Executor deliveryExecutor;
+    private Consumer<List<T>> onBatch;
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a loader. Call {@link #start(List, Executor, Consumer)} to begin loading.
+     *
+     * @param tasks the loads to run; a load that returns {@code null} or fails is left out of the results.
+     * @param parallelism the number of loads to run at once, up to {@link #DEFAULT_PARALLELISM}.
+     */
+    public SaveLoader(List<Callable<T>> tasks, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1.");
+        }
+        this.tasks = tasks;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets an action to run once every load has finished, before {@link #getResult()} completes. It runs on
+     * the worker thread that finished last, or on the caller of {@code start} if there is nothing to load.
+     *
+     * @param action the action, given every result.
+     * @return this loader.
+     */
+    public SaveLoader<T> whenLoaded(Consumer<List<T>> action) {
+        this.whenLoaded = action;
+        return this;
+    }
+
+    /**
+     * Starts loading.
+     *
+     * @param loaded results that are already at hand; they are delivered first and included in the result.
+     * @param deliveryExecutor the executor that delivers batches of results.
+     * @param onBatch receives each batch of results, in completion order, on the delivery executor.
+     * @return this loader.
+     * @throws IllegalStateException if the loader was already started.
+     */
+    public synchronized SaveLoader<T> start(List<T> loaded, Executor deliveryExecutor, Consumer<List<T>> onBatch) {
+        if (remaining != null) {
+            throw new IllegalStateException("Loader already started.");
+        }
+        this.deliveryExecutor = deliveryExecutor;
+        this.onBatch = onBatch;
+        this.remaining = new AtomicInteger(tasks.size());
+        results.addAll(loaded);
+        undelivered.addAll(loaded);
+        if (!loaded.isEmpty()) {
+            scheduleDelivery(); // Delivered together as the first batch
+        }
+        if (tasks.isEmpty()) {
+            finish();
+            return this;
+        }
+
+        // One runner per load that may run at once; each takes loads until none are left
+        unstarted.addAll(tasks);
+        for (int i = 0; i < Math.min(parallelism, tasks.size()); i++) {
+            workers.execute(this::runLoads);
+        }
+        return this;
+    }
+
+    /**
+     * Creates the shared worker pool. Its threads are daemons, so they never keep the application alive.
+     */
+    private static ThreadPoolExecutor createWorkers() {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(DEFAULT_PARALLELISM, DEFAULT_PARALLELISM,
+                IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "save-loader-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Gets the results of every load, completed once all of them have finished. The last batch may still be
+     * waiting on the delivery executor then, but it was handed to the executor before the future completed.
+     *
+     * @return a future of the results, in completion order.
+     */
+    public CompletableFuture<List<T>> getResult() {
+        return result;
+    }
+
+    /**
+     * Stops loading and delivering. Loads that are running finish, but their results are dropped,
+     * loads that have not started are skipped, and the result future is cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+        unstarted.clear();
+        result.cancel(false);
+    }
+
+    /**
+     * Checks if the loader was cancelled.
+     *
+     * @return {@code true} if {@link #cancel()} was called, otherwise {@code false}.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void runLoads() {
+        for (Callable<T> task; !cancelled && (task = unstarted.poll()) != null; ) {
+            run(task);
+        }
+    }
+
+    private void run(Callable<T> task) {
+        try {
+            T value = task.call();
+            if (value != null) {
+                accept(value);
+            }
+        } catch (Exception e) {
+            System.err.println("Error loading a save: " + e.getMessage());
+        }
+        if (remaining.decrementAndGet() == 0) {
+            finish();
+        }
+    }
+
+    private void accept(T value) {
+        results.add(value);
+        undelivered.add(value);
+        scheduleDelivery();
+    }
+
+    private void finish() {
+        if (cancelled) return;
+        List<T> all;
+        synchronized (results) {
+            all = new ArrayList<>(results);
+        }
+        try {
+            whenLoaded.accept(all);
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        result.complete(all);
+    }
+
+    private void scheduleDelivery() {
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            deliveryExecutor.execute(this::deliver);
+        }
+    }
+
+    /**
+     * Hands everything that completed since the last delivery to the caller. Clearing the flag before
+     * draining means a result added during the drain either joins this batch or schedules the next one.
+     */
+    private void deliver() {
+        synchronized (undelivered) {
+            deliveryScheduled.set(false);
+            List<T> batch = new ArrayList<>();
+            for (T value; (value = undelivered.poll()) != null; ) {
+                batch.add(value);
+            }
+            if (!batch.isEmpty() && !cancelled) {
+                onBatch.accept(batch);
+            }
+        }
+    }
+}
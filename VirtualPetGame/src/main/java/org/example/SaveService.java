@@ -0,0 +1,242 @@
+package org.example;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The {@code SaveService} class writes saved games in the background, so saving never blocks the
+ * JavaFX Application Thread on file I/O.
+ *
+ * <p>A single writer thread takes save requests in the order they arrive. Requests for a save that is
+ * still waiting to be written replace the waiting one, so a burst of saves for the same pet results in
+ * one write of its latest state. At most {@code capacity} different saves can wait at once; beyond that,
+ * {@link #save(String, SavedGame)} blocks until the writer catches up. Call {@link #close()} before exiting
+ * to write everything that is still waiting.</p>
+ *
+ * <p>Saves queued with {@link #save(String, SavedGame, SaveDelta)} are written incrementally through
+ * {@link SaveWriter#saveIncremental(SavedGame, SaveDelta, String)}. When such a save replaces a waiting one,
+ * their deltas are merged; if either of them was a full save, a full save is written. The changes of a delta are
+ * no longer tracked by the game once it is queued, so when a write fails, the next save of the same name is
+ * written in full instead, which carries the lost changes along.</p>
+ */
+public class SaveService implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final SaveWriter saveWriter;
+    private final int capacity;
+    private final Map<String, Pending> pending = new LinkedHashMap<>(); // Waiting saves, oldest first
+    private final Set<String> failed = new HashSet<>(); // Saves whose last write failed, so the next one is full
+    private final Object lock = new Object();
+    private final Thread writer;
+
+    private boolean writing; // Whether the writer is in the middle of a write
+    private boolean closed;
+    private long written; // Number of saves written successfully
+    private long coalesced; // Number of saves replaced before they were written
+
+    /**
+     * Creates a save service with the default capacity and starts its writer thread.
+     *
+     * @param saveWriter where the saves are written, such as a {@link LoadData}; only the writer thread uses it.
+     */
+    public SaveService(SaveWriter saveWriter) {
+        this(saveWriter, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a save service and starts its writer thread.
+     *
+     * @param saveWriter where the saves are written, such as a {@link LoadData}; only the writer thread uses it.
+     * @param capacity the number of different saves that may wait to be written.
+     */
+    public SaveService(SaveWriter saveWriter, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+        this.saveWriter = saveWriter;
+        this.capacity = capacity;
+        this.writer = new Thread(this::run, "save-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * A save waiting to be written.
+     */
+    private static final class Pending {
+        final SavedGame snapshot;
+        final SaveDelta delta; // Changes since the last write, or null for a full save
+
+        Pending(SavedGame snapshot, SaveDelta delta) {
+            this.snapshot = snapshot;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * Queues a saved game to be written in full. The save is copied first, so the caller may keep changing it.
+     *
+     * @param saveName the name of the save file (without extension).
+     * @param savedGame the saved game to write.
+     * @throws IllegalStateException if the service has been closed.
+     */
+    public void save(String saveName, SavedGame savedGame) {
+        save(saveName, savedGame, null);
+    }
+
+    /**
+     * Queues the changes of a saved game to be written. The save is copied first, so the caller may keep
+     * changing it; the delta must not be changed after it is queued.
+     *
+     * @param saveName the name of the save file (without extension).
+     * @param savedGame the complete saved game, written if a full save turns out to be needed.
+     * @param delta the changes since the previous save was queued, or {@code null} to write the save in full.
+     * @throws IllegalStateException if the service has been closed.
+     */
+    public void save(String saveName, SavedGame savedGame, SaveDelta delta) {
+        SavedGame snapshot = savedGame.copy();
+        synchronized (lock) {
+            try {
+                while (!closed && !pending.containsKey(saveName) && pending.size() >= capacity) {
+                    lock.wait(); // Queue is full, wait for the writer
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Interrupted while queueing save: " + saveName);
+                return;
+            }
+            if (closed) {
+                throw new IllegalStateException("Save service is closed.");
+            }
+            if (failed.remove(saveName)) {
+                delta = null; // The failed write's changes are only in the full save
+            }
+            Pending waiting = pending.get(saveName);
+            if (waiting != null) {
+                coalesced++;
+                if (waiting.delta == null) {
+                    delta = null; // The waiting full save has not been written, so neither can this delta
+                } else if (delta != null) {
+                    waiting.delta.merge(delta);
+                    delta = waiting.delta;
+                }
+            }
+            pending.put(saveName, new Pending(snapshot, delta)); // Keeps the waiting save's place in the queue
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until every queued save has been written.
+     *
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public void flush() throws InterruptedException {
+        synchronized (lock) {
+            while (!pending.isEmpty() || writing) {
+                lock.wait();
+            }
+        }
+    }
+
+    /**
+     * Writes every queued save, then stops the writer thread. Further saves are rejected.
+     *
+     * <p>If the calling thread is interrupted while waiting, it stops waiting and keeps its interrupt status;
+     * the writer still writes the remaining saves in the background.</p>
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Interrupted while closing the save service.");
+        }
+    }
+
+    /**
+     * Gets the number of saves written so far. Failed writes are not counted.
+     *
+     * @return the number of successful writes.
+     */
+    public long getWrittenCount() {
+        synchronized (lock) {
+            return written;
+        }
+    }
+
+    /**
+     * Gets the number of saves that were replaced by a newer save before being written.
+     *
+     * @return the number of coalesced saves.
+     */
+    public long getCoalescedCount() {
+        synchronized (lock) {
+            return coalesced;
+        }
+    }
+
+    /**
+     * Writes queued saves until the service is closed and the queue is empty.
+     */
+    private void run() {
+        while (true) {
+            String saveName;
+            Pending save;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // Only close() stops the writer, so nothing queued is lost
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return; // Closed and drained
+                }
+                Iterator<Map.Entry<String, Pending>> oldest = pending.entrySet().iterator();
+                Map.Entry<String, Pending> entry = oldest.next();
+                oldest.remove();
+                saveName = entry.getKey();
+                save = entry.getValue();
+                writing = true;
+                lock.notifyAll(); // Room in the queue
+            }
+
+            boolean saved = false;
+            try {
+                if (save.delta == null) {
+                    saved = saveWriter.saveNewGame(save.snapshot, saveName);
+                } else {
+                    saved = saveWriter.saveIncremental(save.snapshot, save.delta, saveName);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Error writing save " + saveName + ": " + e.getMessage());
+            } finally {
+                synchronized (lock) {
+                    if (saved) {
+                        written++;
+                    } else {
+                        Pending waiting = pending.get(saveName);
+                        if (waiting != null) {
+                            // Its delta builds on the failed write, so write its snapshot in full
+                            pending.put(saveName, new Pending(waiting.snapshot, null));
+                        } else {
+                            failed.add(saveName);
+                        }
+                    }
+                    writing = false;
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+}
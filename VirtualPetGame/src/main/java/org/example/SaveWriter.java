@@ -0,0 +1,29 @@
+package org.example;
+
+/**
+ * Interface for the storage the {@link SaveService} writes saved games to.
+ *
+ * <p>The game uses {@link LoadData}, which writes to the {@code SavedFiles} folder. Tests can plug in
+ * their own writer to observe the saves without touching the disk.</p>
+ */
+public interface SaveWriter {
+
+    /**
+     * Writes a saved game in full.
+     *
+     * @param savedGame the saved game to write.
+     * @param saveName the name of the save (without extension).
+     * @return {@code true} if the save was written, {@code false} if it failed.
+     */
+    boolean saveNewGame(SavedGame savedGame, String saveName);
+
+    /**
+     * Writes only the changes of a saved game since it was last written.
+     *
+     * @param savedGame the complete saved game, written if a full save is needed.
+     * @param delta the changes since the save was last written.
+     * @param saveName the name of the save (without extension).
+     * @return {@code true} if the changes were written, {@code false} if they failed.
+     */
+    boolean saveIncremental(SavedGame savedGame, SaveDelta delta, String saveName);
+}
@@ -1,5 +1,14 @@
 package org.example;
 
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -12,6 +21,7 @@ import java.util.Map;
 public class SavedGame {
     public PlayerInfo playerInfo;
     public PetInfo petInfo;
+    public long lastSaved; // Wall-clock time of the save in epoch milliseconds, 0 if unknown
 
     /**
      * Retrieves the name of the saved game.
@@ -23,6 +33,28 @@ public class SavedGame {
         return (playerInfo != null && playerInfo.name != null) ? playerInfo.name : "Unnamed Save";
     }
 
+    /**
+     * Creates a deep copy of this saved game, so it can be written out while the original keeps changing.
+     *
+     * @return an independent copy of this saved game.
+     */
+    public SavedGame copy() {
+        try {
+            return SavedGameCodec.decode(SavedGameCodec.encode(this));
+        } catch (IOException e) {
+            throw new IllegalStateException("A freshly encoded save must decode", e);
+        }
+    }
+
+    /**
+     * Sets the save time to now, or to one millisecond after the previous save time if that is not earlier.
+     * The save times of a game are then strictly increasing, so they also order its saves and delta records,
+     * even when two saves fall in the same millisecond or the clock goes back.
+     */
+    public void markSaved() {
+        lastSaved = Math.max(System.currentTimeMillis(), lastSaved + 1);
+    }
+
     /**
      * Represents information about the player.
      */
@@ -44,6 +76,42 @@ public class SavedGame {
         public static class Item {
             public String type;
             public int quantity;
+
+            /**
+             * Reads and writes an {@code Item} as JSON without reflection.
+             */
+            public static class JsonAdapter extends TypeAdapter<Item> {
+                @Override
+                public void write(JsonWriter out, Item item) throws IOException {
+                    if (item == null) {
+                        out.nullValue();
+                        return;
+                    }
+                    out.beginObject();
+                    if (item.type != null) out.name("type").value(item.type);
+                    out.name("quantity").value(item.quantity);
+                    out.endObject();
+                }
+
+                @Override
+                public Item read(JsonReader in) throws IOException {
+                    if (in.peek() == JsonToken.NULL) {
+                        in.nextNull();
+                        return null;
+                    }
+                    Item item = new Item();
+                    in.beginObject();
+                    while (in.hasNext()) {
+                        switch (in.nextName()) {
+                            case "type" -> item.type = SavedGame.JsonAdapter.nextString(in);
+                            case "quantity" -> item.quantity = SavedGame.JsonAdapter.nextInt(in);
+                            default -> in.skipValue();
+                        }
+                    }
+                    in.endObject();
+                    return item;
+                }
+            }
         }
     }
 
@@ -68,4 +136,224 @@ public class SavedGame {
             public double sleepDepletionRate;
         }
     }
+
+    /**
+     * Reads and writes a {@code SavedGame} as JSON without reflection, in the same shape Gson's default
+     * binding uses, so saves written either way can be read either way. Unknown members are skipped.
+     */
+    public static class JsonAdapter extends TypeAdapter<SavedGame> {
+        private final PlayerInfo.Item.JsonAdapter itemAdapter = new PlayerInfo.Item.JsonAdapter();
+
+        @Override
+        public void write(JsonWriter out, SavedGame savedGame) throws IOException {
+            if (savedGame == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            if (savedGame.playerInfo != null) {
+                out.name("playerInfo");
+                writePlayerInfo(out, savedGame.playerInfo);
+            }
+            if (savedGame.petInfo != null) {
+                out.name("petInfo");
+                writePetInfo(out, savedGame.petInfo);
+            }
+            out.name("lastSaved").value(savedGame.lastSaved);
+            out.endObject();
+        }
+
+        private void writePlayerInfo(JsonWriter out, PlayerInfo playerInfo) throws IOException {
+            out.beginObject();
+            if (playerInfo.name != null) out.name("name").value(playerInfo.name);
+            out.name("score").value(playerInfo.score);
+            if (playerInfo.inventory != null) {
+                out.name("inventory").beginObject();
+                for (Map.Entry<String, List<PlayerInfo.Item>> entry : playerInfo.inventory.entrySet()) {
+                    out.name(entry.getKey());
+                    if (entry.getValue() == null) {
+                        out.nullValue();
+                        continue;
+                    }
+                    out.beginArray();
+                    for (PlayerInfo.Item item : entry.getValue()) {
+                        itemAdapter.write(out, item);
+                    }
+                    out.endArray();
+                }
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        private static void writePetInfo(JsonWriter out, PetInfo petInfo) throws IOException {
+            out.beginObject();
+            if (petInfo.petType != null) out.name("petType").value(petInfo.petType);
+            if (petInfo.name != null) out.name("name").value(petInfo.name);
+            PetInfo.Stats stats = petInfo.stats;
+            if (stats != null) {
+                out.name("stats").beginObject();
+                out.name("health").value(stats.health);
+                out.name("sleep").value(stats.sleep);
+                out.name("fullness").value(stats.fullness);
+                out.name("happiness").value(stats.happiness);
+                out.name("fullnessDepletionRate").value(stats.fullnessDepletionRate);
+                out.name("happinessDepletionRate").value(stats.happinessDepletionRate);
+                out.name("sleepDepletionRate").value(stats.sleepDepletionRate);
+                out.endObject();
+            }
+            out.endObject();
+        }
+
+        @Override
+        public SavedGame read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            SavedGame savedGame = new SavedGame();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "playerInfo" -> savedGame.playerInfo = readPlayerInfo(in);
+                    case "petInfo" -> savedGame.petInfo = readPetInfo(in);
+                    case "lastSaved" -> savedGame.lastSaved = nextLong(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return savedGame;
+        }
+
+        private PlayerInfo readPlayerInfo(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            PlayerInfo playerInfo = new PlayerInfo();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "name" -> playerInfo.name = nextString(in);
+                    case "score" -> playerInfo.score = nextInt(in);
+                    case "inventory" -> playerInfo.inventory = readInventory(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return playerInfo;
+        }
+
+        private Map<String, List<PlayerInfo.Item>> readInventory(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Map<String, List<PlayerInfo.Item>> inventory = new LinkedHashMap<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    inventory.put(name, null);
+                    continue;
+                }
+                List<PlayerInfo.Item> items = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    items.add(itemAdapter.read(in));
+                }
+                in.endArray();
+                inventory.put(name, items);
+            }
+            in.endObject();
+            return inventory;
+        }
+
+        private static PetInfo readPetInfo(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            PetInfo petInfo = new PetInfo();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "petType" -> petInfo.petType = nextString(in);
+                    case "name" -> petInfo.name = nextString(in);
+                    case "stats" -> petInfo.stats = readStats(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return petInfo;
+        }
+
+        private static PetInfo.Stats readStats(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            PetInfo.Stats stats = new PetInfo.Stats();
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "health" -> stats.health = nextInt(in);
+                    case "sleep" -> stats.sleep = nextInt(in);
+                    case "fullness" -> stats.fullness = nextInt(in);
+                    case "happiness" -> stats.happiness = nextInt(in);
+                    case "fullnessDepletionRate" -> stats.fullnessDepletionRate = nextDouble(in);
+                    case "happinessDepletionRate" -> stats.happinessDepletionRate = nextDouble(in);
+                    case "sleepDepletionRate" -> stats.sleepDepletionRate = nextDouble(in);
+                    default -> in.skipValue();
+                }
+            }
+            in.endObject();
+            return stats;
+        }
+
+        /**
+         * Reads a string that may be {@code null}.
+         */
+        static String nextString(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return in.nextString();
+        }
+
+        /**
+         * Reads an int, reporting a malformed number as a syntax error as Gson's reflective binding does.
+         */
+        static int nextInt(JsonReader in) throws IOException {
+            try {
+                return in.nextInt();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        /**
+         * Reads a long, reporting a malformed number as a syntax error.
+         */
+        static long nextLong(JsonReader in) throws IOException {
+            try {
+                return in.nextLong();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        /**
+         * Reads a double, reporting a malformed number as a syntax error.
+         */
+        static double nextDouble(JsonReader in) throws IOException {
+            try {
+                return in.nextDouble();
+            } catch (NumberFormatException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,237 @@
+package org.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code SavedGameCodec} class converts a {@link SavedGame} to and from a compact binary format.
+ *
+ * <p>A binary save starts with the magic bytes {@code VPGS} and a one-byte schema version, followed by the
+ * save time and the player and pet sections. Integers are written as variable-length quantities, so typical
+ * inventory quantities and stats take a single byte. Strings are UTF-8 with a length prefix, and depletion
+ * rates are written as raw doubles so they survive a round trip exactly.</p>
+ */
+public final class SavedGameCodec {
+    public static final int VERSION = 1;
+    private static final byte[] MAGIC = {'V', 'P', 'G', 'S'};
+
+    private SavedGameCodec() {
+    }
+
+    /**
+     * Checks if the given file contents are a binary save.
+     *
+     * @param data the contents of a save file.
+     * @return {@code true} if the data starts with the binary save header, otherwise {@code false}.
+     */
+    public static boolean isBinary(byte[] data) {
+        if (data.length < MAGIC.length) return false;
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a saved game in the binary format.
+     *
+     * @param savedGame the saved game to encode.
+     * @return the encoded bytes.
+     */
+    public static byte[] encode(SavedGame savedGame) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(savedGame.lastSaved);
+            writePlayerInfo(out, savedGame.playerInfo);
+            writePetInfo(out, savedGame.petInfo);
+        } catch (IOException e) {
+            throw new IllegalStateException("Writing to memory cannot fail", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a saved game from the binary format.
+     *
+     * @param data the encoded bytes, starting with the binary save header.
+     * @return the decoded saved game.
+     * @throws IOException if the data is not a binary save, has an unsupported version, or is truncated.
+     */
+    public static SavedGame decode(byte[] data) throws IOException {
+        if (!isBinary(data)) {
+            throw new IOException("Not a binary save file.");
+        }
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, MAGIC.length, data.length - MAGIC.length));
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version: " + version);
+        }
+        SavedGame savedGame = new SavedGame();
+        savedGame.lastSaved = in.readLong();
+        savedGame.playerInfo = readPlayerInfo(in);
+        savedGame.petInfo = readPetInfo(in);
+        return savedGame;
+    }
+
+    private static void writePlayerInfo(DataOutputStream out, SavedGame.PlayerInfo playerInfo) throws IOException {
+        out.writeBoolean(playerInfo != null);
+        if (playerInfo == null) return;
+        writeString(out, playerInfo.name);
+        writeVarInt(out, zigZag(playerInfo.score));
+
+        Map<String, List<SavedGame.PlayerInfo.Item>> inventory = playerInfo.inventory;
+        writeVarInt(out, inventory == null ? 0 : inventory.size() + 1); // 0 marks a missing inventory
+        if (inventory == null) return;
+        for (Map.Entry<String, List<SavedGame.PlayerInfo.Item>> entry : inventory.entrySet()) {
+            writeString(out, entry.getKey());
+            writeVarInt(out, entry.getValue().size());
+            for (SavedGame.PlayerInfo.Item item : entry.getValue()) {
+                writeString(out, item.type);
+                writeVarInt(out, zigZag(item.quantity));
+            }
+        }
+    }
+
+    private static SavedGame.PlayerInfo readPlayerInfo(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        SavedGame.PlayerInfo playerInfo = new SavedGame.PlayerInfo();
+        playerInfo.name = readString(in);
+        playerInfo.score = unZigZag(readVarInt(in));
+
+        int entries = readVarInt(in) - 1;
+        if (entries < 0) return playerInfo;
+        playerInfo.inventory = new LinkedHashMap<>();
+        for (int e = 0; e < entries; e++) {
+            String name = readString(in);
+            int stacks = readVarInt(in);
+            checkCount(in, stacks, 2); // A stack is at least a type and a quantity byte
+            List<SavedGame.PlayerInfo.Item> items = new ArrayList<>(stacks);
+            for (int s = 0; s < stacks; s++) {
+                SavedGame.PlayerInfo.Item item = new SavedGame.PlayerInfo.Item();
+                item.type = readString(in);
+                item.quantity = unZigZag(readVarInt(in));
+                items.add(item);
+            }
+            playerInfo.inventory.put(name, items);
+        }
+        return playerInfo;
+    }
+
+    private static void writePetInfo(DataOutputStream out, SavedGame.PetInfo petInfo) throws IOException {
+        out.writeBoolean(petInfo != null);
+        if (petInfo == null) return;
+        writeString(out, petInfo.petType);
+        writeString(out, petInfo.name);
+
+        SavedGame.PetInfo.Stats stats = petInfo.stats;
+        out.writeBoolean(stats != null);
+        if (stats == null) return;
+        writeVarInt(out, zigZag(stats.health));
+        writeVarInt(out, zigZag(stats.sleep));
+        writeVarInt(out, zigZag(stats.fullness));
+        writeVarInt(out, zigZag(stats.happiness));
+        out.writeDouble(stats.fullnessDepletionRate);
+        out.writeDouble(stats.happinessDepletionRate);
+        out.writeDouble(stats.sleepDepletionRate);
+    }
+
+    private static SavedGame.PetInfo readPetInfo(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) return null;
+        SavedGame.PetInfo petInfo = new SavedGame.PetInfo();
+        petInfo.petType = readString(in);
+        petInfo.name = readString(in);
+
+        if (!in.readBoolean()) return petInfo;
+        SavedGame.PetInfo.Stats stats = new SavedGame.PetInfo.Stats();
+        stats.health = unZigZag(readVarInt(in));
+        stats.sleep = unZigZag(readVarInt(in));
+        stats.fullness = unZigZag(readVarInt(in));
+        stats.happiness = unZigZag(readVarInt(in));
+        stats.fullnessDepletionRate = in.readDouble();
+        stats.happinessDepletionRate = in.readDouble();
+        stats.sleepDepletionRate = in.readDouble();
+        petInfo.stats = stats;
+        return petInfo;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length plus one, then its bytes. A length of 0 marks {@code null}.
+     */
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            writeVarInt(out, 0);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length + 1);
+        out.write(utf8);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        int length = readVarInt(in) - 1;
+        if (length < 0) return null;
+        checkCount(in, length, 1);
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks a count read from the input against the bytes left, before anything is allocated for it, so a
+     * corrupt count fails the decode instead of requesting gigabytes. Only valid for in-memory inputs, whose
+     * {@code available()} is exactly the number of bytes left.
+     *
+     * @param count the count read.
+     * @param minBytes the fewest bytes each counted element takes.
+     * @throws IOException if the elements cannot fit in the bytes left.
+     */
+    static void checkCount(DataInputStream in, int count, int minBytes) throws IOException {
+        if (count < 0 || (long) count * minBytes > in.available()) {
+            throw new IOException("Corrupt save: " + count + " elements do not fit in " + in.available() + " bytes.");
+        }
+    }
+
+    /**
+     * Writes an unsigned int seven bits at a time, low bits first, with the high bit set on every byte but the last.
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in save file.");
+    }
+
+    /**
+     * Maps signed ints to unsigned ones so small negative values stay short: 0, -1, 1, -2 become 0, 1, 2, 3.
+     */
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
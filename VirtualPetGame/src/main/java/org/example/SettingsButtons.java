@@ -33,7 +33,7 @@ public class SettingsButtons {
      *
      * @param currentScene The current scene where the settings UI will be added.
      * @param stage        The main application stage.
-     * @param prevScreen   The screen to return to
+     * @param prevScreen   The screen the settings return to
      */
     public void createSettingsButton(Scene currentScene, Stage stage, String prevScreen) {
         // Get the root node of the current scene (expected to be an AnchorPane)
@@ -130,7 +130,7 @@ public class SettingsButtons {
         parentalControls.setOnAction(e -> {
             // Play the sound effect
             Music.getInstance().playSoundEffect();
-            promptForPassword(stage, () -> navigationHandler.navigate("ParentalControls"));
+            promptForPassword(stage, () -> navigationHandler.navigate("ParentalControls", "Settings"));
         });
 
         // Add all controls to the contentContainer
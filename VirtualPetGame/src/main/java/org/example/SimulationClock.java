@@ -0,0 +1,21 @@
+package org.example;
+
+/**
+ * Functional interface for the time source used by the {@link SimulationEngine}.
+ *
+ * <p>The game uses {@link #SYSTEM}, which reads {@link System#nanoTime()}. Headless runs,
+ * tests and benchmarks can plug in their own clock to drive the simulation at any speed.</p>
+ */
+@FunctionalInterface
+public interface SimulationClock {
+
+    /** Clock backed by {@link System#nanoTime()}. */
+    SimulationClock SYSTEM = System::nanoTime;
+
+    /**
+     * Returns the current time of this clock.
+     *
+     * @return the current time in nanoseconds
+     */
+    long nanoTime();
+}
@@ -0,0 +1,205 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The {@code SimulationEngine} class advances pets and inventories over time without any JavaFX dependency.
+ * It owns the stat ticks and inventory replenishment for every registered player, and reads time from a
+ * pluggable {@link SimulationClock} so it can run inside the game, on a server, or in a benchmark.
+ *
+ * <p>Periodic work is driven by a {@link TimerWheel}: each player gets its own stat tick and replenishment
+ * timers, so {@link #update()} only does work when one of them is due.</p>
+ */
+public class SimulationEngine {
+    public static final long UPDATE_INTERVAL = 5_000_000_000L; // 5 seconds in nanoseconds
+    public static final long REPLENISH_INTERVAL = 300_000_000_000L; // 5 minutes in nanoseconds
+    public static final long TIMER_RESOLUTION = 10_000_000L; // 10 milliseconds in nanoseconds
+
+    // Replenished items, added by name; their stats come from the ItemCatalog
+    private static final String[] FOODS = {"Apple", "Bread", "Cheese", "Banana", "Carrot"};
+    private static final String[] GIFTS = {"Toy", "Collar", "Ball", "Blanket"};
+
+    private final SimulationClock clock;
+    private final Random random;
+    private final List<Player> players = new ArrayList<>();
+    private final Map<Player, TimerWheel.Timer[]> playerTimers = new IdentityHashMap<>();
+    private final TimerWheel timers;
+    private WorldTick worldTick = new WorldTick();
+
+    private long petTicks; // Total number of pet stat updates performed
+    private boolean ticked; // Whether a stat tick ran during the current update
+
+    /**
+     * Creates a new engine that reads time from the given clock.
+     *
+     * @param clock the clock that drives the simulation.
+     */
+    public SimulationEngine(SimulationClock clock) {
+        this(clock, new Random());
+    }
+
+    /**
+     * Creates a new engine with a specific random source, so replenishment can be reproduced.
+     *
+     * @param clock the clock that drives the simulation.
+     * @param random the random source used to pick replenished items.
+     */
+    public SimulationEngine(SimulationClock clock, Random random) {
+        this.clock = clock;
+        this.random = random;
+        this.timers = new TimerWheel(clock.nanoTime(), TIMER_RESOLUTION);
+    }
+
+    /**
+     * Registers a player whose pet and inventory will be advanced by this engine.
+     * The player's first stat tick is due one {@link #UPDATE_INTERVAL} after registration.
+     * Timers of other players that are already due run first.
+     *
+     * @param player the player to simulate.
+     */
+    public void addPlayer(Player player) {
+        if (playerTimers.containsKey(player)) return;
+        timers.advanceTo(clock.nanoTime()); // Bring the wheel up to date so the new timers start now
+        players.add(player);
+        playerTimers.put(player, new TimerWheel.Timer[]{
+                timers.schedulePeriodic(UPDATE_INTERVAL, () -> tickPlayer(player)),
+                timers.schedulePeriodic(REPLENISH_INTERVAL, () -> replenishInventory(player.getInventory()))
+        });
+    }
+
+    /**
+     * Stops simulating the given player and cancels its timers.
+     *
+     * @param player the player to remove.
+     */
+    public void removePlayer(Player player) {
+        TimerWheel.Timer[] playerTimer = playerTimers.remove(player);
+        if (playerTimer == null) return;
+        for (TimerWheel.Timer timer : playerTimer) {
+            timer.cancel();
+        }
+        players.remove(player);
+    }
+
+    /**
+     * Gets the players simulated by this engine.
+     *
+     * @return an unmodifiable view of the registered players.
+     */
+    public List<Player> getPlayers() {
+        return Collections.unmodifiableList(players);
+    }
+
+    /**
+     * Reads the clock and runs whatever timers are due: a stat tick every {@link #UPDATE_INTERVAL}
+     * and an inventory replenishment every {@link #REPLENISH_INTERVAL} for each player, plus any
+     * other events scheduled on {@link #getTimers()}.
+     *
+     * @return {@code true} if any pet's stats were updated by this call, {@code false} otherwise.
+     */
+    public boolean update() {
+        ticked = false;
+        timers.advanceTo(clock.nanoTime());
+        return ticked;
+    }
+
+    /**
+     * Runs one stat update for every living pet, regardless of the clock.
+     * Large populations are ticked in parallel by the engine's {@link WorldTick}.
+     *
+     * <p>Neither the game nor {@link PetServer} calls this: the game ticks its player through the per-player
+     * timers of {@link #update()}, and the server catches each session up when it is requested. It is for
+     * hosts that tick a whole population in lockstep, such as the world tick benchmark.</p>
+     */
+    public void tick() {
+        long ticks = worldTick.tick(players);
+        petTicks += ticks;
+        ticked |= ticks > 0;
+    }
+
+    /**
+     * Sets the world tick used by {@link #tick()}, e.g. to change the pool or the parallelism threshold.
+     *
+     * @param worldTick the world tick to use.
+     */
+    public void setWorldTick(WorldTick worldTick) {
+        this.worldTick = worldTick;
+    }
+
+    /**
+     * Runs one stat update for a player's pet if it is alive.
+     */
+    private void tickPlayer(Player player) {
+        Pet pet = player.getPet();
+        if (pet != null && !pet.isDead()) {
+            pet.updateStats(); // Deplete stats or regenerate sleep
+            petTicks++;
+            ticked = true;
+        }
+    }
+
+    /**
+     * Replenishes the inventory of every registered player, regardless of the clock.
+     */
+    public void replenish() {
+        for (Player player : players) {
+            replenishInventory(player.getInventory());
+        }
+    }
+
+    /**
+     * Replenishes an inventory with random food and gift items.
+     * Adds two food items and two gift items to the inventory, without allocating.
+     *
+     * @param inventory the inventory to replenish.
+     */
+    public void replenishInventory(Inventory inventory) {
+        for (int i = 0; i < 2; i++) {
+            String foodName = FOODS[random.nextInt(FOODS.length)];
+            inventory.addItem(foodName, 5);
+        }
+        for (int i = 0; i < 2; i++) {
+            String giftName = GIFTS[random.nextInt(GIFTS.length)];
+            inventory.addItem(giftName, 5);
+        }
+    }
+
+    /**
+     * Gets the timer wheel that drives this engine. Other game events, such as action cooldowns,
+     * can be scheduled on it and will fire from {@link #update()}.
+     *
+     * @return the engine's timer wheel.
+     */
+    public TimerWheel getTimers() {
+        return timers;
+    }
+
+    /**
+     * Gets the total number of pet stat updates this engine has performed.
+     *
+     * @return the number of pet ticks processed so far.
+     */
+    public long getPetTicks() {
+        return petTicks;
+    }
+
+    /**
+     * Checks if every registered pet is dead.
+     *
+     * @return {@code true} if no registered pet is alive, {@code false} otherwise.
+     */
+    public boolean allPetsDead() {
+        for (Player player : players) {
+            Pet pet = player.getPet();
+            if (pet != null && !pet.isDead()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,15 +1,22 @@
 package org.example;
 
 
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.ImageView;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * The Sprite class is responsible for managing and displaying different visual states
  * of a pet or character in the game. It maintains a map of states, where each state is
- * associated with an {@link ImageView}.
+ * associated with an {@link ImageView}. Images taken from the {@link ImageCache} are shared
+ * with every other sprite of the same pet and given back with {@link #release()}.
+ *
+ * <p>A sprite made from a {@link SpriteAtlas} instead shows every state through one
+ * {@link ImageView}, and switching states only moves that view's viewport.</p>
  *
  *
  * @author Bashar Hamo
@@ -17,7 +24,10 @@ import java.util.Map;
  */
 public class Sprite {
     private ImageView currentState;
+    private String currentStateName;
     private Map<String, ImageView> petStates;
+    private List<String> cachedImages = new ArrayList<>(); // Resource paths acquired from the ImageCache
+    private Map<String, Rectangle2D> atlasViewports; // Null unless the sprite is backed by an atlas
 
     /**
      * Constructs a new Sprite instance with an empty state map.
@@ -26,6 +36,20 @@ public class Sprite {
         petStates = new HashMap<>();
     }
 
+    /**
+     * Constructs a sprite backed by an atlas, showing each state through the given view's viewport.
+     *
+     * @param atlasView the {@link ImageView} showing the atlas image; it is the sprite's view for every state.
+     * @param viewports where each state sits in the atlas image, by state name.
+     * @param atlasImagePath the resource path the atlas image was acquired from the {@link ImageCache} with.
+     */
+    public Sprite(ImageView atlasView, Map<String, Rectangle2D> viewports, String atlasImagePath) {
+        this();
+        this.atlasViewports = new HashMap<>(viewports);
+        this.currentState = atlasView;
+        cachedImages.add(atlasImagePath);
+    }
+
     /**
      * Gets the current state of the sprite.
      *
@@ -42,9 +66,22 @@ public class Sprite {
      * @throws IllegalArgumentException if the specified state does not exist in the state map.
      */
     public void setState(String stateName) {
+        if (stateName != null && stateName.equals(currentStateName)) {
+            return; // Pets re-apply their state every tick; leave the scene graph alone
+        }
+        if (atlasViewports != null) {
+            Rectangle2D viewport = atlasViewports.get(stateName);
+            if (viewport == null) {
+                throw new IllegalArgumentException("State '" + stateName + "' does not exist.");
+            }
+            currentState.setViewport(viewport); // Same view, another part of the atlas
+            currentStateName = stateName;
+            return;
+        }
         // Ensure the state exists in the map before setting
         if (petStates.containsKey(stateName)) {
             this.currentState = petStates.get(stateName);
+            this.currentStateName = stateName;
         } else {
             throw new IllegalArgumentException("State '" + stateName + "' does not exist.");
         }
@@ -65,6 +102,32 @@ public class Sprite {
         petStates.put(stateName, state);
     }
 
+    /**
+     * Adds a new state whose image was acquired from the {@link ImageCache}, so that
+     * {@link #release()} gives it back.
+     *
+     * @param stateName the name of the state to add.
+     * @param state the {@link ImageView} showing the cached image.
+     * @param resourcePath the resource path the image was acquired with.
+     * @throws IllegalArgumentException if the state name or image is null.
+     */
+    public void addState(String stateName, ImageView state, String resourcePath) {
+        addState(stateName, state);
+        cachedImages.add(resourcePath);
+    }
+
+    /**
+     * Gives back every image this sprite acquired from the {@link ImageCache}. Call it once the
+     * sprite is no longer shown; the cache may then evict images no other sprite uses.
+     */
+    public void release() {
+        ImageCache imageCache = ImageCache.getInstance();
+        for (String resourcePath : cachedImages) {
+            imageCache.release(resourcePath);
+        }
+        cachedImages.clear();
+    }
+
 
 
 }
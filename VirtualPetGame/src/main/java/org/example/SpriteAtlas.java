@@ -0,0 +1,178 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code SpriteAtlas} class is the frame index of a pet's sprite atlas: one image holding every state of
+ * the pet, and where each state sits in it. Atlases are built from the separate state images by
+ * {@link SpriteAtlasPacker} and kept next to them, as {@code /Sprites/<Pet>/atlas.png} and
+ * {@code /Sprites/<Pet>/atlas.json}.
+ *
+ * <p>A sprite made from an atlas shows its states through a single {@link ImageView}, switching between them
+ * by moving the view's viewport, so a pet needs one texture instead of one per state.</p>
+ */
+public class SpriteAtlas {
+    /** The states packed into every pet's atlas. */
+    public static final List<String> STATES = List.of(
+            "angry", "default", "dead", "happy", "play", "sad", "shock", "sleep", "disappointed");
+    public static final String IMAGE_FILE = "atlas.png";
+    public static final String INDEX_FILE = "atlas.json";
+    /** The width and height, in pixels, pets are shown at. */
+    public static final double PET_SIZE = 150;
+
+    private static final Gson GSON = new Gson();
+    private static final Map<String, SpriteAtlas> loaded = new ConcurrentHashMap<>(); // Indexes never change
+
+    String image = IMAGE_FILE;
+    int width;
+    int height;
+    LinkedHashMap<String, Frame> frames = new LinkedHashMap<>();
+
+    /**
+     * Where a state sits in the atlas image, in pixels.
+     */
+    public static class Frame {
+        int x;
+        int y;
+        int width;
+        int height;
+
+        Frame(int x, int y, int width, int height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /**
+     * Gets the resource folder holding a pet's sprites.
+     *
+     * @param petType the type of the pet (e.g., "Kuromametchi").
+     * @return the resource folder, ending with a slash.
+     */
+    public static String directoryOf(String petType) {
+        return "/Sprites/" + petType + "/";
+    }
+
+    /**
+     * Loads the frame index of a pet's atlas. An index is only read once per process.
+     *
+     * @param petType the type of the pet (e.g., "Kuromametchi").
+     * @return the frame index, or {@code null} if the pet has no atlas or it cannot be read.
+     */
+    public static SpriteAtlas load(String petType) {
+        SpriteAtlas atlas = loaded.get(petType);
+        if (atlas != null) {
+            return atlas;
+        }
+        try (InputStream in = SpriteAtlas.class.getResourceAsStream(directoryOf(petType) + INDEX_FILE)) {
+            if (in == null) {
+                return null;
+            }
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                atlas = GSON.fromJson(reader, SpriteAtlas.class);
+            }
+        } catch (IOException | JsonParseException e) {
+            System.err.println("Error reading sprite atlas of " + petType + ": " + e.getMessage());
+            return null;
+        }
+        if (atlas == null || atlas.frames == null) {
+            return null;
+        }
+        loaded.put(petType, atlas);
+        return atlas;
+    }
+
+    /**
+     * Creates the sprite of a pet from its atlas, shown at {@link #PET_SIZE} pixels with its aspect ratio kept.
+     *
+     * @param petType the type of the pet (e.g., "Kuromametchi").
+     * @return the sprite.
+     * @throws IllegalStateException if the pet has no atlas or its image cannot be loaded.
+     */
+    public static Sprite createPetSprite(String petType) {
+        SpriteAtlas atlas = load(petType);
+        Sprite sprite = atlas == null ? null : atlas.createSprite(petType);
+        if (sprite == null) {
+            throw new IllegalStateException("No sprite atlas for pet type " + petType + " in " + directoryOf(petType));
+        }
+        ImageView imageView = sprite.getCurrentState();
+        imageView.setFitWidth(PET_SIZE);
+        imageView.setFitHeight(PET_SIZE);
+        imageView.setPreserveRatio(true);
+        return sprite;
+    }
+
+    /**
+     * Creates a sprite showing this atlas's states through one {@link ImageView}. The atlas image is taken
+     * from the {@link ImageCache}, so every sprite of the pet shares it.
+     *
+     * @param petType the type of the pet the atlas belongs to.
+     * @return the sprite, or {@code null} if the atlas image cannot be loaded.
+     */
+    public Sprite createSprite(String petType) {
+        String imagePath = directoryOf(petType) + image;
+        Image atlasImage = ImageCache.getInstance().acquire(imagePath);
+        if (atlasImage == null) {
+            return null;
+        }
+        return new Sprite(new ImageView(atlasImage), getViewports(), imagePath);
+    }
+
+    /**
+     * Gets the viewport of every state in the atlas image.
+     *
+     * @return the viewports, by state name.
+     */
+    public Map<String, Rectangle2D> getViewports() {
+        Map<String, Rectangle2D> viewports = new LinkedHashMap<>();
+        for (Map.Entry<String, Frame> entry : frames.entrySet()) {
+            Frame frame = entry.getValue();
+            viewports.put(entry.getKey(), new Rectangle2D(frame.x, frame.y, frame.width, frame.height));
+        }
+        return viewports;
+    }
+
+    /**
+     * Gets where a state sits in the atlas image.
+     *
+     * @param state the name of the state.
+     * @return the frame, or {@code null} if the atlas has no such state.
+     */
+    public Frame getFrame(String state) {
+        return frames.get(state);
+    }
+
+    /**
+     * Gets the names of the states in the atlas.
+     *
+     * @return the state names, in the order they were packed.
+     */
+    public List<String> getStates() {
+        return List.copyOf(frames.keySet());
+    }
+
+    /**
+     * Gets the size of the atlas image.
+     *
+     * @return the width and height of the atlas image, in pixels.
+     */
+    public int[] getSize() {
+        return new int[] {width, height};
+    }
+}
@@ -0,0 +1,158 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code SpriteAtlasPacker} class packs each pet's state images into a {@link SpriteAtlas}: one image
+ * with the states laid out on shelves, and a JSON index of where each state sits. It runs at build time,
+ * outside the game, so it only needs {@code javax.imageio} and no JavaFX.
+ *
+ * <p>Run it from the project folder after adding or changing a pet's state images, and commit the atlases it
+ * writes: {@code java -cp target/classes:<gson> org.example.SpriteAtlasPacker [spritesFolder] [pet...]}.
+ * The sprites folder defaults to {@code src/main/resources/Sprites} and the pets to every {@link PetType}.</p>
+ */
+public class SpriteAtlasPacker {
+    /** Transparent pixels left around each state, so scaling a state never samples its neighbours. */
+    static final int PADDING = 1;
+
+    public static void main(String[] args) throws IOException {
+        Path spritesFolder = Path.of(args.length > 0 ? args[0] : "src/main/resources/Sprites");
+        List<String> pets = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            pets.add(args[i]);
+        }
+        if (pets.isEmpty()) {
+            for (PetType type : PetType.values()) {
+                pets.add(type.getDisplayName());
+            }
+        }
+
+        for (String pet : pets) {
+            SpriteAtlas atlas = packPet(spritesFolder.resolve(pet));
+            System.out.printf("%s: %d states in %dx%d%n", pet, atlas.frames.size(), atlas.width, atlas.height);
+        }
+    }
+
+    /**
+     * Packs the states of one pet and writes its atlas image and index into the pet's folder.
+     *
+     * @param petFolder the folder holding the pet's state images.
+     * @return the index of the written atlas.
+     * @throws IOException if an image cannot be read or the atlas cannot be written.
+     */
+    public static SpriteAtlas packPet(Path petFolder) throws IOException {
+        Map<String, BufferedImage> states = new LinkedHashMap<>();
+        for (String state : SpriteAtlas.STATES) {
+            File file = findStateImage(petFolder, state);
+            if (file == null) {
+                System.err.println("No '" + state + "' image in " + petFolder);
+                continue;
+            }
+            states.put(state, ImageIO.read(file));
+        }
+
+        SpriteAtlas atlas = layout(states);
+        ImageIO.write(draw(atlas, states), "png", petFolder.resolve(SpriteAtlas.IMAGE_FILE).toFile());
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(petFolder.resolve(SpriteAtlas.INDEX_FILE), StandardCharsets.UTF_8)) {
+            gson.toJson(atlas, writer);
+        }
+        return atlas;
+    }
+
+    /**
+     * Lays out the states on shelves, tallest first, in an atlas about as wide as it is tall.
+     *
+     * @param states the state images, by state name.
+     * @return the index of where each state goes.
+     */
+    static SpriteAtlas layout(Map<String, BufferedImage> states) {
+        long area = 0;
+        int widest = 0;
+        for (BufferedImage image : states.values()) {
+            area += (long) (image.getWidth() + PADDING * 2) * (image.getHeight() + PADDING * 2);
+            widest = Math.max(widest, image.getWidth() + PADDING * 2);
+        }
+        int atlasWidth = Math.max(widest, (int) Math.ceil(Math.sqrt(area)));
+
+        List<String> byHeight = new ArrayList<>(states.keySet());
+        byHeight.sort((a, b) -> states.get(b).getHeight() - states.get(a).getHeight());
+
+        SpriteAtlas atlas = new SpriteAtlas();
+        int x = 0;
+        int shelfY = 0;
+        int shelfHeight = 0;
+        for (String state : byHeight) {
+            BufferedImage image = states.get(state);
+            int cellWidth = image.getWidth() + PADDING * 2;
+            if (x + cellWidth > atlasWidth) {
+                // Start a new shelf under the current one
+                shelfY += shelfHeight;
+                x = 0;
+                shelfHeight = 0;
+            }
+            atlas.frames.put(state, new SpriteAtlas.Frame(x + PADDING, shelfY + PADDING, image.getWidth(), image.getHeight()));
+            x += cellWidth;
+            shelfHeight = Math.max(shelfHeight, image.getHeight() + PADDING * 2);
+            atlas.width = Math.max(atlas.width, x);
+        }
+        atlas.height = shelfY + shelfHeight;
+
+        // Keep the index in the order the states were given
+        LinkedHashMap<String, SpriteAtlas.Frame> ordered = new LinkedHashMap<>();
+        for (String state : states.keySet()) {
+            ordered.put(state, atlas.frames.get(state));
+        }
+        atlas.frames = ordered;
+        return atlas;
+    }
+
+    /**
+     * Draws the states into an atlas image following its index.
+     *
+     * @param atlas the index of where each state goes.
+     * @param states the state images, by state name.
+     * @return the atlas image.
+     */
+    static BufferedImage draw(SpriteAtlas atlas, Map<String, BufferedImage> states) {
+        BufferedImage image = new BufferedImage(Math.max(1, atlas.width), Math.max(1, atlas.height), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        for (Map.Entry<String, SpriteAtlas.Frame> entry : atlas.frames.entrySet()) {
+            SpriteAtlas.Frame frame = entry.getValue();
+            graphics.drawImage(states.get(entry.getKey()), frame.x, frame.y, null);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * Finds the image of a state, ignoring case, since some pets' images are named with capitals.
+     */
+    private static File findStateImage(Path petFolder, String state) {
+        File[] files = petFolder.toFile().listFiles();
+        if (files == null) {
+            return null;
+        }
+        for (File file : files) {
+            if (file.getName().equalsIgnoreCase(state + ".png")) {
+                return file;
+            }
+        }
+        return null;
+    }
+}
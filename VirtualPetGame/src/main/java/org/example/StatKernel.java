@@ -0,0 +1,79 @@
+package org.example;
+
+/**
+ * Kernel used by {@link PetStore} to deplete one stat column for a batch of pets.
+ *
+ * <p>Two implementations exist: {@link #SCALAR}, which runs anywhere, and a SIMD kernel built on
+ * {@code jdk.incubator.vector}, which needs the JVM to be started with
+ * {@code --add-modules jdk.incubator.vector}. Both produce bit-for-bit identical results.
+ * The kernel used by default is chosen with the {@code vpg.statKernel} system property
+ * ({@code scalar}, {@code vector} or {@code auto}, the default).</p>
+ */
+public interface StatKernel {
+
+    /** Kernel that depletes one pet at a time. */
+    StatKernel SCALAR = (stat, rate, active, size) -> {
+        for (int i = 0; i < size; i++) {
+            if ((active[i >>> 6] & (1L << i)) != 0) {
+                stat[i] = Math.max(0, stat[i] - rate[i]);
+            }
+        }
+    };
+
+    /**
+     * Computes {@code stat[i] = Math.max(0, stat[i] - rate[i])} for every pet {@code i < size}
+     * whose bit is set in {@code active}.
+     *
+     * @param stat the stat column to deplete in place.
+     * @param rate the matching depletion rate column.
+     * @param active a bitset of the pets to deplete, 64 pets per word.
+     * @param size the number of pets in the columns.
+     */
+    void deplete(double[] stat, double[] rate, long[] active, int size);
+
+    /**
+     * Creates the SIMD kernel, if the Vector API is available in this JVM.
+     *
+     * @return the SIMD kernel, or {@code null} if {@code jdk.incubator.vector} is not available.
+     */
+    static StatKernel vector() {
+        try {
+            return new VectorStatKernel();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Selects a kernel by name.
+     *
+     * @param name {@code scalar}, {@code vector} or {@code auto}.
+     * @return the kernel; {@code vector} and {@code auto} fall back to {@link #SCALAR} when the
+     *         Vector API is not available.
+     * @throws IllegalArgumentException if the name is not recognised.
+     */
+    static StatKernel select(String name) {
+        switch (name) {
+            case "scalar":
+                return SCALAR;
+            case "vector":
+            case "auto":
+                StatKernel vector = vector();
+                if (vector == null && name.equals("vector")) {
+                    System.err.println("Vector API not available, using scalar stat kernel");
+                }
+                return vector != null ? vector : SCALAR;
+            default:
+                throw new IllegalArgumentException("Unknown stat kernel: " + name);
+        }
+    }
+
+    /**
+     * Gets the kernel configured by the {@code vpg.statKernel} system property.
+     *
+     * @return the configured kernel.
+     */
+    static StatKernel configured() {
+        return select(System.getProperty("vpg.statKernel", "auto"));
+    }
+}
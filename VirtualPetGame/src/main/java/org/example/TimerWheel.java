@@ -0,0 +1,259 @@
+package org.example;
+
+/**
+ * The {@code TimerWheel} class is a hierarchical timer wheel for scheduling game events such as stat ticks,
+ * inventory replenishment and action cooldowns.
+ *
+ * <p>Time is divided into ticks of a fixed resolution. Timers due within the next 64 ticks sit in the
+ * first wheel, timers further away sit in coarser wheels and are moved down as their time approaches.
+ * Scheduling and cancelling are O(1), and advancing the wheel only touches the slots that are passed,
+ * so timers cost nothing until they are due. Callbacks run on the thread that calls {@link #advanceTo(long)}.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ */
+public class TimerWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS; // 64 slots per wheel
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6; // 64^6 ticks, about 2 years at 1 ms resolution
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final Timer[][] wheels = new Timer[LEVELS][SLOTS]; // Heads of the doubly linked slot lists
+    private final long startNanos;
+    private final long tickNanos;
+    private long currentTick;
+    private int pending;
+
+    /**
+     * A scheduled callback. Returned by the {@code schedule} methods so it can be cancelled.
+     */
+    public final class Timer {
+        private final Runnable task;
+        private final long periodTicks; // 0 for one-shot timers
+        private long deadline;
+        private int level = -1; // -1 when not in any wheel
+        private boolean cancelled;
+        private int slot;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(Runnable task, long deadline, long periodTicks) {
+            this.task = task;
+            this.deadline = deadline;
+            this.periodTicks = periodTicks;
+        }
+
+        /**
+         * Cancels the timer. Has no effect if it already fired (one-shot) or was cancelled.
+         */
+        public void cancel() {
+            cancelled = true;
+            if (level >= 0) {
+                unlink(this);
+            }
+        }
+
+        /**
+         * Checks if the timer is still waiting to fire.
+         *
+         * @return {@code true} if the timer is scheduled, otherwise {@code false}.
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+
+        /**
+         * Gets the time left until the timer fires, measured from the last time the wheel was advanced.
+         *
+         * @return the remaining time in nanoseconds, or 0 if the timer is not pending.
+         */
+        public long remainingNanos() {
+            return isPending() ? (deadline - currentTick) * tickNanos : 0;
+        }
+    }
+
+    /**
+     * Creates a timer wheel.
+     *
+     * @param startNanos the clock time, in nanoseconds, at which the wheel starts.
+     * @param tickNanos the resolution of the wheel in nanoseconds.
+     */
+    public TimerWheel(long startNanos, long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive.");
+        }
+        this.startNanos = startNanos;
+        this.tickNanos = tickNanos;
+    }
+
+    /**
+     * Schedules a callback to run once after the given delay.
+     *
+     * @param delayNanos the delay in nanoseconds, rounded up to the wheel's resolution.
+     * @param task the callback to run.
+     * @return the scheduled timer.
+     */
+    public Timer schedule(long delayNanos, Runnable task) {
+        Timer timer = new Timer(task, currentTick + toTicks(delayNanos), 0);
+        place(timer);
+        return timer;
+    }
+
+    /**
+     * Schedules a callback to run repeatedly, first after one period and then once every period.
+     *
+     * @param periodNanos the period in nanoseconds, rounded up to the wheel's resolution.
+     * @param task the callback to run.
+     * @return the scheduled timer; cancel it to stop the repetition.
+     */
+    public Timer schedulePeriodic(long periodNanos, Runnable task) {
+        long period = toTicks(periodNanos);
+        Timer timer = new Timer(task, currentTick + period, period);
+        place(timer);
+        return timer;
+    }
+
+    /**
+     * Advances the wheel to the given clock time, running every callback that has become due, in deadline order.
+     *
+     * @param nowNanos the current clock time in nanoseconds.
+     * @return the number of callbacks that ran.
+     */
+    public int advanceTo(long nowNanos) {
+        long target = (nowNanos - startNanos) / tickNanos;
+        int fired = 0;
+        while (currentTick < target) {
+            if (pending == 0) {
+                currentTick = target; // Nothing scheduled, skip straight ahead
+                break;
+            }
+            currentTick++;
+            cascade();
+            fired += fire(wheels[0], (int) (currentTick & SLOT_MASK));
+        }
+        return fired;
+    }
+
+    /**
+     * Gets the number of timers waiting to fire.
+     *
+     * @return the number of pending timers.
+     */
+    public int size() {
+        return pending;
+    }
+
+    /**
+     * Moves the timers of every coarser wheel whose slot starts at the current tick down to finer wheels.
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return; // Coarser wheels only turn when every finer wheel wraps
+            }
+            int slot = (int) ((currentTick >>> shift) & SLOT_MASK);
+            Timer timer = detach(wheels[level], slot);
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = timer.next = null;
+                if (!timer.cancelled) {
+                    place(timer);
+                }
+                timer = next;
+            }
+        }
+    }
+
+    /**
+     * Runs every due timer in a slot of the finest wheel and re-arms periodic ones.
+     */
+    private int fire(Timer[] wheel, int slot) {
+        int fired = 0;
+        Timer timer = detach(wheel, slot);
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.prev = timer.next = null;
+            if (timer.cancelled) {
+                // Cancelled by an earlier callback in this slot
+            } else if (timer.deadline > currentTick) {
+                place(timer); // Clamped far-future timer, not due yet
+            } else {
+                if (timer.periodTicks > 0) {
+                    timer.deadline += timer.periodTicks;
+                    place(timer);
+                }
+                timer.task.run();
+                fired++;
+            }
+            timer = next;
+        }
+        return fired;
+    }
+
+    /**
+     * Puts a timer in the wheel and slot that match its deadline. A timer due at the current tick can only
+     * arrive here from {@link #cascade()}, and lands in the slot that is fired right after.
+     */
+    private void place(Timer timer) {
+        long deadline = Math.max(timer.deadline, currentTick);
+        long delta = deadline - currentTick;
+        if (delta >= MAX_SPAN) {
+            deadline = currentTick + MAX_SPAN - 1; // Re-placed with the real deadline when it cascades
+            delta = MAX_SPAN - 1;
+        }
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((deadline >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        Timer head = wheels[level][slot];
+        timer.level = level;
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        wheels[level][slot] = timer;
+        pending++;
+    }
+
+    /**
+     * Removes a single timer from its slot.
+     */
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            wheels[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = timer.next = null;
+        timer.level = -1;
+        pending--;
+    }
+
+    /**
+     * Removes every timer from a slot and returns them as a list linked through {@code next}.
+     */
+    private Timer detach(Timer[] wheel, int slot) {
+        Timer head = wheel[slot];
+        wheel[slot] = null;
+        for (Timer timer = head; timer != null; timer = timer.next) {
+            timer.level = -1;
+            pending--;
+        }
+        return head;
+    }
+
+    /**
+     * Converts a delay to a whole number of ticks, rounding up so timers never fire early.
+     */
+    private long toTicks(long nanos) {
+        return Math.max(1, (nanos + tickNanos - 1) / tickNanos);
+    }
+}
@@ -0,0 +1,43 @@
+package org.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of {@link StatKernel} using the incubating Vector API.
+ * Each step subtracts and clamps a whole vector of pets, and writes back only the lanes
+ * whose pets are active. Obtain it through {@link StatKernel#vector()}.
+ */
+final class VectorStatKernel implements StatKernel {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    VectorStatKernel() {
+        // Lane counts are powers of two up to 8, so a vector never straddles two bitset words
+        if (64 % SPECIES.length() != 0) {
+            throw new LinkageError("Unsupported vector length: " + SPECIES.length());
+        }
+    }
+
+    @Override
+    public void deplete(double[] stat, double[] rate, long[] active, int size) {
+        int lanes = SPECIES.length();
+        long laneBits = lanes == 64 ? -1L : (1L << lanes) - 1;
+        int i = 0;
+        for (int bound = SPECIES.loopBound(size); i < bound; i += lanes) {
+            long bits = (active[i >>> 6] >>> (i & 63)) & laneBits;
+            if (bits == 0) continue;
+            VectorMask<Double> mask = VectorMask.fromLong(SPECIES, bits);
+            DoubleVector depleted = DoubleVector.fromArray(SPECIES, stat, i)
+                    .sub(DoubleVector.fromArray(SPECIES, rate, i))
+                    .max(0.0);
+            depleted.intoArray(stat, i, mask);
+        }
+        // Scalar tail for the pets that do not fill a whole vector
+        for (; i < size; i++) {
+            if ((active[i >>> 6] & (1L << i)) != 0) {
+                stat[i] = Math.max(0, stat[i] - rate[i]);
+            }
+        }
+    }
+}
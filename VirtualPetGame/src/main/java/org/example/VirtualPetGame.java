@@ -2,6 +2,7 @@ package org.example;
 
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.control.*;
@@ -12,7 +13,12 @@ import javafx.stage.Stage;
 
 
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 /**
  * VirtualPetGame serves as the main entry point for the virtual pet game application.
  * It extends the JavaFX Application class to create and manage the UI and game lifecycle.
@@ -30,7 +36,8 @@ public class VirtualPetGame extends Application {
     private Stage stage;
     private GameSettings gameSettings = new GameSettings();
     private long sessionStartTime;
-    private List<SavedGame> savedGames;
+    private List<SaveCatalog.Entry> savedGames;
+    private SaveLoader<SaveCatalog.Entry> saveCatalogLoader;
     private LoadGameButtons loadGameButtons = new LoadGameButtons(this::navigateTo, this);
     private ParentalControlButtons parentalControlButtons = new ParentalControlButtons(this::navigateTo);
     private SettingsButtons settingsButtons = new SettingsButtons(this::navigateTo);
@@ -43,6 +50,12 @@ public class VirtualPetGame extends Application {
     private SavedGame currentGame;
     private boolean isNewGame = true; // Default to true for new game
     private LoadData loadData;
+    private SaveService saveService; // Writes saved games off the JavaFX Application Thread
+    private boolean fullSaveNeeded = true; // Whether the next save must be written in full rather than as changes
+    private String stylesheet; // Shared by every scene
+    private final Map<String, String> returnContexts = new HashMap<>(); // Where each shared screen's Return button leads
+    private long startupBuildNanos; // Time spent building scenes before the window is shown
+    private long deferredBuildNanos; // Time spent building scenes after the window is shown
 
     /**
      * Starts the JavaFX application. Configures the primary stage, preloads scenes,
@@ -55,6 +68,7 @@ public class VirtualPetGame extends Application {
     public void start(Stage primaryStage) throws Exception {
         sessionStartTime = System.currentTimeMillis();
         loadData = new LoadData();
+        saveService = new SaveService(loadData);
 
         // Load game settings
         gameSettings = loadData.loadGameSettings();
@@ -83,7 +97,7 @@ public class VirtualPetGame extends Application {
         primaryStage.setResizable(false);
 
         // Preload scenes
-        // Loads all scenes in advance to improve navigation performance.
+        // Builds the Main Menu now; the other scenes are built once the window is up.
         preloadScenes(primaryStage);
 
         // Set up navigation paths
@@ -97,6 +111,9 @@ public class VirtualPetGame extends Application {
         // Show the stage
         // Displays the application window on the screen.
         stage.show();
+
+        // Build the remaining scenes in the order the player is likely to reach them
+        preloadDeferredScenes();
     }
 
 
@@ -134,16 +151,22 @@ public class VirtualPetGame extends Application {
     @Override
     public void stop() throws Exception {
         handleStopLogic();
+        saveService.close(); // Write any saves still waiting in the queue
+        LoadData.closeSaveStore();
+        LoadData.closeJournal(); // Make every save durable
     }
 
     /**
-     * Preloads all scenes required for the game and adds them to the navigation graph.
-     * This ensures seamless scene transitions during gameplay.
+     * Builds the Main Menu scene and adds every other scene to the navigation graph as a builder.
+     * Only the Main Menu is needed before the window is shown; the other scenes are built later by
+     * {@link #preloadDeferredScenes()}, or on the spot if the player reaches one before that.
      *
      * @param primaryStage the primary stage of the application, used for scene creation.
-     * @throws Exception if an error occurs while loading scenes.
+     * @throws Exception if an error occurs while loading the Main Menu scene.
      */
     private void preloadScenes(Stage primaryStage) throws Exception {
+        long startTime = System.nanoTime();
+
         // Initialize the MainView (Main Menu screen)
         MainView mainView = new MainView();
         Scene mainMenuScene = mainView.createScene(primaryStage);
@@ -155,72 +178,52 @@ public class VirtualPetGame extends Application {
 
         // Add a stylesheet to the Main Menu Scene
         // The stylesheet is used to style the buttons and other UI components specifically for the Main Menu
-        String stylesheet = getClass().getResource("/styles.css").toExternalForm();
+        stylesheet = getClass().getResource("/styles.css").toExternalForm();
         mainMenuScene.getStylesheets().add(stylesheet);
 
 
         // Add the Main Menu Scene to the graph
         // This makes the Main Menu accessible as a node in the navigation graph
         graph.addScene("MainMenu", mainMenuScene);
+        startupBuildNanos = System.nanoTime() - startTime;
+
+        // The other screens are built after the window is shown, each with the shared stylesheet
+        addDeferredScene("Settings", () -> new Setting().createScene(primaryStage));
+        addDeferredScene("Tutorial", () -> new Tutorial().createScene(primaryStage));
+        addDeferredScene("ParentalControls", () -> new ParentalControls().createScene(primaryStage));
+        addDeferredScene("LoadGame", () -> new LoadGame().createScene(primaryStage));
+        addDeferredScene("NewGame", () -> new PetSelection().createScene(primaryStage));
+        addDeferredScene("GamePlay", () -> new GamePlay().createScene(primaryStage));
+    }
 
-        // Initialize the Settings screen
-        // The Setting class creates the scene for the Settings screen
-        Setting setting = new Setting();
-        Scene settingsScene = setting.createScene(primaryStage);
-
-        // Add the stylesheet to the Settings Scene
-        settingsScene.getStylesheets().add(stylesheet);
-
-        // Add the Settings Scene to the graph
-        graph.addScene("Settings", settingsScene);
-
-        /*
-        LOOK AT THE IMPLEMENTATION ABOVE ^^^^^^ YOU WILL DO THE SAME LOGIC, FOLLOW IT FOR YOUR LOGIC
-         */
-        // Initialize the Tutorial screen
-        Tutorial tutorial = new Tutorial();
-        Scene tutorialScene = tutorial.createScene(primaryStage);
-        tutorialScene.getStylesheets().add(stylesheet);
-        // Add the tutorial Scene to the graph
-        graph.addScene("Tutorial", tutorialScene);
-
-        ParentalControls parentalControls = new ParentalControls();
-        Scene parentalControlsScene = parentalControls.createScene(primaryStage);
-        parentalControlsScene.getStylesheets().add(stylesheet);
-        graph.addScene("ParentalControls", parentalControlsScene);
-
-        // Initialize the LoadGame screen
-        LoadGame loadGame = new LoadGame();
-        Scene loadGameScene = loadGame.createScene(primaryStage);
-
-        // Add the stylesheet to the LoadGame Scene
-        loadGameScene.getStylesheets().add(stylesheet);
-
-        // Add the LoadGame Scene to the graph
-        graph.addScene("LoadGame", loadGameScene);
-
-        PetSelection petSelection = new PetSelection();
-        Scene petSelectionScene = petSelection.createScene(primaryStage);
-        petSelectionScene.getStylesheets().add(stylesheet);
-        graph.addScene("NewGame", petSelectionScene);
-
-        GamePlay gamePlay = new GamePlay();
-        Scene gamePlayScene = gamePlay.createScene(primaryStage);
-        gamePlayScene.getStylesheets().add(stylesheet);
-        graph.addScene("GamePlay", gamePlayScene);
-
-        Setting mainGamePlaySetting = new Setting();
-        Scene mainGamePlaySettingScene = mainGamePlaySetting.createScene(primaryStage);
-        // Add the stylesheet to the Settings Scene
-        mainGamePlaySettingScene.getStylesheets().add(stylesheet);
-        // Add the Settings Scene to the graph
-        graph.addScene("Settings1", mainGamePlaySettingScene);
-
-        ParentalControls mainGamePlayParentalControls = new ParentalControls();
-        Scene mainGamePlayParentalControlsScene = mainGamePlayParentalControls.createScene(primaryStage);
-        mainGamePlayParentalControlsScene.getStylesheets().add(stylesheet);
-        graph.addScene("ParentalControls2", mainGamePlayParentalControlsScene);
+    /**
+     * Adds a scene to the navigation graph that is built the first time it is needed.
+     *
+     * @param name the name of the scene.
+     * @param builder creates the scene.
+     */
+    private void addDeferredScene(String name, Callable<Scene> builder) {
+        graph.addScene(name, () -> {
+            long startTime = System.nanoTime();
+            Scene scene = builder.call();
+            scene.getStylesheets().add(stylesheet);
+            deferredBuildNanos += System.nanoTime() - startTime;
+            return scene;
+        });
+    }
 
+    /**
+     * Builds the scenes that were deferred at startup, one per pass of the JavaFX event loop, nearest to
+     * the Main Menu first. When the {@code vpg.debugStartup} system property is {@code true}, reports how
+     * much startup time deferring them saved.
+     */
+    private void preloadDeferredScenes() {
+        CompletableFuture<Void> preloaded = graph.preloadScenes("MainMenu", Platform::runLater);
+        if (Boolean.getBoolean("vpg.debugStartup")) {
+            preloaded.thenRun(() -> System.out.printf(
+                    "Startup built the Main Menu in %d ms; the other scenes took %d ms and were built after the window was shown%n",
+                    startupBuildNanos / 1_000_000, deferredBuildNanos / 1_000_000));
+        }
     }
 
     /**
@@ -238,9 +241,10 @@ public class VirtualPetGame extends Application {
         graph.addNavigation("MainMenu", List.of("NewGame", "LoadGame", "Tutorial", "Settings"));
 
         // Define navigation paths for the Settings screen:
-        // From the "Settings" screen, the user can only navigate back to the "MainMenu".
+        // From the "Settings" screen, the user navigates back to where it was opened from,
+        // the "MainMenu" or the "GamePlay" screen.
         //From "Settings" opens ParentalControl screen.
-        graph.addNavigation("Settings", List.of("MainMenu", "ParentalControls"));
+        graph.addNavigation("Settings", List.of("MainMenu", "GamePlay", "ParentalControls"));
 
         // Define navigation path for the Parental Control screen:
         // From the "ParentalControl" screen, the user can only navigate back to the "Settings" Screen.
@@ -257,27 +261,42 @@ public class VirtualPetGame extends Application {
         //Define navigation paths for the LoadGame screen:
         //From the "LoadGame" Screen, the user can navigate FOR NOW ONLY back to the "MainMenu".
         //We will later implement the GamePlay Screen Navigation
-        graph.addNavigation("loadGame", List.of("MainMenu", "GamePlay"));
+        graph.addNavigation("LoadGame", List.of("MainMenu", "GamePlay"));
 
-        graph.addNavigation("Settings1", List.of("GamePlay", "ParentalControls2"));
+        // From the "GamePlay" screen, the user can open the settings or go back to the "MainMenu".
+        graph.addNavigation("GamePlay", List.of("Settings", "MainMenu"));
 
-        graph.addNavigation("ParentalControls2", List.of("Settings1"));
+    }
 
+    /**
+     * Navigates to the specified scene by updating the stage's current scene, keeping the scene it returns to.
+     *
+     * @param sceneName The name of the scene to navigate to, as defined in the navigation graph.
+     */
+    private void navigateTo(String sceneName) {
+        navigateTo(sceneName, null);
     }
 
     /**
      * Navigates to the specified scene by updating the stage's current scene.
      * This method dynamically configures the scene's content based on its type (e.g., Main Menu, Settings).
+     * Screens reached from several places are a single scene; where their Return button leads is
+     * remembered per scene from the last navigation that gave one.
      *
      * @param sceneName The name of the scene to navigate to, as defined in the navigation graph.
+     * @param returnTo The name of the scene to return to from it, or {@code null} to keep the one it had.
      */
-    private void navigateTo(String sceneName) {
-
+    private void navigateTo(String sceneName, String returnTo) {
+        if (returnTo != null) {
+            returnContexts.put(sceneName, returnTo);
+        }
 
         // Check if the specified scene exists in the navigation graph
         if (graph.hasScene(sceneName)) {
             // Retrieve the scene associated with the scene name
             Scene currentScene = graph.getScene(sceneName);
+            // Whether the settings were opened from a game in progress
+            boolean inGame = "GamePlay".equals(returnContexts.get("Settings"));
 
 
             // Perform actions specific to the scene being navigated to
@@ -288,8 +307,12 @@ public class VirtualPetGame extends Application {
                     break;
 
                 case "Settings":
-                    settingsButton(currentScene, stage, "ParentalControls");
-                    addReturnButton(currentScene, "MainMenu");
+                    if (inGame) {
+                        music.gameplaySound();
+                    }
+                    String settingsReturn = returnContexts.getOrDefault("Settings", "MainMenu");
+                    settingsButton(currentScene, stage, settingsReturn);
+                    addReturnButton(currentScene, settingsReturn);
                     break;
 
                 case "NewGame":
@@ -304,14 +327,16 @@ public class VirtualPetGame extends Application {
                     break;
 
                 case "ParentalControls":
+                    if (inGame) {
+                        music.gameplaySound();
+                    }
                     parentalControlsButtons(currentScene, gameSettings);
                     addReturnButton(currentScene, "Settings");
                     break;
 
                 case "LoadGame":
-                    // Load all saved games
-                    savedGames = loadData.loadAllSavedGames();
-                    loadGameButtons(currentScene, savedGames);
+                    // List the saved games from the catalog as they load; a save is only read when it is chosen
+                    loadGameButtons(currentScene);
                     addReturnButton(currentScene, "MainMenu");
                     break;
 
@@ -327,17 +352,6 @@ public class VirtualPetGame extends Application {
                     gamePlayButtons(currentScene, stage, currentPlayer);
                     break;
 
-                case "Settings1":
-                    music.gameplaySound();
-                    settingsButton(currentScene, stage, "ParentalControls2");
-                    addReturnGamePlayButton(currentScene, "GamePlay");
-                    break;
-
-                case "ParentalControls2":
-                    music.gameplaySound();
-                    parentalControlsButtons(currentScene, gameSettings);
-                    addReturnGamePlayButton(currentScene, "Settings1");
-
                 default:
                     break;
             }
@@ -394,13 +408,29 @@ public class VirtualPetGame extends Application {
 
     /**
      * Configures the Load Game screen with buttons to display and load saved games.
-     * Delegates the button creation and layout to the loadGameButtons instance.
+     * The saves are loaded in the background and their buttons are added in batches on the
+     * JavaFX Application Thread as they arrive, so a large save library never blocks the screen.
      *
      * @param currentScene The Scene object representing the Load Game screen.
-     * @param savedGames A List of SavedGame objects to display as selectable options.
      */
-    private void loadGameButtons(Scene currentScene, List<SavedGame> savedGames) {
-        loadGameButtons.createLoadGameButtons(currentScene, savedGames);
+    private void loadGameButtons(Scene currentScene) {
+        if (saveCatalogLoader != null) {
+            saveCatalogLoader.cancel(); // Drop the rest of a previous visit's list
+        }
+        savedGames = new ArrayList<>();
+        loadGameButtons.clearLoadGameButtons(currentScene);
+
+        SaveLoader<SaveCatalog.Entry> loader = loadData.loadSaveCatalog(Platform::runLater, entries -> {
+            savedGames.addAll(entries);
+            loadGameButtons.addLoadGameButtons(currentScene, entries);
+        });
+        saveCatalogLoader = loader;
+        // Queued after the last batch, so the list is only finished once every button is in
+        loader.getResult().thenRun(() -> Platform.runLater(() -> {
+            if (!loader.isCancelled()) {
+                loadGameButtons.finishLoadGameButtons(currentScene);
+            }
+        }));
     }
 
     /**
@@ -428,53 +458,12 @@ public class VirtualPetGame extends Application {
         // Check if the "Return" button already exists
         Button existingButton = (Button) root.lookup("#returnButton");
         if (existingButton != null) {
-            return; // If the button already exists, exit the method
-        }
-
-        // Create the "Return" button
-        Button returnButton = new Button("Return");
-        returnButton.getStyleClass().add("returnMenuButton");
-        returnButton.setId("returnButton"); // Assign an ID for future lookup
-
-        // Set the button's action to navigate to the specified returnScene
-        returnButton.setOnAction(e -> {
-            // Play the sound effect
-            Music.getInstance().playSoundEffect();
-            navigateTo(returnScene);
-        });
-
-        // Add the button to the AnchorPane
-        root.getChildren().add(returnButton);
-
-        // Bind the button's position dynamically to the AnchorPane's size
-        root.heightProperty().addListener((obs, oldHeight, newHeight) -> {
-            AnchorPane.setBottomAnchor(returnButton, 20.0); // 20px offset from the bottom
-        });
-
-        root.widthProperty().addListener((obs, oldWidth, newWidth) -> {
-            AnchorPane.setLeftAnchor(returnButton, 20.0); // 20px offset from the left
-        });
-
-        // Set initial position in case the size hasn't changed yet
-        AnchorPane.setBottomAnchor(returnButton, 20.0);
-        AnchorPane.setLeftAnchor(returnButton, 20.0);
-    }
-
-    /**
-     * Adds a "Return" button specifically for returning to the GamePlay screen.
-     *
-     * @param currentScene the current scene to which the button is added.
-     * @param returnScene the name of the GamePlay scene to navigate back to.
-     */
-    private void addReturnGamePlayButton(Scene currentScene, String returnScene) {
-        // Get the root node of the current scene
-        // The root is expected to be an AnchorPane
-        AnchorPane root = (AnchorPane) currentScene.getRoot();
-
-        // Check if the "Return" button already exists
-        Button existingButton = (Button) root.lookup("#returnButton");
-        if (existingButton != null) {
-            return; // If the button already exists, exit the method
+            // Shared screens return to different scenes depending on where they were opened from
+            existingButton.setOnAction(e -> {
+                Music.getInstance().playSoundEffect();
+                navigateTo(returnScene);
+            });
+            return;
         }
 
         // Create the "Return" button
@@ -511,7 +500,7 @@ public class VirtualPetGame extends Application {
      */
     private void newSavedGameInstance() {
         this.currentPlayer = petSelectionButtons.getPlayer();
-        this.currentPet = petSelectionButtons.getPlayer().getPet();
+        replaceCurrentPet(petSelectionButtons.getPlayer().getPet());
 
 
         // Create a new SavedGame instance for this session
@@ -533,20 +522,27 @@ public class VirtualPetGame extends Application {
         this.currentGame.petInfo.stats.fullnessDepletionRate =  currentPet.getFullnessDepletionRate();
         this.currentGame.petInfo.stats.sleepDepletionRate =  currentPet.getSleepDepletionRate();
         this.currentGame.petInfo.stats.happinessDepletionRate =  currentPet.getHappinessDepletionRate();
+        fullSaveNeeded = true; // A save of the same name may hold another pet
         saveGame();
 
     }
 
     /**
-     * Saves the current game state to a file.
+     * Saves the current game state to a file. The file is written in the background by the save service.
+     * The first save of a game is written in full; later saves only append what changed since.
      */
     public void saveGame() {
         updateGameplayState(); // Updates the `currentGame` object
 
         String saveName = currentPlayer.getPet().getName(); // Use pet's name as save file name
 
-        LoadData loadData = new LoadData();
-        loadData.saveNewGame(currentGame, saveName); // Save using LoadData
+        SaveDelta delta = SaveDelta.capture(currentPlayer, currentGame); // Also clears the dirty flags
+        if (fullSaveNeeded) {
+            saveService.save(saveName, currentGame); // Queue a snapshot for the background writer
+            fullSaveNeeded = false;
+        } else {
+            saveService.save(saveName, currentGame, delta); // Queue just the changes
+        }
 
     }
 
@@ -561,6 +557,8 @@ public class VirtualPetGame extends Application {
             currentGame.petInfo.stats = new SavedGame.PetInfo.Stats();
         }
 
+        currentGame.markSaved(); // Orders this save after the previous one
+
         // Update player info
         currentGame.playerInfo.name = currentPlayer.getPet().getName(); // Player name is pet name
         currentGame.playerInfo.score = currentPlayer.getScore();
@@ -585,6 +583,7 @@ public class VirtualPetGame extends Application {
      */
     public void setCurrentSavedGame(SavedGame savedGame) {
         this.currentGame = savedGame;
+        this.fullSaveNeeded = true;
     }
 
     /**
@@ -603,6 +602,18 @@ public class VirtualPetGame extends Application {
      * @param pet the pet to set as the current pet.
      */
     public void setCurrentPet(Pet pet) {
+        replaceCurrentPet(pet);
+    }
+
+    /**
+     * Replaces the current pet, giving back the previous pet's sprite images to the {@link ImageCache}.
+     *
+     * @param pet the new current pet.
+     */
+    private void replaceCurrentPet(Pet pet) {
+        if (currentPet != null && currentPet != pet && currentPet.getSprite() != null) {
+            currentPet.getSprite().release();
+        }
         this.currentPet = pet;
     }
 
@@ -617,11 +628,17 @@ public class VirtualPetGame extends Application {
 
 
     /**
-     * The main method to launch the JavaFX application.
+     * The main method to launch the JavaFX application. With {@code --server}, starts the
+     * headless {@link PetServer} instead.
      *
      * @param args command-line arguments.
+     * @throws Exception if the server cannot be started.
      */
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
+        if (List.of(args).contains("--server")) {
+            PetServer.main(args);
+            return;
+        }
         launch(args);
     }
 
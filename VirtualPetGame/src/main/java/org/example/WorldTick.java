@@ -0,0 +1,114 @@
+package org.example;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The {@code WorldTick} class runs one stat update for a whole population of players at once.
+ * Pets tick independently of each other, so large populations are split into chunks and ticked on a
+ * {@link ForkJoinPool}, where idle workers steal chunks from busy ones. Populations smaller than the
+ * parallelism threshold are ticked on the calling thread, which is cheaper than waking the pool.
+ *
+ * <p>Only headless pets should be ticked in parallel: a pet with a sprite updates JavaFX nodes
+ * and must stay on the JavaFX application thread. The default threshold of
+ * {@value #DEFAULT_THRESHOLD} pets can be changed with the {@code vpg.parallelThreshold} system property.</p>
+ *
+ * <p>It backs {@link SimulationEngine#tick()}, which no game or server path calls yet.</p>
+ */
+public class WorldTick {
+    public static final int DEFAULT_THRESHOLD = 1024;
+    private static final int MIN_CHUNK = 256; // Smallest chunk worth handing to another worker
+    private static final int CHUNKS_PER_WORKER = 8; // Spare chunks per worker for stealing
+
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    /**
+     * Creates a world tick on the common pool, using the configured parallelism threshold.
+     */
+    public WorldTick() {
+        this(ForkJoinPool.commonPool(), Integer.getInteger("vpg.parallelThreshold", DEFAULT_THRESHOLD));
+    }
+
+    /**
+     * Creates a world tick on the given pool.
+     *
+     * @param pool the pool that runs the chunks.
+     * @param threshold the smallest population that is ticked in parallel.
+     */
+    public WorldTick(ForkJoinPool pool, int threshold) {
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    /**
+     * Runs one stat update for the pet of every player whose pet is alive.
+     *
+     * @param players the players to tick; the list must not change during the call.
+     * @return the number of pets that were updated.
+     */
+    public long tick(List<Player> players) {
+        int size = players.size();
+        if (size < threshold || pool.getParallelism() <= 1) {
+            return tickRange(players, 0, size);
+        }
+        int chunk = Math.max(MIN_CHUNK, size / (pool.getParallelism() * CHUNKS_PER_WORKER));
+        return pool.invoke(new Chunk(players, 0, size, chunk));
+    }
+
+    /**
+     * Gets the smallest population that is ticked in parallel.
+     *
+     * @return the parallelism threshold.
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Ticks the pets of the players in {@code [from, to)} on the calling thread.
+     */
+    private static long tickRange(List<Player> players, int from, int to) {
+        long ticked = 0;
+        for (int i = from; i < to; i++) {
+            Pet pet = players.get(i).getPet();
+            if (pet != null && !pet.isDead()) {
+                pet.updateStats(); // Deplete stats or regenerate sleep
+                ticked++;
+            }
+        }
+        return ticked;
+    }
+
+    /**
+     * A range of players that splits in half until it is small enough to tick directly.
+     */
+    private static final class Chunk extends RecursiveTask<Long> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<Player> players; // Tasks are never serialized
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        Chunk(List<Player> players, int from, int to, int chunk) {
+            this.players = players;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= chunk) {
+                return tickRange(players, from, to);
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(players, from, mid, chunk);
+            left.fork(); // Left half may be stolen by an idle worker
+            long right = new Chunk(players, mid, to, chunk).compute();
+            return right + left.join();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Measures contended throughput of {@link ConcurrentInventory} against an {@link Inventory} guarded by a lock,
+ * with every thread feeding from one item and with each thread on its own item.
+ */
+public class ConcurrentInventoryBenchmark {
+    private static final int OPERATIONS_PER_THREAD = 2_000_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8};
+    private static final String[] ITEMS = {"Apple", "Banana", "Bread", "Cheese", "Coffee", "Collar", "Bowl", "Portrait"};
+
+    /**
+     * One add or use of an item, in the way the inventory under test makes it safe.
+     */
+    private interface Operations {
+        void add(String item);
+
+        boolean use(String item);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("Processors: " + Runtime.getRuntime().availableProcessors());
+        for (boolean shared : new boolean[] {true, false}) {
+            System.out.println(shared ? "One item for all threads:" : "One item per thread:");
+            for (int threads : THREAD_COUNTS) {
+                ConcurrentInventory concurrent = new ConcurrentInventory();
+                Operations lockFree = new Operations() {
+                    public void add(String item) {
+                        concurrent.addItem(item, 1);
+                    }
+
+                    public boolean use(String item) {
+                        return concurrent.tryUseItem(item);
+                    }
+                };
+                Inventory plain = new Inventory();
+                Operations locked = new Operations() {
+                    public synchronized void add(String item) {
+                        plain.addItem(item, 1);
+                    }
+
+                    public synchronized boolean use(String item) {
+                        return plain.tryUseItem(item);
+                    }
+                };
+                measure(threads, shared, lockFree); // Warm up
+                measure(threads, shared, locked);
+                double lockFreeRate = measure(threads, shared, lockFree);
+                double lockedRate = measure(threads, shared, locked);
+                System.out.printf("  %d threads: lock-free %.1f M ops/s, locked %.1f M ops/s%n", threads, lockFreeRate, lockedRate);
+            }
+        }
+    }
+
+    /**
+     * Runs the threads, each alternating adds and uses, and returns the throughput in millions of operations
+     * per second.
+     */
+    private static double measure(int threads, boolean shared, Operations operations) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            String item = shared ? ITEMS[0] : ITEMS[t % ITEMS.length];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i += 2) {
+                    operations.add(item);
+                    operations.use(item);
+                }
+            });
+            workers[t].start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return (double) OPERATIONS_PER_THREAD * threads / elapsed * 1e3;
+    }
+}
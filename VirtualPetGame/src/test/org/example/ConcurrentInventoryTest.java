@@ -0,0 +1,152 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentInventoryTest {
+    private static final int THREADS = 8;
+
+    /**
+     * Runs a task on several threads at once and waits for all of them.
+     */
+    private static void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.accept(index);
+                } catch (Throwable e) {
+                    failure[0] = e;
+                }
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        assertNull(failure[0]);
+    }
+
+    @Test
+    void testBehavesLikeAnInventory() {
+        ConcurrentInventory inventory = new ConcurrentInventory();
+        assertEquals(new Inventory().toSerializableMap().keySet(), inventory.toSerializableMap().keySet());
+        assertEquals(5, inventory.getQuantity("Apple"));
+        assertEquals(25, inventory.getCategoryTotal("Food"));
+
+        inventory.takeDirtyItems();
+        inventory.useItem("Apple");
+        inventory.addItem("Toy", 2);
+        assertEquals(4, inventory.getQuantity("Apple"));
+        assertEquals(2, inventory.getItemsByName("Toy").get(0).getQuantity());
+        assertEquals(Map.of("Apple", 4, "Toy", 2), quantities(inventory.takeDirtyItems()));
+        assertTrue(inventory.takeDirtyItems().isEmpty());
+
+        ConcurrentInventory loaded = ConcurrentInventory.fromSerializableMap(inventory.toSerializableMap());
+        assertEquals(inventory.toSerializableMap().keySet(), loaded.toSerializableMap().keySet());
+        assertEquals(4, loaded.getQuantity("Apple"));
+    }
+
+    @Test
+    void testTheLastItemsAreUsedExactlyOnce() throws InterruptedException {
+        ConcurrentInventory inventory = new ConcurrentInventory("SavedGame");
+        inventory.addItem("Cheese", 10_000);
+        AtomicInteger used = new AtomicInteger();
+
+        runConcurrently(THREADS, t -> {
+            while (inventory.tryUseItem("Cheese")) {
+                used.incrementAndGet();
+            }
+        });
+
+        assertEquals(10_000, used.get());
+        assertEquals(0, inventory.getQuantity("Cheese"));
+        assertFalse(inventory.hasItem("Cheese"));
+        assertEquals(0, inventory.getCategoryTotal("Food"));
+    }
+
+    @Test
+    void testConcurrentAddsAndUsesLoseNoUpdates() throws InterruptedException {
+        ConcurrentInventory inventory = new ConcurrentInventory();
+        String[] names = {"Apple", "Bread", "Collar", "Portrait"};
+        int operations = 50_000;
+        AtomicInteger[] added = new AtomicInteger[names.length];
+        AtomicInteger[] used = new AtomicInteger[names.length];
+        for (int i = 0; i < names.length; i++) {
+            added[i] = new AtomicInteger();
+            used[i] = new AtomicInteger();
+        }
+
+        runConcurrently(THREADS, t -> {
+            Random random = new Random(t);
+            for (int i = 0; i < operations; i++) {
+                int item = random.nextInt(names.length);
+                if (random.nextBoolean()) {
+                    inventory.addItem(names[item], 1);
+                    added[item].incrementAndGet();
+                } else if (inventory.tryUseItem(names[item])) {
+                    used[item].incrementAndGet();
+                }
+            }
+        });
+
+        int food = 0;
+        int gifts = 0;
+        for (int i = 0; i < names.length; i++) {
+            int expected = 5 + added[i].get() - used[i].get();
+            assertEquals(expected, inventory.getQuantity(names[i]), names[i]);
+            if (ItemCatalog.FOOD.equals(ItemCatalog.getInstance().get(names[i]).getCategory())) {
+                food += expected;
+            } else {
+                gifts += expected;
+            }
+        }
+        assertEquals(food + 15, inventory.getCategoryTotal("Food")); // Banana, Cheese and Coffee were not touched
+        assertEquals(gifts + 10, inventory.getCategoryTotal("Gift")); // Nor Bowl and Key Chain
+    }
+
+    @Test
+    void testPlayersSharingAnInventoryNeverFeedMoreThanItHolds() throws InterruptedException {
+        ConcurrentInventory inventory = new ConcurrentInventory("SavedGame");
+        inventory.addItem("Apple", 1_000);
+        Player[] players = new Player[THREADS];
+        for (int t = 0; t < THREADS; t++) {
+            players[t] = new Player(inventory);
+            players[t].setPet(new Pet("Mimitchi", "Pet" + t, 100, 100, 100, 100, 0, 0, 0));
+        }
+        Food apple = (Food) inventory.getItemsByName("Apple").get(0);
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < 500; i++) {
+                players[t].feedPet(apple);
+            }
+        });
+
+        int fed = 0;
+        for (Player player : players) {
+            fed += player.getScore() / 20;
+        }
+        assertEquals(1_000, fed);
+        assertEquals(0, inventory.getQuantity("Apple"));
+    }
+
+    private static Map<String, Integer> quantities(Map<String, List<SavedGame.PlayerInfo.Item>> serialized) {
+        Map<String, Integer> quantities = new HashMap<>();
+        serialized.forEach((name, stacks) -> quantities.put(name, stacks.isEmpty() ? 0 : stacks.get(0).quantity));
+        return quantities;
+    }
+}
@@ -0,0 +1,136 @@
+package org.example;
+
+import javafx.scene.Node;
+import javafx.scene.image.ImageView;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GamePlayRendererTest {
+
+    @Test
+    void testBarStyleThresholds() {
+        assertEquals(0, GamePlayRenderer.barStyleOf(0));
+        assertEquals(0, GamePlayRenderer.barStyleOf(25));
+        assertEquals(1, GamePlayRenderer.barStyleOf(25.5));
+        assertEquals(1, GamePlayRenderer.barStyleOf(50));
+        assertEquals(2, GamePlayRenderer.barStyleOf(50.5));
+        assertEquals(2, GamePlayRenderer.barStyleOf(100));
+    }
+
+    @Test
+    void testStatusFollowsThePetsCondition() {
+        Pet pet = new Pet("Mimitchi", "Mochi", 100, 100, 100, 100, 0, 0, 0);
+        assertEquals(GamePlayRenderer.STATUS_NORMAL, GamePlayRenderer.statusOf(pet));
+
+        pet.goToSleep();
+        assertEquals(GamePlayRenderer.STATUS_SLEEP, GamePlayRenderer.statusOf(pet));
+
+        Pet starving = new Pet("Mimitchi", "Pudding", 100, 0, 100, 100, 0, 0, 0);
+        starving.updateStats();
+        assertEquals(GamePlayRenderer.STATUS_HUNGRY, GamePlayRenderer.statusOf(starving));
+
+        Pet dying = new Pet("Mimitchi", "Tofu", 0, 100, 0, 100, 0, 0, 0);
+        dying.updateStats();
+        assertEquals(GamePlayRenderer.STATUS_DEAD, GamePlayRenderer.statusOf(dying)); // Dead wins over angry
+    }
+
+    @Test
+    void testFirstRenderPushesEverything() {
+        RecordingScreen screen = new RecordingScreen();
+        GamePlayRenderer renderer = new GamePlayRenderer(screen);
+        Player player = newPlayer();
+
+        int pushed = renderer.render(player);
+        assertEquals(GamePlayRenderer.SCORE | GamePlayRenderer.BARS | GamePlayRenderer.STATUS | GamePlayRenderer.SPRITE, pushed);
+        assertTrue(screen.pushes.contains("score Score: 0"));
+        assertTrue(screen.pushes.contains("status " + GamePlayRenderer.STATUS_NORMAL));
+        assertTrue(screen.pushes.contains("sprite " + player.getPet().getSprite().getCurrentState()));
+        assertEquals(1 + 4 + 4 + 1 + 1, screen.pushes.size()); // Score, 4 progresses, 4 styles, status, sprite
+    }
+
+    @Test
+    void testUnchangedRenderPushesNothing() {
+        RecordingScreen screen = new RecordingScreen();
+        GamePlayRenderer renderer = new GamePlayRenderer(screen);
+        Player player = newPlayer();
+        renderer.render(player);
+        screen.pushes.clear();
+
+        assertEquals(0, renderer.render(player));
+        assertEquals(List.of(), screen.pushes);
+    }
+
+    @Test
+    void testOnlyWhatChangedIsPushed() {
+        RecordingScreen screen = new RecordingScreen();
+        GamePlayRenderer renderer = new GamePlayRenderer(screen);
+        Player player = newPlayer();
+        Pet pet = player.getPet();
+        renderer.render(player);
+
+        screen.pushes.clear();
+        pet.setHealth(70); // Still green
+        assertEquals(GamePlayRenderer.BARS, renderer.render(player));
+        assertEquals(List.of("progress 0 0.7"), screen.pushes);
+
+        screen.pushes.clear();
+        pet.setHealth(20); // Turns red
+        assertEquals(GamePlayRenderer.BARS, renderer.render(player));
+        assertEquals(List.of("progress 0 0.2", "style 0 -fx-accent: red;"), screen.pushes);
+
+        screen.pushes.clear();
+        pet.getSprite().setState("sad");
+        assertEquals(GamePlayRenderer.SPRITE, renderer.render(player));
+        assertEquals(List.of("sprite " + pet.getSprite().getCurrentState()), screen.pushes);
+
+        screen.pushes.clear();
+        player.setScore(40);
+        assertEquals(GamePlayRenderer.SCORE, renderer.render(player));
+        assertEquals(List.of("score Score: 40"), screen.pushes);
+    }
+
+    private static Player newPlayer() {
+        Sprite sprite = new Sprite();
+        sprite.addState("default", new ImageView());
+        sprite.addState("sad", new ImageView());
+        Player player = new Player();
+        player.setPet(new Pet("Mimitchi", "Mochi", sprite, 80, 80, 80, 80, 0, 0, 0));
+        return player;
+    }
+
+    /**
+     * Records what the renderer pushes, in order.
+     */
+    private static class RecordingScreen implements GamePlayRenderer.Screen {
+        final List<String> pushes = new ArrayList<>();
+
+        @Override
+        public void showScore(String text) {
+            pushes.add("score " + text);
+        }
+
+        @Override
+        public void showProgress(int bar, double progress) {
+            pushes.add("progress " + bar + " " + progress);
+        }
+
+        @Override
+        public void showBarStyle(int bar, String style) {
+            pushes.add("style " + bar + " " + style);
+        }
+
+        @Override
+        public void showStatus(int status) {
+            pushes.add("status " + status);
+        }
+
+        @Override
+        public void showSprite(Node sprite) {
+            pushes.add("sprite " + sprite);
+        }
+    }
+}
@@ -7,7 +7,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -70,4 +73,48 @@ class GraphTest {
 
         latch.await();
     }
+
+    @Test
+    void testDeferredSceneIsBuiltOnceWhenFirstNeeded() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger builds = new AtomicInteger();
+
+        Platform.runLater(() -> {
+            try {
+                graph.addScene("Settings", () -> {
+                    builds.incrementAndGet();
+                    return new Scene(new Pane());
+                });
+
+                assertTrue(graph.hasScene("Settings"));
+                assertFalse(graph.isSceneReady("Settings"));
+                Scene scene = graph.getScene("Settings");
+                assertNotNull(scene);
+                assertTrue(graph.isSceneReady("Settings"));
+                assertSame(scene, graph.getScene("Settings"));
+                assertEquals(1, builds.get());
+            } finally {
+                latch.countDown();
+            }
+        });
+
+        latch.await();
+    }
+
+    @Test
+    void testPreloadFollowsNavigationPaths() throws Exception {
+        graph.addScene("Tutorial", () -> new Scene(new Pane()));
+        graph.addScene("Hidden", () -> new Scene(new Pane()));
+        graph.addScene("ParentalControls", () -> new Scene(new Pane()));
+        graph.addScene("Settings", () -> new Scene(new Pane()));
+        graph.addNavigation("MainMenu", List.of("Settings", "Tutorial"));
+        graph.addNavigation("Settings", List.of("MainMenu", "ParentalControls"));
+
+        assertEquals(List.of("Settings", "Tutorial", "ParentalControls", "Hidden"), graph.getPreloadOrder("MainMenu"));
+
+        graph.preloadScenes("MainMenu", Platform::runLater).get(5, TimeUnit.SECONDS);
+        for (String name : List.of("Tutorial", "Hidden", "ParentalControls", "Settings")) {
+            assertTrue(graph.isSceneReady(name), name);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package org.example;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageCacheTest {
+    private static final long IMAGE_BYTES = 10 * 10 * 4;
+
+    private final List<String> decoded = new ArrayList<>();
+
+    private ImageCache cache(int maxImages) {
+        return new ImageCache(maxImages * IMAGE_BYTES, resourcePath -> {
+            decoded.add(resourcePath);
+            return resourcePath.startsWith("/missing") ? null : new WritableImage(10, 10);
+        });
+    }
+
+    @Test
+    void testSharedImageIsDecodedOnce() {
+        ImageCache cache = cache(4);
+        Image first = cache.acquire("/Sprites/Mimitchi/happy.png");
+        Image second = cache.acquire("/Sprites/Mimitchi/happy.png");
+        assertSame(first, second);
+        assertEquals(List.of("/Sprites/Mimitchi/happy.png"), decoded);
+
+        cache.release("/Sprites/Mimitchi/happy.png");
+        cache.release("/Sprites/Mimitchi/happy.png");
+        assertSame(first, cache.acquire("/Sprites/Mimitchi/happy.png")); // Still cached after its last release
+        assertEquals(1, cache.getDecodeCount());
+    }
+
+    @Test
+    void testLeastRecentlyUsedUnreferencedImageIsEvicted() {
+        ImageCache cache = cache(2);
+        cache.acquire("/a.png");
+        cache.acquire("/b.png");
+        cache.release("/a.png");
+        cache.release("/b.png");
+        cache.acquire("/a.png"); // Now b is the least recently used
+        cache.release("/a.png");
+
+        cache.acquire("/c.png");
+        assertEquals(2, cache.size());
+        assertEquals(2 * IMAGE_BYTES, cache.getUsedBytes());
+        cache.acquire("/a.png");
+        assertEquals(3, cache.getDecodeCount()); // a was kept
+        cache.acquire("/b.png");
+        assertEquals(4, cache.getDecodeCount()); // b was evicted
+    }
+
+    @Test
+    void testReferencedImagesAreNeverEvicted() {
+        ImageCache cache = cache(1);
+        Image a = cache.acquire("/a.png");
+        Image b = cache.acquire("/b.png");
+        assertEquals(2, cache.size()); // Over the cap while both are in use
+        assertSame(a, cache.acquire("/a.png"));
+        assertSame(b, cache.acquire("/b.png"));
+
+        cache.release("/a.png");
+        cache.release("/a.png");
+        assertEquals(1, cache.size());
+        assertEquals(IMAGE_BYTES, cache.getUsedBytes());
+    }
+
+    @Test
+    void testMissingImagesAndUnbalancedReleases() {
+        ImageCache cache = cache(4);
+        assertNull(cache.acquire("/missing.png"));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalStateException.class, () -> cache.release("/missing.png"));
+
+        cache.acquire("/a.png");
+        cache.release("/a.png");
+        assertThrows(IllegalStateException.class, () -> cache.release("/a.png"));
+    }
+}
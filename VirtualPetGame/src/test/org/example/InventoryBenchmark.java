@@ -0,0 +1,54 @@
+package org.example;
+
+import com.sun.management.ThreadMXBean;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the add and use paths of {@link Inventory}: the time and the bytes allocated per operation, for
+ * adds by item object, adds by name, and uses.
+ */
+public class InventoryBenchmark {
+    private static final int OPERATIONS = 10_000_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Inventory inventory = new Inventory();
+        Food apple = new Food("Apple", 30, 1);
+
+        measure("addItem(Item)", () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                inventory.addItem(apple);
+            }
+        });
+        measure("addItem(name, quantity)", () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                inventory.addItem("Apple", 1);
+            }
+        });
+        measure("useItem", () -> {
+            for (int i = 0; i < OPERATIONS; i++) {
+                inventory.useItem("Apple");
+            }
+        });
+        System.out.println(inventory.getQuantity("Apple") + " apples left");
+    }
+
+    private static void measure(String name, Runnable round) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            round.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            round.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        allocated = threads.getThreadAllocatedBytes(threadId) - allocated;
+        long operations = (long) OPERATIONS * MEASURED_ROUNDS;
+        System.out.printf("%s: %.2f ns/op, %.3f bytes/op%n", name, (double) elapsed / operations, (double) allocated / operations);
+    }
+}
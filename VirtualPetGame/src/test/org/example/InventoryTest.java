@@ -3,10 +3,14 @@ package org.example;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class InventoryTest {
     private Inventory inventory;
@@ -128,4 +132,97 @@ class InventoryTest {
         assertFalse(giftItems.isEmpty());
         assertEquals(2, giftItems.get(0).getQuantity());
     }
+
+    @Test
+    void testUsedUpItemIsReportedAsRemoved() {
+        inventory.takeDirtyItems();
+        for (int i = 0; i < 5; i++) {
+            inventory.useItem("Coffee");
+        }
+        assertFalse(inventory.hasItem("Coffee"));
+        assertFalse(inventory.toSerializableMap().containsKey("Coffee"));
+
+        Map<String, List<SavedGame.PlayerInfo.Item>> changed = inventory.takeDirtyItems();
+        assertEquals(Map.of("Coffee", List.of()), changed);
+        assertTrue(inventory.takeDirtyItems().isEmpty());
+    }
+
+    @Test
+    void testItemsAreSnapshotsOfSharedDefinitions() {
+        Item apple = inventory.getItemsByName("Apple").get(0);
+        assertInstanceOf(Food.class, apple);
+        apple.setQuantity(100);
+        assertEquals(5, inventory.getQuantity("Apple"));
+
+        // Every inventory stores the same item under the same id
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        int id = catalog.idOf("Apple");
+        assertEquals("Apple", catalog.get(id).getName());
+        assertEquals("Food", catalog.get(id).getCategory());
+        Inventory other = new Inventory("SavedGame");
+        other.addItem(new Food("Apple", 30, 2));
+        assertEquals(id, catalog.idOf("Apple"));
+        assertEquals(2, other.getQuantity("Apple"));
+        assertEquals(0, other.getQuantity("Banana"));
+    }
+
+    @Test
+    void testCategoryTotalsFollowAddsAndUses() {
+        assertEquals(25, inventory.getCategoryTotal("Food"));
+        assertEquals(20, inventory.getCategoryTotal("gift"));
+
+        inventory.addItem(new Food("Apple", 30, 3));
+        inventory.useItem("Portrait");
+        inventory.useItem("Nothing");
+        assertEquals(28, inventory.getCategoryTotal("Food"));
+        assertEquals(19, inventory.getCategoryTotal("Gift"));
+        assertEquals(0, inventory.getCategoryTotal("Toy"));
+    }
+
+    @Test
+    void testForEachInCategoryVisitsOnlyHeldItemsOfTheCategory() {
+        for (int i = 0; i < 5; i++) {
+            inventory.useItem("Bowl");
+        }
+        Map<String, Integer> gifts = new HashMap<>();
+        inventory.forEachInCategory("Gift", gifts::put);
+        assertEquals(Map.of("Collar", 5, "Key Chain", 5, "Portrait", 5), gifts);
+        assertEquals(3, inventory.getItemsByCategory("Gift").size());
+        assertTrue(inventory.getItemsByCategory("Toy").isEmpty());
+    }
+
+    @Test
+    void testAddAndUseDoNotAllocate() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        Food apple = new Food("Apple", 30, 1);
+        for (int i = 0; i < 1_000; i++) { // Warm up
+            inventory.addItem(apple);
+            inventory.addItem("Collar", 1);
+            inventory.useItem("Apple");
+            inventory.useItem("Collar");
+        }
+
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 100_000; i++) {
+            inventory.addItem(apple);
+            inventory.addItem("Collar", 1);
+            inventory.hasItem("Apple");
+            inventory.useItem("Apple");
+            inventory.useItem("Collar");
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated < 1024, "400,000 adds and uses allocated " + allocated + " bytes");
+        assertEquals(5, inventory.getQuantity("Apple"));
+        assertEquals(5, inventory.getQuantity("Collar"));
+    }
+
+    @Test
+    void testAddByNameNeedsACataloguedItem() {
+        inventory.addItem("Bread", 2);
+        assertEquals(7, inventory.getQuantity("Bread"));
+        assertEquals(27, inventory.getCategoryTotal("Food"));
+        assertThrows(IllegalArgumentException.class, () -> inventory.addItem("NeverSeenItem", 1));
+    }
 }
@@ -0,0 +1,80 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemCatalogTest {
+
+    @Test
+    void testReadDefinitionsInternsEachNameOnce() {
+        ItemCatalog catalog = new ItemCatalog();
+        catalog.readDefinitions(new StringReader("""
+                {"items": [
+                  {"name": "Pear", "category": "Food", "stat": 12},
+                  {"name": "Hat", "category": "gift", "stat": 40},
+                  {"name": "Rock", "category": "Mineral", "stat": 1},
+                  {"name": "Pear", "category": "Gift", "stat": 99}
+                ]}"""));
+
+        assertEquals(3, catalog.size());
+        ItemDefinition pear = catalog.get("Pear");
+        assertEquals(0, pear.getId());
+        assertEquals(ItemCatalog.FOOD, pear.getCategory());
+        assertEquals(12, pear.getStat()); // The first definition of a name wins
+        assertSame(pear, catalog.get(0));
+        assertEquals(ItemCatalog.GIFT, catalog.get("Hat").getCategory());
+        assertEquals(ItemCatalog.UNKNOWN, catalog.get("Rock").getCategory());
+        assertArrayEquals(new int[] {1}, catalog.getIdsInCategory(ItemCatalog.categoryIndexOf("Gift")));
+        assertNull(catalog.get("Plum"));
+        assertEquals(-1, catalog.idOf("Plum"));
+
+        Item hat = catalog.get("Hat").createItem(3);
+        assertInstanceOf(Gift.class, hat);
+        assertEquals(40, ((Gift) hat).getValue());
+        assertEquals(3, hat.getQuantity());
+    }
+
+    @Test
+    void testItemsHaveTheSameStatsWhereverTheyComeFrom() {
+        ItemCatalog catalog = ItemCatalog.getInstance();
+        int appleFullness = catalog.get("Apple").getStat();
+
+        Inventory fresh = new Inventory();
+        assertEquals(appleFullness, ((Food) fresh.getItemsByName("Apple").get(0)).getFullness());
+
+        SavedGame.PlayerInfo.Item saved = new SavedGame.PlayerInfo.Item();
+        saved.type = "Food";
+        saved.quantity = 2;
+        Inventory loaded = Inventory.fromSerializableMap(Map.of("Apple", List.of(saved)));
+        assertEquals(appleFullness, ((Food) loaded.getItemsByName("Apple").get(0)).getFullness());
+
+        Inventory replenished = new Inventory("SavedGame");
+        SimulationEngine engine = new SimulationEngine(() -> 0, new Random(5));
+        for (int i = 0; i < 20; i++) {
+            engine.replenishInventory(replenished);
+        }
+        for (Map.Entry<String, List<Item>> entry : replenished.getItems().entrySet()) {
+            Item item = entry.getValue().get(0);
+            int stat = item instanceof Food ? ((Food) item).getFullness() : ((Gift) item).getValue();
+            assertEquals(catalog.get(entry.getKey()).getStat(), stat, entry.getKey());
+        }
+    }
+
+    @Test
+    void testResourceDefinesEveryItemTheGameHandsOut() {
+        ItemCatalog catalog = ItemCatalog.fromResource(ItemCatalog.RESOURCE);
+        for (String name : List.of("Apple", "Banana", "Bread", "Cheese", "Coffee", "Carrot")) {
+            assertEquals(ItemCatalog.FOOD, catalog.get(name).getCategory(), name);
+        }
+        for (String name : List.of("Collar", "Bowl", "Key Chain", "Portrait", "Toy", "Ball", "Blanket")) {
+            assertEquals(ItemCatalog.GIFT, catalog.get(name).getCategory(), name);
+        }
+        assertEquals(0, ItemCatalog.fromResource("/missing-items.json").size());
+    }
+}
@@ -0,0 +1,65 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Compares reading and writing saves and settings through Gson's reflective binding with pretty printing,
+ * as {@link LoadData} used to, against the hand-written adapters with compact output it uses now.
+ */
+public class JsonAdapterBenchmark {
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+
+    public static void main(String[] args) {
+        Gson reflective = new GsonBuilder().setPrettyPrinting().create();
+        Gson adapters = LoadData.createGson();
+
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        GameSettings settings = new GameSettings();
+        settings.getSettings().getPlayStatistics().updateStatistics(12.5f);
+
+        compare("save", reflective, adapters, savedGame, SavedGame.class);
+        compare("settings", reflective, adapters, settings, GameSettings.class);
+    }
+
+    private static <T> void compare(String label, Gson reflective, Gson adapters, T value, Class<T> type) {
+        String before = reflective.toJson(value, type);
+        String after = adapters.toJson(value, type);
+        System.out.printf("%s size: reflective %d bytes, adapters %d bytes%n", label, before.length(), after.length());
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += reflective.toJson(value, type).length() + adapters.toJson(value, type).length();
+            sink += reflective.fromJson(before, type).hashCode() + adapters.fromJson(after, type).hashCode();
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += reflective.toJson(value, type).length();
+        }
+        double reflectiveWrite = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += adapters.toJson(value, type).length();
+        }
+        double adapterWrite = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += reflective.fromJson(before, type).hashCode();
+        }
+        double reflectiveRead = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += adapters.fromJson(after, type).hashCode();
+        }
+        double adapterRead = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+        System.out.printf("%s write: reflective %.2f us, adapters %.2f us (%.1fx faster)%n",
+                label, reflectiveWrite / 1e3, adapterWrite / 1e3, reflectiveWrite / adapterWrite);
+        System.out.printf("%s read: reflective %.2f us, adapters %.2f us (%.1fx faster)%n",
+                label, reflectiveRead / 1e3, adapterRead / 1e3, reflectiveRead / adapterRead);
+        if (sink == 42) System.out.println(); // Keep the results alive
+    }
+}
@@ -0,0 +1,66 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonAdapterTest {
+    private final Gson adapters = LoadData.createGson();
+    private final Gson reflective = new GsonBuilder().setPrettyPrinting().create();
+
+    @Test
+    void testSavedGameMatchesReflectiveBinding() {
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        String compact = adapters.toJson(savedGame, SavedGame.class);
+        assertFalse(compact.contains("\n"));
+        assertEquals(JsonParser.parseString(reflective.toJson(savedGame)), JsonParser.parseString(compact));
+
+        // Saves written by either path read back the same through the other
+        String fromAdapters = reflective.toJson(reflective.fromJson(compact, SavedGame.class));
+        String fromReflective = reflective.toJson(adapters.fromJson(reflective.toJson(savedGame), SavedGame.class));
+        assertEquals(reflective.toJson(savedGame), fromAdapters);
+        assertEquals(reflective.toJson(savedGame), fromReflective);
+    }
+
+    @Test
+    void testSavedGameWithMissingPartsAndUnknownMembers() {
+        SavedGame savedGame = adapters.fromJson(
+                "{\"playerInfo\":{\"score\":7,\"badges\":[1,2]},\"petInfo\":null,\"extra\":{\"a\":true}}", SavedGame.class);
+        assertEquals(7, savedGame.playerInfo.score);
+        assertNull(savedGame.playerInfo.name);
+        assertNull(savedGame.playerInfo.inventory);
+        assertNull(savedGame.petInfo);
+        assertEquals(0, savedGame.lastSaved);
+    }
+
+    @Test
+    void testMalformedSaveIsASyntaxError() {
+        assertThrows(JsonSyntaxException.class,
+                () -> adapters.fromJson("{\"playerInfo\":{\"score\":\"lots\"}}", SavedGame.class));
+    }
+
+    @Test
+    void testGameSettingsMatchReflectiveBinding() {
+        GameSettings settings = new GameSettings();
+        settings.getSettings().getParentalControls().setEnabled(true);
+        settings.getSettings().getParentalControls().getAllowedPlayHours().setStart("09:30");
+        settings.getSettings().getPlayStatistics().updateStatistics(12.5f);
+        settings.getSettings().getPlayStatistics().updateStatistics(0.1f);
+
+        String compact = adapters.toJson(settings, GameSettings.class);
+        assertEquals(JsonParser.parseString(reflective.toJson(settings)), JsonParser.parseString(compact));
+        assertEquals(reflective.toJson(settings), reflective.toJson(adapters.fromJson(compact, GameSettings.class)));
+    }
+
+    @Test
+    void testGameSettingsKeepDefaultsForMissingMembers() {
+        GameSettings settings = adapters.fromJson("{\"settings\":{\"parentalControls\":{\"enabled\":true}}}", GameSettings.class);
+        assertTrue(settings.getSettings().getParentalControls().isEnabled());
+        assertEquals("08:00", settings.getSettings().getParentalControls().getAllowedPlayHours().getStart());
+        assertNotNull(settings.getSettings().getPlayStatistics().getSessionDurations());
+    }
+}
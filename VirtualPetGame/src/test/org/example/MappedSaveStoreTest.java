@@ -0,0 +1,190 @@
+package org.example;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedSaveStoreTest {
+    private final Gson gson = new Gson();
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testSavesSurviveReopening() throws IOException {
+        Path file = folder.resolve("saves.store");
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            store.write("Mochi", savedGame);
+            store.write("Pudding", SavedGameCodecTest.sample());
+            assertTrue(store.delete("Pudding"));
+            assertFalse(store.delete("Pudding"));
+        }
+
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            assertEquals(List.of("Mochi"), store.getSaveNames());
+            assertEquals(gson.toJson(savedGame), gson.toJson(store.read("Mochi")));
+            assertNull(store.read("Pudding"));
+        }
+    }
+
+    @Test
+    void testUpdateStatsInPlace() throws IOException {
+        Path file = folder.resolve("saves.store");
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            store.write("Mochi", savedGame);
+            long[] location = store.getRecordLocation("Mochi");
+
+            savedGame.lastSaved += 60_000;
+            savedGame.playerInfo.score = 2_000;
+            savedGame.petInfo.stats.health = 12;
+            savedGame.petInfo.stats.happinessDepletionRate = 0.7;
+            assertTrue(store.updateStats("Mochi", savedGame));
+            assertFalse(store.updateStats("Pudding", savedGame));
+            assertArrayEquals(location, store.getRecordLocation("Mochi")); // The record was not rewritten
+        }
+
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            assertEquals(gson.toJson(savedGame), gson.toJson(store.read("Mochi")));
+        }
+    }
+
+    @Test
+    void testDescribeFromTheSlot() throws IOException {
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        try (MappedSaveStore store = new MappedSaveStore(folder.resolve("saves.store"))) {
+            store.write("Mochi", savedGame);
+            savedGame.lastSaved += 60_000;
+            savedGame.playerInfo.score = 2_000;
+            store.updateStats("Mochi", savedGame);
+
+            SaveCatalog.Entry entry = store.describe("Mochi", "saves.store");
+            long[] location = store.getRecordLocation("Mochi");
+            assertEquals("saves.store", entry.fileName);
+            assertEquals("Mochi", entry.saveName);
+            assertEquals(savedGame.petInfo.name, entry.petName);
+            assertEquals(savedGame.petInfo.petType, entry.petType);
+            assertEquals(2_000, entry.score);
+            assertEquals(savedGame.lastSaved, entry.lastModified);
+            assertEquals(location[0], entry.offset);
+            assertEquals(location[1], entry.length);
+            assertNull(store.describe("Pudding", "saves.store"));
+
+            // A pet name too long for the slot leaves the save to be read instead
+            savedGame.petInfo.name = "M".repeat(MappedSaveStore.MAX_PET_NAME_BYTES + 1);
+            store.write("Mochi", savedGame);
+            assertNull(store.describe("Mochi", "saves.store"));
+        }
+    }
+
+    @Test
+    void testFreedSpaceIsReused() throws IOException {
+        try (MappedSaveStore store = new MappedSaveStore(folder.resolve("saves.store"))) {
+            for (int i = 0; i < 10; i++) {
+                store.write("Pet" + i, SavedGameCodecTest.sample());
+            }
+            long dataEnd = store.getDataEnd();
+            for (int i = 0; i < 10; i += 2) {
+                store.delete("Pet" + i);
+            }
+            assertTrue(store.getFreeBytes() > 0);
+
+            for (int i = 10; i < 15; i++) {
+                store.write("Pet" + i, SavedGameCodecTest.sample());
+            }
+            assertEquals(dataEnd, store.getDataEnd());
+            assertEquals(10, store.size());
+        }
+    }
+
+    @Test
+    void testGrowingRecordMovesAndFreesItsSpace() throws IOException {
+        try (MappedSaveStore store = new MappedSaveStore(folder.resolve("saves.store"))) {
+            SavedGame savedGame = SavedGameCodecTest.sample();
+            store.write("Mochi", savedGame);
+            store.write("Pudding", SavedGameCodecTest.sample());
+            long before = store.getRecordLocation("Mochi")[0];
+
+            for (int i = 0; i < 40; i++) {
+                SavedGame.PlayerInfo.Item item = new SavedGame.PlayerInfo.Item();
+                item.type = "Fruit";
+                item.quantity = i;
+                savedGame.playerInfo.inventory.put("Item" + i, List.of(item));
+            }
+            store.write("Mochi", savedGame);
+            assertNotEquals(before, store.getRecordLocation("Mochi")[0]);
+            assertTrue(store.getFreeBytes() > 0);
+            assertEquals(gson.toJson(savedGame), gson.toJson(store.read("Mochi")));
+        }
+    }
+
+    @Test
+    void testDirectoryGrowsPastItsFirstSlots() throws IOException {
+        Path file = folder.resolve("saves.store");
+        List<String> names = new ArrayList<>();
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            for (int i = 0; i < 1_000; i++) {
+                SavedGame savedGame = SavedGameCodecTest.sample();
+                savedGame.playerInfo.score = i;
+                store.write("Pet" + i, savedGame);
+                names.add("Pet" + i);
+            }
+        }
+
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            assertEquals(1_000, store.size());
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(i, store.read(names.get(i)).playerInfo.score);
+            }
+        }
+    }
+
+    @Test
+    void testRewriteLeavesTheOldRecordIntact() throws IOException {
+        try (MappedSaveStore store = new MappedSaveStore(folder.resolve("saves.store"))) {
+            SavedGame savedGame = SavedGameCodecTest.sample();
+            store.write("Mochi", savedGame);
+            long[] before = store.getRecordLocation("Mochi");
+
+            savedGame.playerInfo.score++; // Same size, so it would fit in place
+            store.write("Mochi", savedGame);
+            long[] after = store.getRecordLocation("Mochi");
+            assertEquals(before[1], after[1]);
+            assertTrue(after[0] >= before[0] + before[1], "the new record must not overlap the old one");
+            assertEquals(gson.toJson(savedGame), gson.toJson(store.read("Mochi")));
+        }
+    }
+
+    @Test
+    void testDamagedRecordFailsItsChecksum() throws IOException {
+        Path file = folder.resolve("saves.store");
+        long[] location;
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            store.write("Mochi", SavedGameCodecTest.sample());
+            location = store.getRecordLocation("Mochi");
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[Math.toIntExact(location[0] + location[1])] ^= 0x40; // Flip a bit inside the encoded save
+        Files.write(file, bytes);
+        try (MappedSaveStore store = new MappedSaveStore(file)) {
+            assertThrows(IOException.class, () -> store.read("Mochi"));
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = folder.resolve("saves.store");
+        Files.writeString(file, "not a save store at all, just some text");
+        assertThrows(IOException.class, () -> new MappedSaveStore(file));
+    }
+}
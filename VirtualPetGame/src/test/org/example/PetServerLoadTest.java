@@ -0,0 +1,101 @@
+package org.example;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load-test client for {@link PetServer}. Opens many sessions at once, one virtual thread each, and has every
+ * session perform a stream of random pet actions. Reports throughput and latency percentiles.
+ *
+ * <p>Usage: {@code PetServerLoadTest [sessions] [actionsPerSession] [baseUrl]}. Without a base URL, an
+ * in-process server is started on a free port.</p>
+ */
+public class PetServerLoadTest {
+    private static final String[] PET_TYPES = {"Kuromametchi", "Lovelitchi", "Mimitchi", "Orenetchi", "Violetchi"};
+    private static final String[] ACTIONS = {"playWithPet", "exercisePet", "takePetToVet", "feedPet", "giftPet"};
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int actions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        PetServer server = null;
+        String baseUrl;
+        if (args.length > 2) {
+            baseUrl = args[2];
+        } else {
+            server = new PetServer(0, SimulationClock.SYSTEM);
+            server.start();
+            baseUrl = "http://127.0.0.1:" + server.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long[] latencies = new long[sessions * (actions + 1)];
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < sessions; s++) {
+                users.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    String body = "{\"petType\":\"" + PET_TYPES[random.nextInt(PET_TYPES.length)] + "\"}";
+                    String created = call(client, baseUrl + "/sessions", body, latencies, requests, failures);
+                    Matcher id = created == null ? null : ID.matcher(created);
+                    if (id == null || !id.find()) return;
+                    String session = baseUrl + "/sessions/" + id.group(1) + "/";
+                    for (int a = 0; a < actions; a++) {
+                        String action = ACTIONS[random.nextInt(ACTIONS.length)];
+                        String item = action.equals("feedPet") ? "{\"item\":\"Apple\"}"
+                                : action.equals("giftPet") ? "{\"item\":\"Collar\"}" : "";
+                        call(client, session + action, item, latencies, requests, failures);
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        int count = requests.get();
+        long[] measured = Arrays.copyOf(latencies, count);
+        Arrays.sort(measured);
+        System.out.printf("%d sessions, %d requests, %d failed, %.1f s%n", sessions, count, failures.get(), seconds);
+        System.out.printf("throughput: %.0f requests/s%n", count / seconds);
+        System.out.printf("latency: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                percentile(measured, 0.50), percentile(measured, 0.99), percentile(measured, 1.0));
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    private static String call(HttpClient client, String url, String body, long[] latencies,
+                               AtomicInteger requests, AtomicInteger failures) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies[requests.getAndIncrement()] = System.nanoTime() - start;
+            if (response.statusCode() >= 300) {
+                failures.incrementAndGet(); // E.g. the last Apple was already eaten
+            }
+            return response.body();
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
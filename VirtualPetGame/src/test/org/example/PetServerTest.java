@@ -0,0 +1,76 @@
+package org.example;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PetServerTest {
+    private final long[] now = {0};
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PetServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new PetServer(0, () -> now[0]);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testAdoptAndFeed() throws Exception {
+        JsonObject pet = post("/sessions", "{\"petType\": \"Mimitchi\", \"name\": \"Mochi\"}", 201);
+        String id = pet.get("id").getAsString();
+        assertEquals("Mochi", pet.get("name").getAsString());
+        assertEquals(5, pet.getAsJsonObject("inventory").get("Apple").getAsInt());
+
+        now[0] = SimulationEngine.UPDATE_INTERVAL * 10; // Ten ticks pass between requests
+        JsonObject fed = post("/sessions/" + id + "/feedPet", "{\"item\": \"Apple\"}", 200);
+        assertEquals(100.0, fed.get("fullness").getAsDouble()); // 91 + 30, capped
+        assertEquals(98.0, fed.get("happiness").getAsDouble());
+        assertEquals(4, fed.getAsJsonObject("inventory").get("Apple").getAsInt());
+        assertEquals(20, fed.get("score").getAsInt());
+    }
+
+    @Test
+    void testActionsAndErrors() throws Exception {
+        String id = post("/sessions", "{\"petType\": \"Orenetchi\"}", 201).get("id").getAsString();
+        assertEquals(10, post("/sessions/" + id + "/playWithPet", "", 200).get("score").getAsInt());
+        assertEquals(25, post("/sessions/" + id + "/exercisePet", "", 200).get("score").getAsInt());
+
+        post("/sessions/" + id + "/danceWithPet", "", 400);
+        post("/sessions/" + id + "/giftPet", "{\"item\": \"Apple\"}", 400); // Apple is food, not a gift
+        post("/sessions", "{\"petType\": \"Dragon\"}", 400);
+        post("/sessions/" + id + "/feedPet", "{\"item\": {}}", 400);
+        post("/sessions", "{\"petType\": [\"Mimitchi\"]}", 400);
+        post("/sessions/missing/playWithPet", "", 404);
+
+        HttpResponse<String> deleted = client.send(request("/sessions/" + id).DELETE().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(204, deleted.statusCode());
+        assertEquals(0, server.getSessionCount());
+    }
+
+    private JsonObject post(String path, String body, int expectedStatus) throws Exception {
+        HttpResponse<String> response = client.send(request(path).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(expectedStatus, response.statusCode(), response.body());
+        return JsonParser.parseString(response.body()).getAsJsonObject();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + path));
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PetStoreTest {
+
+    @Test
+    void testTickAllMatchesPetUpdateStats() {
+        Random random = new Random(7);
+        PetStore store = new PetStore(16); // Small capacity so the store has to grow
+        List<Pet> pets = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            double health = 20 + random.nextInt(81);
+            double fullness = random.nextInt(101);
+            double happiness = random.nextInt(101);
+            double sleep = random.nextInt(101);
+            double fullnessRate = random.nextDouble() * 2;
+            double happinessRate = random.nextDouble() * 2;
+            double sleepRate = random.nextDouble() * 2;
+
+            pets.add(new Pet("Mimitchi", "Pet" + i, health, fullness, happiness, sleep, fullnessRate, happinessRate, sleepRate));
+            store.add(health, fullness, happiness, sleep, fullnessRate, happinessRate, sleepRate);
+        }
+
+        for (int tick = 0; tick < 400; tick++) {
+            if (tick % 50 == 0) {
+                // Put a few pets to bed so both paths exercise sleep regeneration
+                for (int i = tick % 7; i < pets.size(); i += 7) {
+                    pets.get(i).goToSleep();
+                    store.goToSleep(i);
+                }
+            }
+            for (Pet pet : pets) {
+                pet.updateStats();
+            }
+            store.tickAll();
+
+            for (int i = 0; i < pets.size(); i++) {
+                assertSame(pets.get(i), store, i, tick);
+            }
+        }
+    }
+
+    @Test
+    void testStarvingPetDies() {
+        PetStore store = new PetStore();
+        int i = store.add(5, 0, 100, 100, 1, 1, 1);
+
+        store.tickAll(); // Hunger penalty takes the last of the health
+        assertTrue(store.isHungry(i));
+        assertEquals(0, store.getHealth(i));
+        assertFalse(store.isDead(i));
+
+        store.tickAll();
+        assertTrue(store.isDead(i));
+    }
+
+    private static void assertSame(Pet pet, PetStore store, int i, int tick) {
+        String where = "pet " + i + " at tick " + tick;
+        assertEquals(pet.getHealth(), store.getHealth(i), where);
+        assertEquals(pet.getFullness(), store.getFullness(i), where);
+        assertEquals(pet.getHappiness(), store.getHappiness(i), where);
+        assertEquals(pet.getSleep(), store.getSleep(i), where);
+        assertEquals(pet.getHappinessDepletionRate(), store.getHappinessDepletionRate(i), where);
+        assertEquals(pet.isDead(), store.isDead(i), where);
+        assertEquals(pet.isSleeping(), store.isSleeping(i), where);
+        assertEquals(pet.isHungry(), store.isHungry(i), where);
+        assertEquals(pet.isAngry(), store.isAngry(i), where);
+    }
+}
@@ -0,0 +1,94 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PetTest {
+
+    @Test
+    void testAdvanceMatchesRepeatedUpdates() {
+        // Rates that are exact in binary, so closed-form and step-by-step arithmetic agree exactly
+        double[][] configs = {
+                {100, 100, 100, 100, 0.5, 0.25, 0.125},
+                {100, 40, 60, 30, 1.0, 0.5, 0.25},
+                {60, 10, 5, 100, 0.25, 1.0, 2.0},
+                {100, 100, 100, 100, 0.0, 0.0, 0.5},
+                {25, 0, 0, 0, 0.5, 0.5, 0.5},
+        };
+        for (double[] c : configs) {
+            for (long ticks : new long[]{1, 7, 200, 1_000, 5_000}) {
+                Pet stepped = new Pet("Kuromametchi", "Stepped", c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+                Pet advanced = new Pet("Kuromametchi", "Advanced", c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+
+                for (long i = 0; i < ticks; i++) {
+                    stepped.updateStats();
+                }
+                advanced.advanceTicks(ticks);
+
+                String where = java.util.Arrays.toString(c) + " after " + ticks + " ticks";
+                assertEquals(stepped.getHealth(), advanced.getHealth(), where);
+                assertEquals(stepped.getFullness(), advanced.getFullness(), where);
+                assertEquals(stepped.getHappiness(), advanced.getHappiness(), where);
+                assertEquals(stepped.getSleep(), advanced.getSleep(), where);
+                assertEquals(stepped.getHappinessDepletionRate(), advanced.getHappinessDepletionRate(), where);
+                assertEquals(stepped.isDead(), advanced.isDead(), where);
+                assertEquals(stepped.isSleeping(), advanced.isSleeping(), where);
+                assertEquals(stepped.isHungry(), advanced.isHungry(), where);
+                assertEquals(stepped.isAngry(), advanced.isAngry(), where);
+            }
+        }
+    }
+
+    @Test
+    void testAdvanceMatchesRepeatedUpdatesWithRealPetRates() {
+        // The rates pets are adopted with are not exact in binary, so the stats only agree up to rounding
+        double[][] configs = {
+                {100, 100, 100, 100, 0.3, 0.6, 0.9},
+                {100, 70, 45, 80, 0.6, 0.9, 0.3},
+                {90, 20, 100, 60, 0.9, 0.3, 0.6},
+        };
+        for (double[] c : configs) {
+            for (long ticks : new long[]{1, 7, 200, 1_000, 5_000}) {
+                Pet stepped = new Pet("Mimitchi", "Stepped", c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+                Pet advanced = new Pet("Mimitchi", "Advanced", c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+
+                for (long i = 0; i < ticks; i++) {
+                    stepped.updateStats();
+                }
+                advanced.advanceTicks(ticks);
+
+                String where = java.util.Arrays.toString(c) + " after " + ticks + " ticks";
+                assertEquals(stepped.getHealth(), advanced.getHealth(), 1e-9, where);
+                assertEquals(stepped.getFullness(), advanced.getFullness(), 1e-9, where);
+                assertEquals(stepped.getHappiness(), advanced.getHappiness(), 1e-9, where);
+                assertEquals(stepped.getSleep(), advanced.getSleep(), 1e-9, where);
+                assertEquals(stepped.isDead(), advanced.isDead(), where);
+                assertEquals(stepped.isSleeping(), advanced.isSleeping(), where);
+            }
+        }
+    }
+
+    @Test
+    void testAdvanceUsesTickLength() {
+        Pet pet = new Pet("Mimitchi", "Offline", 100, 100, 100, 100, 1.0, 1.0, 1.0);
+        pet.advance(Pet.TICK_SECONDS * 10 + Pet.TICK_SECONDS - 1); // The partial tick is ignored
+        assertEquals(90.0, pet.getFullness());
+    }
+
+    @Test
+    void testAdvanceWeeksOffline() {
+        Pet pet = new Pet("Orenetchi", "Forgotten", 100, 100, 100, 100, 0.1, 0.3, 1.0);
+        pet.advance(60L * 60 * 24 * 7 * 4); // Four weeks
+        assertTrue(pet.isDead());
+        assertEquals(0, pet.getHealth());
+    }
+
+    @Test
+    void testAdvanceDoesNothingForDeadPet() {
+        Pet pet = new Pet("Violetchi", "Gone", 100, 50, 50, 50, 1.0, 1.0, 1.0);
+        pet.setHealth(0);
+        pet.advanceTicks(100);
+        assertEquals(50.0, pet.getFullness());
+    }
+}
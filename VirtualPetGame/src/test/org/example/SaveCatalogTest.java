@@ -0,0 +1,70 @@
+package org.example;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveCatalogTest {
+    private final Gson gson = new Gson();
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testStoreAndLoad() throws IOException {
+        File catalogFile = folder.resolve("catalog.json").toFile();
+        File older = save("Older.json", 1_000_000L);
+        File newer = save("Newer.sav", 2_000_000L);
+
+        SaveCatalog catalog = SaveCatalog.load(catalogFile, gson);
+        catalog.put(SaveCatalog.describe(older, "Older", SavedGameCodecTest.sample()));
+        catalog.put(SaveCatalog.describe(newer, "Newer", SavedGameCodecTest.sample()));
+        catalog.store(gson);
+
+        List<SaveCatalog.Entry> entries = SaveCatalog.load(catalogFile, gson).getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("Newer", entries.get(0).saveName);
+        assertEquals("Older", entries.get(1).saveName);
+        assertEquals("Mochi", entries.get(1).petName);
+        assertEquals("Mimitchi", entries.get(1).petType);
+        assertEquals(1_245, entries.get(1).score);
+        assertEquals(older.length(), entries.get(1).length);
+    }
+
+    @Test
+    void testDetectsChangedAndDeletedSaves() throws IOException {
+        File file = save("Mochi.json", 1_000_000L);
+        SaveCatalog catalog = SaveCatalog.load(folder.resolve("catalog.json").toFile(), gson);
+        catalog.put(SaveCatalog.describe(file, "Mochi", SavedGameCodecTest.sample()));
+        assertNotNull(catalog.getCurrent(file));
+
+        assertTrue(file.setLastModified(3_000_000L));
+        assertNull(catalog.getCurrent(file));
+
+        assertTrue(catalog.retainAll(Set.of("Other.json")));
+        assertTrue(catalog.getEntries().isEmpty());
+    }
+
+    @Test
+    void testCorruptCatalogIsRebuilt() throws IOException {
+        File catalogFile = folder.resolve("catalog.json").toFile();
+        Files.writeString(catalogFile.toPath(), "{ not json");
+        assertTrue(SaveCatalog.load(catalogFile, gson).getEntries().isEmpty());
+    }
+
+    private File save(String name, long lastModified) throws IOException {
+        File file = folder.resolve(name).toFile();
+        Files.write(file.toPath(), SavedGameCodec.encode(SavedGameCodecTest.sample()));
+        assertTrue(file.setLastModified(lastModified));
+        return file;
+    }
+}
@@ -0,0 +1,133 @@
+package org.example;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveDeltaTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    void testCaptureTakesOnlyWhatChanged() {
+        Player player = newPlayer();
+        SaveDelta.capture(player, snapshot(player, 1)); // Clears the flags set while setting up
+
+        player.playWithPet();
+        SaveDelta delta = SaveDelta.capture(player, snapshot(player, 2));
+        assertEquals(SaveDelta.SCORE | SaveDelta.PET_STATS, delta.getFields());
+
+        player.feedPet(new Food("Cheese", 10, 5));
+        delta = SaveDelta.capture(player, snapshot(player, 3));
+        assertEquals(SaveDelta.SCORE | SaveDelta.PET_STATS | SaveDelta.PET_RATES | SaveDelta.INVENTORY, delta.getFields());
+
+        assertEquals(0, SaveDelta.capture(player, snapshot(player, 4)).getFields());
+    }
+
+    @Test
+    void testLogBringsBaseUpToDate() {
+        Player player = newPlayer();
+        SavedGame base = snapshot(player, 1);
+        SaveDelta.capture(player, base);
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        player.feedPet(new Food("Cheese", 10, 5));
+        log.writeBytes(SaveDelta.capture(player, snapshot(player, 2)).toLogRecord());
+        player.giftPet(new Gift("Portrait", 50, 5));
+        player.exercisePet();
+        SavedGame latest = snapshot(player, 3);
+        log.writeBytes(SaveDelta.capture(player, latest).toLogRecord());
+
+        SavedGame loaded = base.copy();
+        assertEquals(2, SaveDelta.applyLog(log.toByteArray(), loaded));
+        assertEquals(gson.toJson(latest), gson.toJson(loaded));
+    }
+
+    @Test
+    void testMergedDeltaMatchesSeparateDeltas() {
+        Player player = newPlayer();
+        SavedGame base = snapshot(player, 1);
+        SaveDelta.capture(player, base);
+
+        player.feedPet(new Food("Cheese", 10, 5));
+        SaveDelta merged = SaveDelta.capture(player, snapshot(player, 2));
+        player.playWithPet();
+        SavedGame latest = snapshot(player, 3);
+        merged.merge(SaveDelta.capture(player, latest));
+
+        SavedGame loaded = base.copy();
+        SaveDelta.applyLog(merged.toLogRecord(), loaded);
+        assertEquals(gson.toJson(latest), gson.toJson(loaded));
+    }
+
+    @Test
+    void testTornAndStaleRecordsAreIgnored() {
+        Player player = newPlayer();
+        SavedGame base = snapshot(player, 5);
+        SaveDelta.capture(player, base);
+
+        player.playWithPet();
+        byte[] stale = SaveDelta.capture(player, snapshot(player, 4)).toLogRecord(); // Older than the base
+        player.exercisePet();
+        byte[] torn = SaveDelta.capture(player, snapshot(player, 6)).toLogRecord();
+
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        log.writeBytes(stale);
+        log.writeBytes(Arrays.copyOf(torn, torn.length - 3));
+
+        SavedGame loaded = base.copy();
+        assertEquals(0, SaveDelta.applyLog(log.toByteArray(), loaded));
+        assertEquals(gson.toJson(base), gson.toJson(loaded));
+    }
+
+    @Test
+    void testRecordSavedInTheSameMillisecondIsApplied() {
+        Player player = newPlayer();
+        SavedGame base = snapshot(player, 0);
+        base.markSaved();
+        SaveDelta.capture(player, base);
+
+        player.playWithPet();
+        SavedGame latest = snapshot(player, base.lastSaved);
+        latest.markSaved(); // Later than the base even if the clock has not moved on
+        byte[] log = SaveDelta.capture(player, latest).toLogRecord();
+
+        SavedGame loaded = base.copy();
+        assertEquals(1, SaveDelta.applyLog(log, loaded));
+        assertEquals(gson.toJson(latest), gson.toJson(loaded));
+    }
+
+    private static Player newPlayer() {
+        Player player = new Player();
+        player.setPet(new Pet("Mimitchi", "Mochi", 80, 50, 60, 70, 0.9, 0.2, 0.5));
+        return player;
+    }
+
+    /**
+     * Builds a save of a player the way the game does before writing it.
+     */
+    private static SavedGame snapshot(Player player, long lastSaved) {
+        Pet pet = player.getPet();
+        SavedGame savedGame = new SavedGame();
+        savedGame.lastSaved = lastSaved;
+        savedGame.playerInfo = new SavedGame.PlayerInfo();
+        savedGame.playerInfo.name = pet.getName();
+        savedGame.playerInfo.score = player.getScore();
+        savedGame.playerInfo.inventory = player.getInventory().toSerializableMap();
+        savedGame.petInfo = new SavedGame.PetInfo();
+        savedGame.petInfo.petType = pet.getPetType();
+        savedGame.petInfo.name = pet.getName();
+        savedGame.petInfo.stats = new SavedGame.PetInfo.Stats();
+        savedGame.petInfo.stats.health = (int) pet.getHealth();
+        savedGame.petInfo.stats.sleep = (int) pet.getSleep();
+        savedGame.petInfo.stats.fullness = (int) pet.getFullness();
+        savedGame.petInfo.stats.happiness = (int) pet.getHappiness();
+        savedGame.petInfo.stats.fullnessDepletionRate = pet.getFullnessDepletionRate();
+        savedGame.petInfo.stats.sleepDepletionRate = pet.getSleepDepletionRate();
+        savedGame.petInfo.stats.happinessDepletionRate = pet.getHappinessDepletionRate();
+        return savedGame;
+    }
+}
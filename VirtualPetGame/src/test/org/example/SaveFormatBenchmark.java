@@ -0,0 +1,47 @@
+package org.example;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compares the size and parse time of a typical save in the pretty-printed JSON format written by
+ * {@link LoadData} and in the binary format of {@link SavedGameCodec}.
+ */
+public class SaveFormatBenchmark {
+    private static final int WARMUP_ROUNDS = 50_000;
+    private static final int MEASURED_ROUNDS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        SavedGame savedGame = SavedGameCodecTest.sample();
+        byte[] json = gson.toJson(savedGame).getBytes(StandardCharsets.UTF_8);
+        byte[] binary = SavedGameCodec.encode(savedGame);
+        System.out.printf("size: json %d bytes, binary %d bytes (%.1fx smaller)%n",
+                json.length, binary.length, (double) json.length / binary.length);
+
+        long sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            sink += gson.fromJson(new String(json, StandardCharsets.UTF_8), SavedGame.class).playerInfo.score;
+            sink += SavedGameCodec.decode(binary).playerInfo.score;
+        }
+
+        long start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += gson.fromJson(new String(json, StandardCharsets.UTF_8), SavedGame.class).playerInfo.score;
+        }
+        double jsonNanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+        start = System.nanoTime();
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            sink += SavedGameCodec.decode(binary).playerInfo.score;
+        }
+        double binaryNanos = (double) (System.nanoTime() - start) / MEASURED_ROUNDS;
+
+        System.out.printf("parse: json %.2f us, binary %.2f us (%.1fx faster)%n",
+                jsonNanos / 1e3, binaryNanos / 1e3, jsonNanos / binaryNanos);
+        if (sink == 42) System.out.println(); // Keep the results alive
+    }
+}
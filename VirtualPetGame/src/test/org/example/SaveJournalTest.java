@@ -0,0 +1,97 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveJournalTest {
+
+    @TempDir
+    Path folder;
+
+    @Test
+    void testWriteReplacesFile() throws IOException {
+        Path target = folder.resolve("Mochi.json");
+        try (SaveJournal journal = new SaveJournal(folder.resolve("saves.journal"))) {
+            journal.write(target, bytes("first"));
+            journal.write(target, bytes("second"));
+            assertEquals("second", Files.readString(target));
+            assertFalse(Files.exists(folder.resolve("Mochi.json.tmp")));
+        }
+        assertEquals(0, Files.size(folder.resolve("saves.journal"))); // Closing checkpoints the journal
+    }
+
+    @Test
+    void testRecoveryReplaysJournal() throws IOException {
+        Path journalFile = folder.resolve("saves.journal");
+        Path kept = folder.resolve("Mochi.json");
+        Path deleted = folder.resolve("Old.sav");
+        Files.writeString(deleted, "old");
+
+        SaveJournal crashed = new SaveJournal(journalFile);
+        crashed.write(kept, bytes("{\"score\": 1}"));
+        crashed.write(kept, bytes("{\"score\": 2}"));
+        crashed.delete(deleted);
+        crashed.sync();
+        crashed.abandon(); // Left without a checkpoint, as if the process died
+
+        // The crash left a half-written file and a torn record at the end of the journal
+        Files.writeString(kept, "{\"sco");
+        Files.writeString(deleted, "old");
+        Files.write(journalFile, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        new SaveJournal(journalFile).close(); // Opening replays the journal
+        assertEquals("{\"score\": 2}", Files.readString(kept));
+        assertFalse(Files.exists(deleted));
+    }
+
+    @Test
+    void testCorruptRecordStopsReplay() throws IOException {
+        Path journalFile = folder.resolve("saves.journal");
+        Path target = folder.resolve("Mochi.json");
+        SaveJournal crashed = new SaveJournal(journalFile);
+        crashed.write(target, bytes("good"));
+        crashed.write(target, bytes("later"));
+        crashed.sync();
+        crashed.abandon();
+
+        byte[] journal = Files.readAllBytes(journalFile);
+        journal[journal.length - 1] ^= 1; // Flip a bit in the second record
+        Files.write(journalFile, journal);
+        Files.writeString(target, "garbage");
+
+        new SaveJournal(journalFile).close();
+        assertEquals("good", Files.readString(target));
+    }
+
+    @Test
+    void testAppendReplayOverwritesTornTail() throws IOException {
+        Path journalFile = folder.resolve("saves.journal");
+        Path log = folder.resolve("Mochi.delta");
+        SaveJournal crashed = new SaveJournal(journalFile);
+        crashed.append(log, bytes("one,"));
+        crashed.append(log, bytes("two,"));
+        crashed.sync();
+        crashed.abandon();
+
+        // The crash left the second append half written
+        Files.writeString(log, "one,tw");
+
+        try (SaveJournal recovered = new SaveJournal(journalFile)) {
+            assertEquals("one,two,", Files.readString(log));
+            recovered.append(log, bytes("three,"));
+            assertEquals("one,two,three,", Files.readString(log));
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+/**
+ * Compares reading a library of saves one after another, as {@link LoadData} used to, with reading them
+ * through a {@link SaveLoader}, reporting how long the first batch takes to arrive and how long the whole
+ * library takes. Usage: {@code SaveLoaderBenchmark [saves]}.
+ */
+public class SaveLoaderBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        int saves = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Path folder = Files.createTempDirectory("save-loader-benchmark");
+        try {
+            List<Path> files = new ArrayList<>();
+            for (int i = 0; i < saves; i++) {
+                SavedGame savedGame = SavedGameCodecTest.sample();
+                savedGame.playerInfo.score = i;
+                Path file = folder.resolve("Pet" + i + ".sav");
+                Files.write(file, SavedGameCodec.encode(savedGame));
+                files.add(file);
+            }
+            List<Callable<SavedGame>> tasks = new ArrayList<>();
+            for (Path file : files) {
+                tasks.add(() -> SavedGameCodec.decode(Files.readAllBytes(file)));
+            }
+
+            long sink = 0;
+            double sequentialMillis = Double.MAX_VALUE;
+            double firstBatchMillis = Double.MAX_VALUE;
+            double parallelMillis = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (Callable<SavedGame> task : tasks) {
+                    sink += task.call().playerInfo.score;
+                }
+                sequentialMillis = Math.min(sequentialMillis, (System.nanoTime() - start) / 1e6);
+
+                CountDownLatch firstBatch = new CountDownLatch(1);
+                long[] firstBatchAt = new long[1];
+                start = System.nanoTime();
+                SaveLoader<SavedGame> loader = new SaveLoader<>(tasks, SaveLoader.DEFAULT_PARALLELISM)
+                        .start(List.of(), Runnable::run, batch -> {
+                            if (firstBatch.getCount() > 0) {
+                                firstBatchAt[0] = System.nanoTime();
+                                firstBatch.countDown();
+                            }
+                        });
+                sink += loader.getResult().join().size();
+                parallelMillis = Math.min(parallelMillis, (System.nanoTime() - start) / 1e6);
+                firstBatch.await();
+                firstBatchMillis = Math.min(firstBatchMillis, (firstBatchAt[0] - start) / 1e6);
+            }
+
+            System.out.printf("%d saves: sequential %.1f ms, loader %.1f ms (%.1fx faster), first batch after %.2f ms%n",
+                    saves, sequentialMillis, parallelMillis, sequentialMillis / parallelMillis, firstBatchMillis);
+            if (sink == 42) System.out.println(); // Keep the results alive
+        } finally {
+            try (Stream<Path> paths = Files.walk(folder)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
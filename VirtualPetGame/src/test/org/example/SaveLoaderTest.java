@@ -0,0 +1,120 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveLoaderTest {
+
+    @Test
+    void testBatchesDeliverEveryResult() {
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int value = i;
+            tasks.add(() -> value);
+        }
+        List<Integer> delivered = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> results = new SaveLoader<>(tasks, 4)
+                .start(List.of(), Runnable::run, delivered::addAll)
+                .getResult().join();
+
+        assertEquals(500, results.size());
+        assertEquals(500, delivered.size());
+        assertEquals(new HashSet<>(results), new HashSet<>(delivered));
+    }
+
+    @Test
+    void testLoadedResultsAreDeliveredFirst() {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Callable<String>> tasks = List.of(() -> {
+            release.await();
+            return "Pudding";
+        });
+        List<List<String>> batches = Collections.synchronizedList(new ArrayList<>());
+        SaveLoader<String> loader = new SaveLoader<>(tasks, 2).start(List.of("Mochi", "Tofu"), Runnable::run, batches::add);
+
+        assertEquals(List.of(List.of("Mochi", "Tofu")), batches);
+        release.countDown();
+        assertEquals(Set.of("Mochi", "Tofu", "Pudding"), new HashSet<>(loader.getResult().join()));
+        assertEquals(List.of("Pudding"), batches.get(batches.size() - 1));
+    }
+
+    @Test
+    void testNullAndFailedLoadsAreLeftOut() {
+        List<Callable<String>> tasks = List.of(
+                () -> "Mochi",
+                () -> null,
+                () -> { throw new IllegalStateException("Corrupt save"); });
+        List<String> results = new SaveLoader<>(tasks, 3).start(List.of(), Runnable::run, batch -> { }).getResult().join();
+        assertEquals(List.of("Mochi"), results);
+    }
+
+    @Test
+    void testWhenLoadedRunsBeforeTheResultCompletes() {
+        List<Callable<String>> tasks = List.of(() -> "Mochi", () -> "Pudding");
+        AtomicBoolean ran = new AtomicBoolean();
+        SaveLoader<String> loader = new SaveLoader<>(tasks, 2)
+                .whenLoaded(loaded -> {
+                    assertEquals(2, loaded.size());
+                    ran.set(true);
+                });
+        loader.getResult().thenRun(() -> assertTrue(ran.get()));
+        loader.start(List.of(), Runnable::run, batch -> { }).getResult().join();
+        assertTrue(ran.get());
+    }
+
+    @Test
+    void testNothingToLoadCompletesAtOnce() {
+        SaveLoader<String> loader = new SaveLoader<String>(List.of(), 2).start(List.of("Mochi"), Runnable::run, batch -> { });
+        assertTrue(loader.getResult().isDone());
+        assertEquals(List.of("Mochi"), loader.getResult().join());
+    }
+
+    @Test
+    void testLoadersShareTheirWorkerThreads() {
+        Set<String> threads = Collections.synchronizedSet(new HashSet<>());
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tasks.add(() -> {
+                threads.add(Thread.currentThread().getName());
+                return "Mochi";
+            });
+        }
+        for (int visit = 0; visit < 5; visit++) {
+            new SaveLoader<>(tasks, SaveLoader.DEFAULT_PARALLELISM).start(List.of(), Runnable::run, batch -> { })
+                    .getResult().join();
+        }
+        assertTrue(threads.size() <= SaveLoader.DEFAULT_PARALLELISM, "loaders started new threads: " + threads);
+    }
+
+    @Test
+    void testCancelStopsDelivery() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Callable<String>> tasks = List.of(() -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "Pudding";
+        });
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        SaveLoader<String> loader = new SaveLoader<>(tasks, 1).start(List.of(), Runnable::run, delivered::addAll);
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        loader.cancel();
+        release.countDown();
+        assertTrue(loader.isCancelled());
+        assertThrows(CancellationException.class, () -> loader.getResult().join());
+        assertTrue(delivered.isEmpty());
+    }
+}
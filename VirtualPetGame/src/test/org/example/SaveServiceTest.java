@@ -0,0 +1,114 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SaveServiceTest {
+
+    /**
+     * Records writes instead of touching the disk, and can hold the writer thread inside a write.
+     */
+    private static class RecordingWriter implements SaveWriter {
+        final List<String> writes = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public boolean saveNewGame(SavedGame savedGame, String saveName) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writes.add(saveName + ":" + savedGame.playerInfo.score);
+            return true;
+        }
+
+        @Override
+        public boolean saveIncremental(SavedGame savedGame, SaveDelta delta, String saveName) {
+            return saveNewGame(savedGame, saveName);
+        }
+    }
+
+    @Test
+    void testSavesForTheSamePetAreCoalesced() throws Exception {
+        RecordingWriter saveWriter = new RecordingWriter();
+        SaveService service = new SaveService(saveWriter);
+        SavedGame savedGame = SavedGameCodecTest.sample();
+
+        savedGame.playerInfo.score = 1;
+        service.save("Mochi", savedGame);
+        saveWriter.entered.await(); // The writer is now busy with score 1
+
+        for (int score = 2; score <= 10; score++) {
+            savedGame.playerInfo.score = score;
+            service.save("Mochi", savedGame);
+        }
+        service.save("Pudding", savedGame);
+        savedGame.playerInfo.score = 99; // Changing the original must not affect queued snapshots
+
+        saveWriter.release.countDown();
+        service.close();
+        assertEquals(List.of("Mochi:1", "Mochi:10", "Pudding:10"), saveWriter.writes);
+        assertEquals(3, service.getWrittenCount());
+        assertEquals(8, service.getCoalescedCount());
+    }
+
+    @Test
+    void testFullQueueBlocksUntilWriterCatchesUp() throws Exception {
+        RecordingWriter saveWriter = new RecordingWriter();
+        SaveService service = new SaveService(saveWriter, 1);
+        SavedGame savedGame = SavedGameCodecTest.sample();
+
+        service.save("A", savedGame);
+        saveWriter.entered.await();
+        service.save("B", savedGame); // Fills the queue
+
+        Thread producer = new Thread(() -> service.save("C", savedGame));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive(), "save should block while the queue is full");
+
+        saveWriter.release.countDown();
+        producer.join();
+        service.flush();
+        assertEquals(List.of("A:1245", "B:1245", "C:1245"), saveWriter.writes);
+        service.close();
+        assertThrows(IllegalStateException.class, () -> service.save("D", savedGame));
+    }
+
+    @Test
+    void testSaveAfterAFailedWriteIsFull() throws Exception {
+        List<String> writes = Collections.synchronizedList(new ArrayList<>());
+        SaveWriter failingDeltas = new SaveWriter() {
+            @Override
+            public boolean saveNewGame(SavedGame savedGame, String saveName) {
+                writes.add("full:" + saveName);
+                return true;
+            }
+
+            @Override
+            public boolean saveIncremental(SavedGame savedGame, SaveDelta delta, String saveName) {
+                writes.add("delta:" + saveName);
+                return false;
+            }
+        };
+        SaveService service = new SaveService(failingDeltas);
+        SavedGame savedGame = SavedGameCodecTest.sample();
+
+        service.save("Mochi", savedGame, new SaveDelta(1));
+        service.flush();
+        service.save("Mochi", savedGame, new SaveDelta(2)); // Must not build on the lost changes
+        service.save("Pudding", savedGame, new SaveDelta(2));
+        service.close();
+        assertEquals(List.of("delta:Mochi", "full:Mochi", "delta:Pudding"), writes);
+        assertEquals(1, service.getWrittenCount()); // Only the full save succeeded
+    }
+}
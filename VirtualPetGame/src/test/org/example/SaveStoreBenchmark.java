@@ -0,0 +1,61 @@
+package org.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Compares opening and reading a library of saves kept as one binary file per save with the same saves
+ * kept in a {@link MappedSaveStore}. Usage: {@code SaveStoreBenchmark [saves]}.
+ */
+public class SaveStoreBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws IOException {
+        int saves = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        Path folder = Files.createTempDirectory("save-store-benchmark");
+        Path savedGames = Files.createDirectory(folder.resolve("SavedGames"));
+        Path storeFile = folder.resolve("saves.store");
+        try {
+            try (MappedSaveStore store = new MappedSaveStore(storeFile)) {
+                for (int i = 0; i < saves; i++) {
+                    SavedGame savedGame = SavedGameCodecTest.sample();
+                    savedGame.playerInfo.score = i;
+                    Files.write(savedGames.resolve("Pet" + i + ".sav"), SavedGameCodec.encode(savedGame));
+                    store.write("Pet" + i, savedGame);
+                }
+            }
+
+            long sink = 0;
+            double filesMillis = Double.MAX_VALUE;
+            double storeMillis = Double.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                File[] files = savedGames.toFile().listFiles((dir, name) -> name.endsWith(".sav"));
+                for (File file : files) {
+                    sink += SavedGameCodec.decode(Files.readAllBytes(file.toPath())).playerInfo.score;
+                }
+                filesMillis = Math.min(filesMillis, (System.nanoTime() - start) / 1e6);
+
+                start = System.nanoTime();
+                try (MappedSaveStore store = new MappedSaveStore(storeFile)) {
+                    for (String saveName : store.getSaveNames()) {
+                        sink += store.read(saveName).playerInfo.score;
+                    }
+                }
+                storeMillis = Math.min(storeMillis, (System.nanoTime() - start) / 1e6);
+            }
+
+            System.out.printf("%d saves: files %.1f ms, store %.1f ms (%.1fx faster), store file %d KB%n",
+                    saves, filesMillis, storeMillis, filesMillis / storeMillis, Files.size(storeFile) / 1024);
+            if (sink == 42) System.out.println(); // Keep the results alive
+        } finally {
+            try (Stream<Path> paths = Files.walk(folder)) {
+                paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+}
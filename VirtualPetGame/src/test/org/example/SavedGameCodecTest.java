@@ -0,0 +1,86 @@
+package org.example;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SavedGameCodecTest {
+    private final Gson gson = new Gson();
+
+    @Test
+    void testRoundTrip() throws IOException {
+        SavedGame savedGame = sample();
+        byte[] data = SavedGameCodec.encode(savedGame);
+        assertTrue(SavedGameCodec.isBinary(data));
+
+        // Compare through JSON so every field is checked
+        assertEquals(gson.toJson(savedGame), gson.toJson(SavedGameCodec.decode(data)));
+    }
+
+    @Test
+    void testRoundTripWithMissingParts() throws IOException {
+        SavedGame savedGame = new SavedGame();
+        savedGame.playerInfo = new SavedGame.PlayerInfo(); // No name, no inventory
+        savedGame.playerInfo.score = -3;
+        assertEquals(gson.toJson(savedGame), gson.toJson(SavedGameCodec.decode(SavedGameCodec.encode(savedGame))));
+    }
+
+    @Test
+    void testJsonIsNotBinary() {
+        assertFalse(SavedGameCodec.isBinary(gson.toJson(sample()).getBytes(StandardCharsets.UTF_8)));
+        assertFalse(SavedGameCodec.isBinary(new byte[]{'V', 'P'}));
+    }
+
+    @Test
+    void testRejectsBadData() {
+        byte[] data = SavedGameCodec.encode(sample());
+        byte[] truncated = Arrays.copyOf(data, data.length - 5);
+        assertThrows(IOException.class, () -> SavedGameCodec.decode(truncated));
+
+        // A corrupt string length must fail the decode before anything is allocated for it
+        byte[] hugeName = Arrays.copyOf(data, 4 + 1 + 8 + 1 + 5);
+        int at = 4 + 1 + 8 + 1; // Header, version, timestamp, player present; the player's name comes next
+        hugeName[at] = (byte) 0xF0;
+        hugeName[at + 1] = (byte) 0xFF;
+        hugeName[at + 2] = (byte) 0xFF;
+        hugeName[at + 3] = (byte) 0xFF;
+        hugeName[at + 4] = (byte) 0x07; // About two billion bytes
+        IOException corrupt = assertThrows(IOException.class, () -> SavedGameCodec.decode(hugeName));
+        assertTrue(corrupt.getMessage().startsWith("Corrupt save"), corrupt.getMessage());
+
+        byte[] future = data.clone();
+        future[4] = (byte) (SavedGameCodec.VERSION + 1);
+        assertThrows(IOException.class, () -> SavedGameCodec.decode(future));
+    }
+
+    /**
+     * Builds a save with the same shape as one written by the game.
+     */
+    static SavedGame sample() {
+        Player player = new Player();
+        player.getInventory().useItem("Cheese");
+        SavedGame savedGame = new SavedGame();
+        savedGame.lastSaved = 1_734_000_000_000L;
+        savedGame.playerInfo = new SavedGame.PlayerInfo();
+        savedGame.playerInfo.name = "Mochi's save";
+        savedGame.playerInfo.score = 1_245;
+        savedGame.playerInfo.inventory = player.getInventory().toSerializableMap();
+        savedGame.petInfo = new SavedGame.PetInfo();
+        savedGame.petInfo.petType = "Mimitchi";
+        savedGame.petInfo.name = "Mochi";
+        savedGame.petInfo.stats = new SavedGame.PetInfo.Stats();
+        savedGame.petInfo.stats.health = 87;
+        savedGame.petInfo.stats.sleep = 64;
+        savedGame.petInfo.stats.fullness = 42;
+        savedGame.petInfo.stats.happiness = 100;
+        savedGame.petInfo.stats.fullnessDepletionRate = 0.9;
+        savedGame.petInfo.stats.happinessDepletionRate = 0.2;
+        savedGame.petInfo.stats.sleepDepletionRate = 0.5;
+        return savedGame;
+    }
+}
@@ -0,0 +1,98 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTest {
+    private final long[] now = {0};
+    private SimulationEngine engine;
+    private Player player;
+
+    @BeforeEach
+    void setUp() {
+        engine = new SimulationEngine(() -> now[0], new Random(42));
+        player = new Player();
+        player.setPet(new Pet("Kuromametchi", "Headless", 100, 100, 100, 100, 1.0, 2.0, 0.5));
+        engine.addPlayer(player);
+    }
+
+    @Test
+    void testNoTickBeforeInterval() {
+        now[0] = SimulationEngine.UPDATE_INTERVAL - 1;
+        assertFalse(engine.update());
+        assertEquals(100, player.getPet().getFullness());
+        assertEquals(0, engine.getPetTicks());
+    }
+
+    @Test
+    void testTickAfterInterval() {
+        now[0] = SimulationEngine.UPDATE_INTERVAL;
+        assertTrue(engine.update());
+
+        Pet pet = player.getPet();
+        assertEquals(99.0, pet.getFullness());
+        assertEquals(98.0, pet.getHappiness());
+        assertEquals(99.5, pet.getSleep());
+        assertEquals(1, engine.getPetTicks());
+    }
+
+    @Test
+    void testReplenishAfterInterval() {
+        int before = totalQuantity(player.getInventory());
+        now[0] = SimulationEngine.REPLENISH_INTERVAL;
+        engine.update();
+
+        // Two foods and two gifts of five units each
+        assertEquals(before + 20, totalQuantity(player.getInventory()));
+    }
+
+    @Test
+    void testPlayersTickOnTheirOwnSchedule() {
+        Player late = new Player();
+        late.setPet(new Pet("Mimitchi", "Late", 100, 100, 100, 100, 1.0, 1.0, 1.0));
+        now[0] = SimulationEngine.UPDATE_INTERVAL / 2;
+        engine.addPlayer(late);
+
+        now[0] = SimulationEngine.UPDATE_INTERVAL;
+        assertTrue(engine.update());
+        assertEquals(99.0, player.getPet().getFullness());
+        assertEquals(100.0, late.getPet().getFullness());
+
+        now[0] = SimulationEngine.UPDATE_INTERVAL * 3 / 2;
+        assertTrue(engine.update());
+        assertEquals(99.0, late.getPet().getFullness());
+    }
+
+    @Test
+    void testRemovedPlayerIsNotTicked() {
+        engine.removePlayer(player);
+        now[0] = SimulationEngine.REPLENISH_INTERVAL;
+        assertFalse(engine.update());
+        assertEquals(100, player.getPet().getFullness());
+        assertEquals(0, engine.getTimers().size());
+    }
+
+    @Test
+    void testDeadPetIsNotTicked() {
+        player.getPet().setHealth(0);
+        assertTrue(player.getPet().isDead());
+        assertTrue(engine.allPetsDead());
+
+        engine.tick();
+        assertEquals(0, engine.getPetTicks());
+    }
+
+    private static int totalQuantity(Inventory inventory) {
+        int total = 0;
+        for (var stack : inventory.getItems().values()) {
+            for (Item item : stack) {
+                total += item.getQuantity();
+            }
+        }
+        return total;
+    }
+}
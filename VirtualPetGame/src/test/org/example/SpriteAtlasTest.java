@@ -0,0 +1,86 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteAtlasTest {
+
+    private static BufferedImage filled(int width, int height, int argb) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, argb);
+            }
+        }
+        return image;
+    }
+
+    @Test
+    void testLayoutKeepsStatesApartAndInside() {
+        Map<String, BufferedImage> states = new LinkedHashMap<>();
+        states.put("default", filled(30, 32, 0xFF000001));
+        states.put("play", filled(70, 56, 0xFF000002));
+        for (int i = 0; i < 10; i++) {
+            states.put("state" + i, filled(32, 32, 0xFF000010 + i));
+        }
+
+        SpriteAtlas atlas = SpriteAtlasPacker.layout(states);
+        assertEquals(List.copyOf(states.keySet()), atlas.getStates());
+        List<SpriteAtlas.Frame> frames = List.copyOf(atlas.frames.values());
+        for (int i = 0; i < frames.size(); i++) {
+            SpriteAtlas.Frame a = frames.get(i);
+            assertTrue(a.x >= SpriteAtlasPacker.PADDING && a.y >= SpriteAtlasPacker.PADDING);
+            assertTrue(a.x + a.width + SpriteAtlasPacker.PADDING <= atlas.width);
+            assertTrue(a.y + a.height + SpriteAtlasPacker.PADDING <= atlas.height);
+            for (int j = i + 1; j < frames.size(); j++) {
+                SpriteAtlas.Frame b = frames.get(j);
+                boolean apart = a.x + a.width + SpriteAtlasPacker.PADDING <= b.x || b.x + b.width + SpriteAtlasPacker.PADDING <= a.x
+                        || a.y + a.height + SpriteAtlasPacker.PADDING <= b.y || b.y + b.height + SpriteAtlasPacker.PADDING <= a.y;
+                assertTrue(apart, "Frames " + i + " and " + j + " touch");
+            }
+        }
+    }
+
+    @Test
+    void testDrawnAtlasHoldsEveryState() {
+        Map<String, BufferedImage> states = new LinkedHashMap<>();
+        states.put("angry", filled(32, 32, 0xFFFF0000));
+        states.put("sleep", filled(36, 30, 0xFF0000FF));
+        SpriteAtlas atlas = SpriteAtlasPacker.layout(states);
+        BufferedImage image = SpriteAtlasPacker.draw(atlas, states);
+
+        for (Map.Entry<String, BufferedImage> state : states.entrySet()) {
+            SpriteAtlas.Frame frame = atlas.getFrame(state.getKey());
+            assertEquals(state.getValue().getRGB(0, 0), image.getRGB(frame.x, frame.y));
+            assertEquals(state.getValue().getRGB(0, 0), image.getRGB(frame.x + frame.width - 1, frame.y + frame.height - 1));
+            assertEquals(0, image.getRGB(frame.x - 1, frame.y) >>> 24); // Padding stays transparent
+        }
+    }
+
+    @Test
+    void testEveryPetHasAnAtlasWithTheStatesPetsUse() {
+        for (PetType type : PetType.values()) {
+            SpriteAtlas atlas = SpriteAtlas.load(type.getDisplayName());
+            assertNotNull(atlas, type.getDisplayName());
+            for (String state : List.of("default", "sleep", "sad", "angry", "dead")) {
+                SpriteAtlas.Frame frame = atlas.getFrame(state);
+                assertNotNull(frame, type.getDisplayName() + " " + state);
+                assertTrue(frame.x + frame.width <= atlas.getSize()[0] && frame.y + frame.height <= atlas.getSize()[1]);
+            }
+            assertEquals(atlas.getStates().size(), atlas.getViewports().size());
+        }
+        assertNull(SpriteAtlas.load("Missingtchi"));
+    }
+
+    @Test
+    void testMissingAtlasFailsNamingThePet() {
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> SpriteAtlas.createPetSprite("Missingtchi"));
+        assertTrue(e.getMessage().contains("Missingtchi"));
+    }
+}
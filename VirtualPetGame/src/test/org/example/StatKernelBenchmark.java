@@ -0,0 +1,54 @@
+package org.example;
+
+import java.util.Random;
+
+/**
+ * Compares the scalar and SIMD stat kernels on one million pets.
+ * Run with {@code --add-modules jdk.incubator.vector}; without it only the scalar kernel is measured.
+ */
+public class StatKernelBenchmark {
+    private static final int PETS = 1_000_000;
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    public static void main(String[] args) {
+        Random random = new Random(1);
+        double[] stat = new double[PETS];
+        double[] rate = new double[PETS];
+        long[] active = new long[(PETS + 63) / 64];
+        for (int i = 0; i < PETS; i++) {
+            stat[i] = random.nextDouble() * 100;
+            rate[i] = random.nextDouble();
+        }
+        for (int w = 0; w < active.length; w++) {
+            active[w] = random.nextLong() | random.nextLong(); // About three quarters of the pets are awake
+        }
+
+        double scalar = measure("scalar", StatKernel.SCALAR, stat, rate, active);
+        StatKernel vector = StatKernel.vector();
+        if (vector == null) {
+            System.out.println("vector: not available (start the JVM with --add-modules jdk.incubator.vector)");
+            return;
+        }
+        double simd = measure("vector", vector, stat, rate, active);
+        System.out.printf("speedup: %.2fx%n", scalar / simd);
+    }
+
+    private static double measure(String name, StatKernel kernel, double[] stat, double[] rate, long[] active) {
+        double[] work = stat.clone();
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            kernel.deplete(work, rate, active, PETS);
+            if (round % 50 == 0) System.arraycopy(stat, 0, work, 0, PETS);
+        }
+        long elapsed = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            if (round % 50 == 0) System.arraycopy(stat, 0, work, 0, PETS);
+            long start = System.nanoTime();
+            kernel.deplete(work, rate, active, PETS);
+            elapsed += System.nanoTime() - start;
+        }
+        double nanosPerRound = (double) elapsed / MEASURED_ROUNDS;
+        System.out.printf("%s: %.3f ms per column, %.1f M pets/s%n", name, nanosPerRound / 1e6, PETS / nanosPerRound * 1e3);
+        return nanosPerRound;
+    }
+}
@@ -0,0 +1,83 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StatKernelTest {
+    private StatKernel vector;
+
+    @BeforeEach
+    void setUp() {
+        vector = StatKernel.vector();
+        assumeTrue(vector != null, "Run with --add-modules jdk.incubator.vector");
+    }
+
+    @Test
+    void testVectorKernelMatchesScalar() {
+        Random random = new Random(11);
+        // Sizes around vector and bitset word boundaries
+        for (int size : new int[]{0, 1, 3, 7, 8, 63, 64, 65, 127, 1000, 4099}) {
+            double[] rate = new double[size];
+            double[] scalarStat = new double[size];
+            long[] active = new long[(size + 63) / 64 + 1];
+            for (int i = 0; i < size; i++) {
+                rate[i] = random.nextDouble() * 3;
+                scalarStat[i] = random.nextInt(4) == 0 ? 0.0 : random.nextDouble() * 100;
+            }
+            for (int w = 0; w < active.length; w++) {
+                active[w] = random.nextLong();
+            }
+            double[] vectorStat = scalarStat.clone();
+
+            for (int tick = 0; tick < 50; tick++) {
+                StatKernel.SCALAR.deplete(scalarStat, rate, active, size);
+                vector.deplete(vectorStat, rate, active, size);
+            }
+
+            for (int i = 0; i < size; i++) {
+                assertEquals(Double.doubleToRawLongBits(scalarStat[i]), Double.doubleToRawLongBits(vectorStat[i]),
+                        "size " + size + ", pet " + i);
+            }
+        }
+    }
+
+    @Test
+    void testPetStoreKernelsAgree() {
+        Random random = new Random(3);
+        PetStore scalarStore = new PetStore();
+        PetStore vectorStore = new PetStore();
+        scalarStore.setKernel(StatKernel.SCALAR);
+        vectorStore.setKernel(vector);
+
+        for (int i = 0; i < 2_000; i++) {
+            double health = 20 + random.nextInt(81);
+            double fullness = random.nextInt(101);
+            double happiness = random.nextInt(101);
+            double sleep = random.nextInt(101);
+            double fullnessRate = random.nextDouble() * 2;
+            double happinessRate = random.nextDouble() * 2;
+            double sleepRate = random.nextDouble() * 2;
+            scalarStore.add(health, fullness, happiness, sleep, fullnessRate, happinessRate, sleepRate);
+            vectorStore.add(health, fullness, happiness, sleep, fullnessRate, happinessRate, sleepRate);
+        }
+
+        for (int tick = 0; tick < 300; tick++) {
+            scalarStore.tickAll();
+            vectorStore.tickAll();
+        }
+
+        for (int i = 0; i < scalarStore.size(); i++) {
+            assertEquals(scalarStore.getHealth(i), vectorStore.getHealth(i));
+            assertEquals(scalarStore.getFullness(i), vectorStore.getFullness(i));
+            assertEquals(scalarStore.getHappiness(i), vectorStore.getHappiness(i));
+            assertEquals(scalarStore.getSleep(i), vectorStore.getSleep(i));
+            assertEquals(scalarStore.isDead(i), vectorStore.isDead(i));
+            assertEquals(scalarStore.isSleeping(i), vectorStore.isSleeping(i));
+        }
+    }
+}
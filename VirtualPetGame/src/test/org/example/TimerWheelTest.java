@@ -0,0 +1,99 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+    private static final long TICK = 1_000_000L; // 1 ms
+
+    @Test
+    void testTimersFireAtTheirDeadline() {
+        TimerWheel wheel = new TimerWheel(0, TICK);
+        Random random = new Random(9);
+        List<long[]> fired = new ArrayList<>(); // {expected tick, actual tick}
+        long[] now = {0};
+
+        for (int i = 0; i < 5_000; i++) {
+            // Spread delays over several wheel levels
+            long delayTicks = 1 + (long) Math.pow(random.nextDouble(), 3) * 400_000;
+            wheel.schedule(delayTicks * TICK, () -> fired.add(new long[]{delayTicks, now[0]}));
+        }
+
+        while (wheel.size() > 0) {
+            now[0] += 1 + random.nextInt(50);
+            wheel.advanceTo(now[0] * TICK);
+        }
+
+        assertEquals(5_000, fired.size());
+        long lastActual = 0;
+        for (long[] f : fired) {
+            // Fired on the first advance at or after the deadline, never before
+            assertTrue(f[1] >= f[0], "fired early: " + f[0] + " at " + f[1]);
+            assertTrue(f[1] - f[0] <= 50, "fired late: " + f[0] + " at " + f[1]);
+            assertTrue(f[1] >= lastActual);
+            lastActual = f[1];
+        }
+    }
+
+    @Test
+    void testDeadlineOrderWithinOneAdvance() {
+        TimerWheel wheel = new TimerWheel(0, TICK);
+        List<Long> order = new ArrayList<>();
+        for (long delay : new long[]{4_000, 70, 5, 64, 4_096, 63, 262_144}) {
+            wheel.schedule(delay * TICK, () -> order.add(delay));
+        }
+        wheel.advanceTo(300_000 * TICK);
+        assertEquals(List.of(5L, 63L, 64L, 70L, 4_000L, 4_096L, 262_144L), order);
+    }
+
+    @Test
+    void testPeriodicAndCancel() {
+        TimerWheel wheel = new TimerWheel(0, TICK);
+        int[] count = {0};
+        TimerWheel.Timer periodic = wheel.schedulePeriodic(10 * TICK, () -> count[0]++);
+        TimerWheel.Timer cancelled = wheel.schedule(5 * TICK, () -> fail("cancelled timer fired"));
+        cancelled.cancel();
+        assertFalse(cancelled.isPending());
+
+        wheel.advanceTo(100 * TICK);
+        assertEquals(10, count[0]);
+
+        periodic.cancel();
+        wheel.advanceTo(200 * TICK);
+        assertEquals(10, count[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testIdleWheelSkipsAhead() {
+        TimerWheel wheel = new TimerWheel(0, TICK);
+        assertEquals(0, wheel.advanceTo(Long.MAX_VALUE / 2));
+
+        int[] count = {0};
+        wheel.schedule(TICK, () -> count[0]++);
+        wheel.advanceTo(Long.MAX_VALUE / 2 + TICK);
+        assertEquals(1, count[0]);
+    }
+
+    @Test
+    void testCooldown() {
+        TimerWheel wheel = new TimerWheel(0, TICK);
+        Cooldown cooldown = new Cooldown(wheel, 15_000 * TICK);
+        assertTrue(cooldown.tryUse());
+        assertFalse(cooldown.tryUse());
+        assertEquals(15, cooldown.getRemainingSeconds());
+
+        wheel.advanceTo(14_500 * TICK);
+        assertFalse(cooldown.isReady());
+        assertEquals(1, cooldown.getRemainingSeconds());
+
+        wheel.advanceTo(15_000 * TICK);
+        assertTrue(cooldown.isReady());
+        assertTrue(cooldown.tryUse());
+    }
+}
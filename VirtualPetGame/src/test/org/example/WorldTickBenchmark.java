@@ -0,0 +1,59 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures pets ticked per second by {@link WorldTick} for one worker up to every available core.
+ */
+public class WorldTickBenchmark {
+    private static final int PETS = 500_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d pets, %d available cores%n", PETS, cores);
+        for (int workers = 1; workers <= cores; workers *= 2) {
+            measure(workers);
+            if (workers < cores && workers * 2 > cores) {
+                measure(cores);
+            }
+        }
+    }
+
+    private static void measure(int workers) {
+        List<Player> players = population();
+        ForkJoinPool pool = new ForkJoinPool(workers);
+        try {
+            WorldTick worldTick = new WorldTick(pool, WorldTick.DEFAULT_THRESHOLD);
+            for (int round = 0; round < WARMUP_ROUNDS; round++) {
+                worldTick.tick(players);
+            }
+            long ticked = 0;
+            long start = System.nanoTime();
+            for (int round = 0; round < MEASURED_ROUNDS; round++) {
+                ticked += worldTick.tick(players);
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%2d workers: %.1f M pets/s%n", workers, ticked / seconds / 1e6);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static List<Player> population() {
+        Random random = new Random(1);
+        List<Player> players = new ArrayList<>(PETS);
+        for (int i = 0; i < PETS; i++) {
+            Player player = new Player();
+            // Slow depletion keeps the pets alive for the whole run
+            player.setPet(new Pet("Mimitchi", "Pet" + i, 100, 100, 100, 100,
+                    random.nextDouble() * 0.01, random.nextDouble() * 0.01, random.nextDouble() * 0.01));
+            players.add(player);
+        }
+        return players;
+    }
+}
@@ -0,0 +1,59 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorldTickTest {
+
+    @Test
+    void testParallelTickMatchesSequentialTick() {
+        List<Player> sequential = population(10_000);
+        List<Player> parallel = population(10_000);
+        WorldTick single = new WorldTick(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            WorldTick forked = new WorldTick(pool, 100);
+            for (int tick = 0; tick < 50; tick++) {
+                assertEquals(single.tick(sequential), forked.tick(parallel));
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        for (int i = 0; i < sequential.size(); i++) {
+            Pet expected = sequential.get(i).getPet();
+            Pet actual = parallel.get(i).getPet();
+            assertEquals(expected.getHealth(), actual.getHealth());
+            assertEquals(expected.getFullness(), actual.getFullness());
+            assertEquals(expected.getHappiness(), actual.getHappiness());
+            assertEquals(expected.getSleep(), actual.getSleep());
+            assertEquals(expected.isDead(), actual.isDead());
+        }
+    }
+
+    @Test
+    void testDeadPetsAreNotCounted() {
+        List<Player> players = population(10);
+        players.get(3).getPet().setHealth(0);
+        assertEquals(9, new WorldTick().tick(players));
+    }
+
+    private static List<Player> population(int size) {
+        Random random = new Random(3);
+        List<Player> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Player player = new Player();
+            player.setPet(new Pet("Mimitchi", "Pet" + i, 20 + random.nextInt(81), random.nextInt(101),
+                    random.nextInt(101), random.nextInt(101), random.nextDouble() * 2, random.nextDouble() * 2,
+                    random.nextDouble() * 2));
+            players.add(player);
+        }
+        return players;
+    }
+}